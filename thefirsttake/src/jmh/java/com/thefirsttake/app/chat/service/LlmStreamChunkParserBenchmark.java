@@ -0,0 +1,87 @@
+package com.thefirsttake.app.chat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LLM 스트림 청크 파싱 비교 (녹화된 스트림 한 번 전체 = 1 op)
+ * - objectMapper: 기존 방식 (청크마다 readValue(Map.class) 후 type/content 조회)
+ * - streamingParser: LlmStreamChunkParser
+ * 픽스처: src/test/resources/llm-stream/expert-stream.txt (status/token/message 청크)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LlmStreamChunkParserBenchmark {
+
+    private static final String FIXTURE = "/llm-stream/expert-stream.txt";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<String> chunks;
+
+    @Setup
+    public void setUp() throws IOException {
+        chunks = loadChunks();
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void objectMapper(Blackhole blackhole) throws IOException {
+        for (String chunk : chunks) {
+            Map<String, Object> parsed = objectMapper.readValue(chunk, Map.class);
+            blackhole.consume(String.valueOf(parsed.get("type")));
+            blackhole.consume(parsed.get("content"));
+        }
+    }
+
+    @Benchmark
+    public void streamingParser(Blackhole blackhole) throws IOException {
+        for (String chunk : chunks) {
+            LlmStreamChunkParser.LlmStreamChunk parsed = LlmStreamChunkParser.parse(chunk);
+            blackhole.consume(parsed.type());
+            blackhole.consume(parsed.text());
+            blackhole.consume(parsed.content());
+        }
+    }
+
+    /**
+     * 서비스와 같이 "data: " 접두사를 제거하고 [DONE]은 제외
+     */
+    static List<String> loadChunks() throws IOException {
+        InputStream in = LlmStreamChunkParserBenchmark.class.getResourceAsStream(FIXTURE);
+        if (in == null) {
+            throw new IOException("픽스처를 찾을 수 없음: " + FIXTURE);
+        }
+        List<String> result = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("data: ")) {
+                    line = line.substring(6);
+                }
+                if (line.isBlank() || "[DONE]".equals(line.trim())) {
+                    continue;
+                }
+                result.add(line);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,65 @@
+package com.thefirsttake.app.chat.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thefirsttake.app.common.response.CommonResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * content 이벤트 JSON 인코딩 비교 (토큰 하나당)
+ * - objectMapper: 기존 방식 (HashMap + CommonResponse + ObjectMapper 직렬화)
+ * - encoder: SseTokenEventEncoder (전문가 정보 사전 인코딩 + 재사용 버퍼)
+ * 할당량은 gc 프로파일러의 gc.alloc.rate.norm (B/op)으로 비교
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SseTokenEventEncoderBenchmark {
+
+    private static final String AGENT_ID = "style_analyst";
+    private static final String AGENT_NAME = "스타일 분석가";
+
+    @Param({"ascii", "korean", "escaped"})
+    public String tokenKind;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SseTokenEventEncoder encoder;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        encoder = new SseTokenEventEncoder(AGENT_ID, AGENT_NAME);
+        token = switch (tokenKind) {
+            case "korean" -> "네이비 셔츠에는";
+            case "escaped" -> "\"슬림핏\"\n- 밝은 톤";
+            default -> " the";
+        };
+    }
+
+    @Benchmark
+    public String objectMapper() throws JsonProcessingException {
+        Map<String, Object> contentPayload = new HashMap<>();
+        contentPayload.put("message", token);
+        contentPayload.put("agent_id", AGENT_ID);
+        contentPayload.put("agent_name", AGENT_NAME);
+        contentPayload.put("type", "content");
+        contentPayload.put("timestamp", System.currentTimeMillis());
+        return objectMapper.writeValueAsString(CommonResponse.success(contentPayload));
+    }
+
+    @Benchmark
+    public String encoder() {
+        return encoder.encode(token, System.currentTimeMillis());
+    }
+}
@@ -8,6 +8,7 @@ import com.thefirsttake.app.common.response.CommonResponse;
 import com.thefirsttake.app.auth.service.RefreshTokenService;
 import com.thefirsttake.app.common.user.entity.UserEntity;
 import com.thefirsttake.app.common.user.repository.UserEntityRepository;
+import com.thefirsttake.app.common.user.service.UserSessionService;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Timer;
 import io.swagger.v3.oas.annotations.Operation;
@@ -43,6 +44,7 @@ public class AuthController {
     private final JwtService jwtService;
     private final RefreshTokenService refreshTokenService;
     private final UserEntityRepository userEntityRepository;
+    private final UserSessionService userSessionService;
     private final Counter kakaoLoginSuccessCounter;
     private final Counter kakaoLoginFailureCounter;
     private final Counter logoutCounter;
@@ -52,6 +54,7 @@ public class AuthController {
                          JwtService jwtService, 
                          RefreshTokenService refreshTokenService, 
                          UserEntityRepository userEntityRepository,
+                         UserSessionService userSessionService,
                          @Qualifier("kakaoLoginSuccessCounter") Counter kakaoLoginSuccessCounter,
                          @Qualifier("kakaoLoginFailureCounter") Counter kakaoLoginFailureCounter,
                          @Qualifier("logoutCounter") Counter logoutCounter,
@@ -60,6 +63,7 @@ public class AuthController {
         this.jwtService = jwtService;
         this.refreshTokenService = refreshTokenService;
         this.userEntityRepository = userEntityRepository;
+        this.userSessionService = userSessionService;
         this.kakaoLoginSuccessCounter = kakaoLoginSuccessCounter;
         this.kakaoLoginFailureCounter = kakaoLoginFailureCounter;
         this.logoutCounter = logoutCounter;
@@ -154,6 +158,9 @@ public class AuthController {
             
             log.info("DB 사용자 조회/생성 완료. DB 사용자 ID: {}", userEntity.getId());
             
+            // 로그인으로 사용자 정보가 바뀌었을 수 있으므로 사용자 캐시 무효화
+            userSessionService.evictUser(userEntity.getId());
+            
             // 4. JWT 토큰 생성 (우리 DB의 사용자 ID만 사용)
             String jwtAccessToken = jwtTokenGenerationTimer.recordCallable(() -> 
                 jwtService.generateAccessToken(String.valueOf(userEntity.getId())));
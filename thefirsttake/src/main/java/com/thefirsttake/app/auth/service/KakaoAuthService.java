@@ -2,6 +2,7 @@ package com.thefirsttake.app.auth.service;
 
 import com.thefirsttake.app.auth.dto.KakaoUserInfo;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
@@ -26,7 +27,7 @@ public class KakaoAuthService {
     
     private final RestTemplate restTemplate;
     
-    public KakaoAuthService(RestTemplate restTemplate) {
+    public KakaoAuthService(@Qualifier("kakaoRestTemplate") RestTemplate restTemplate) {
         this.restTemplate = restTemplate;
     }
     
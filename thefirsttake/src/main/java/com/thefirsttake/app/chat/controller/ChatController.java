@@ -9,7 +9,7 @@ import com.thefirsttake.app.chat.entity.ChatRoom;
 import com.thefirsttake.app.chat.service.ChatCurationOrchestrationService;
 import com.thefirsttake.app.chat.service.ChatMessageService;
 import com.thefirsttake.app.chat.service.ChatRoomManagementService;
-import com.thefirsttake.app.chat.service.ChatQueueService;
+import com.thefirsttake.app.chat.service.ChatResultDeliveryService;
 import com.thefirsttake.app.chat.service.ChatOrchestrationService;
 import com.thefirsttake.app.chat.service.ProductSearchService;
 import com.thefirsttake.app.chat.service.ProductCacheService;
@@ -37,6 +37,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
@@ -56,7 +57,7 @@ public class ChatController {
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     
     private final ChatCurationOrchestrationService chatCurationOrchestrationService;
-    private final ChatQueueService chatQueueService;
+    private final ChatResultDeliveryService chatResultDeliveryService;
     private final UserSessionService userSessionService;
     private final ChatRoomManagementService chatRoomManagementService;
     private final ChatOrchestrationService chatOrchestrationService;
@@ -75,7 +76,7 @@ public class ChatController {
     
     
     public ChatController(ChatCurationOrchestrationService chatCurationOrchestrationService,
-                         ChatQueueService chatQueueService,
+                         ChatResultDeliveryService chatResultDeliveryService,
                          UserSessionService userSessionService,
                          ChatRoomManagementService chatRoomManagementService,
                          ChatOrchestrationService chatOrchestrationService,
@@ -89,7 +90,7 @@ public class ChatController {
                          ChatStreamOrchestrationService chatStreamOrchestrationService,
                          com.thefirsttake.app.chat.service.NewLLMStreamService newLLMStreamService) {
         this.chatCurationOrchestrationService = chatCurationOrchestrationService;
-        this.chatQueueService = chatQueueService;
+        this.chatResultDeliveryService = chatResultDeliveryService;
         this.userSessionService = userSessionService;
         this.chatRoomManagementService = chatRoomManagementService;
         this.chatOrchestrationService = chatOrchestrationService;
@@ -451,7 +452,7 @@ public class ChatController {
     
     @Operation(
             summary = "채팅 에이전트 응답 메시지 수신",
-            description = "Redis 큐에서 해당 채팅방에 대한 AI 에이전트 응답 메시지가 있는 경우, 단일 전문가의 분석 결과를 반환합니다. 스타일 분석가, 컬러 전문가, 핏팅 코디네이터 중 하나의 전문가가 분석한 결과입니다.",
+            description = "해당 채팅방에 대해 완료된 AI 에이전트 응답 메시지가 있으면 즉시, 없으면 응답이 완료될 때까지 최대 chat.result.long-poll-timeout-ms 동안 대기(long-poll)한 뒤 단일 전문가의 분석 결과를 반환합니다. 스타일 분석가, 컬러 전문가, 핏팅 코디네이터 중 하나의 전문가가 분석한 결과입니다.",
             parameters = {
                     @Parameter(
                             name = "roomId",
@@ -498,7 +499,7 @@ public class ChatController {
                     ),
                     @ApiResponse(
                             responseCode = "204", // No Content
-                            description = "Redis에 아직 응답 메시지가 없는 경우",
+                            description = "대기 시간 내에 완료된 응답 메시지가 없는 경우",
                             content = @Content(
                                     mediaType = "application/json",
                                     examples = @ExampleObject(
@@ -553,75 +554,14 @@ public class ChatController {
             }
     )
     @GetMapping("/receive")
-    public CommonResponse receiveChatMessage(@RequestParam("roomId") Long roomId, HttpServletRequest httpRequest) {
+    public DeferredResult<CommonResponse> receiveChatMessage(@RequestParam("roomId") Long roomId, HttpServletRequest httpRequest) {
         HttpSession session = httpRequest.getSession(false);
         if (session == null) {
             session=httpRequest.getSession(true);
 //            return CommonResponse.fail("세션이 존재하지 않습니다.");
         }
-        // 해당 roomId를 가지는 채팅방에서 처리가 가능한 메시지가 있는지 확인
-//        List<ChatAgentResponse> agentResponses = chatQueueService.processChatQueue(roomId);
-        ChatAgentResponse agentResponse = chatQueueService.processChatQueue(roomId);
-        
-        if (agentResponse == null) {
-            return CommonResponse.fail("응답이 아직 없습니다."); // 또는 return ResponseEntity.noContent().build();
-        }
-        
-        // 에이전트 응답 메시지 출력
-        System.out.println("에이전트 응답 메시지: " + agentResponse.getMessage());
-        
-        // 상품 검색 API 호출
-        Map<String, Object> searchResult = productSearchService.searchProducts(agentResponse.getMessage());
-        if(searchResult == null){
-            return CommonResponse.fail("상품 검색 결과가 없습니다.");
-        }
-        System.out.println("상품 검색 결과: " + searchResult);
-        
-        // 🔄 상품 정보를 Redis에 캐싱
-        try {
-            productCacheService.cacheProductsFromSearchResult(searchResult);
-        } catch (Exception e) {
-            log.warn("상품 정보 캐싱 중 오류 발생 (검색 결과 반환은 계속): {}", e.getMessage());
-        }
-        
-        // 상품 이미지 URL 및 상품 ID 추출
-        java.util.List<String> productImageUrls = productSearchService.extractProductImageUrls(searchResult);
-        java.util.List<String> productIds = productCacheService.extractProductIds(searchResult);
-        
-        // 상품 정보를 products 배열로 구성
-        if (!productImageUrls.isEmpty() && !productIds.isEmpty()) {
-            java.util.List<com.thefirsttake.app.chat.dto.response.ProductInfo> products = new java.util.ArrayList<>();
-            
-            // URL과 ID의 개수가 같다고 가정하고 매핑
-            int minSize = Math.min(productImageUrls.size(), productIds.size());
-            for (int i = 0; i < minSize; i++) {
-                com.thefirsttake.app.chat.dto.response.ProductInfo productInfo = 
-                    com.thefirsttake.app.chat.dto.response.ProductInfo.builder()
-                        .productUrl(productImageUrls.get(i))
-                        .productId(productIds.get(i))
-                        .build();
-                products.add(productInfo);
-            }
-            
-            agentResponse.setProducts(products);
-            System.out.println("상품 정보 " + products.size() + "개 설정: " + products);
-        }
-        
-        // 상품 정보가 있는 경우 DB에 저장
-        if (!productImageUrls.isEmpty() || !productIds.isEmpty()) {
-            // 상품 이미지가 포함된 응답을 데이터베이스에 저장
-            try {
-                UserEntity userEntity = chatRoomManagementService.getUserEntityByRoomId(roomId);
-                ChatRoom chatRoom = chatRoomManagementService.getRoomById(roomId);
-                chatMessageService.saveAIResponse(userEntity, chatRoom, agentResponse);
-                System.out.println("상품 이미지가 포함된 AI 응답을 데이터베이스에 저장했습니다.");
-            } catch (Exception e) {
-                System.err.println("상품 이미지가 포함된 AI 응답 저장 실패: " + e.getMessage());
-                // 저장 실패해도 응답은 반환
-            }
-        }
-        
-        return CommonResponse.success(agentResponse);
+        // 해당 roomId의 완료된 에이전트 응답을 기다림 (AI 응답 생성/상품 검색/저장은 큐 워커가 처리)
+        return chatResultDeliveryService.await(roomId);
     }
     
 
@@ -1497,13 +1437,8 @@ public class ChatController {
             // 사용자 엔티티 조회 또는 생성 (게스트 사용자)
             UserEntity userEntity = userSessionService.getOrCreateGuestUser(sessionId);
             
-            // 새 채팅방 생성
-            ChatRoom newRoom = new ChatRoom();
-            newRoom.setUser(userEntity);
-            newRoom.setTitle("새로운 채팅방");
-            newRoom.setCreatedAt(LocalDateTime.now());
-            
-            ChatRoom savedRoom = chatRoomManagementService.getChatRoomRepository().save(newRoom);
+            // 새 채팅방 생성 (채팅방 캐시 갱신 포함)
+            ChatRoom savedRoom = chatRoomManagementService.createNewChatRoom(userEntity);
             
             // DTO로 변환하여 응답
             ChatRoomDto roomDto = new ChatRoomDto(savedRoom);
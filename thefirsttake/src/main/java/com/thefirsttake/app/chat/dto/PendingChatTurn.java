@@ -0,0 +1,25 @@
+package com.thefirsttake.app.chat.dto;
+
+import com.thefirsttake.app.chat.dto.response.ChatAgentResponse;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DB 저장 대기 중인 한 턴(사용자 메시지 + AI 응답들)
+ * - write-behind 큐와 Redis 스필 목록에 그대로 직렬화되므로 엔티티 대신 ID만 보관
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PendingChatTurn {
+    private String sessionId;
+    private Long userId;
+    private Long roomId;
+    private String userMessage;
+    private List<ChatAgentResponse> responses;
+    private long enqueuedAt;
+    private int retryCount;
+}
@@ -0,0 +1,80 @@
+package com.thefirsttake.app.chat.repository;
+
+import com.thefirsttake.app.chat.entity.ChatMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 채팅 메시지 다중 행 INSERT 전용 저장소
+ * - ChatMessage는 IDENTITY 전략이라 Hibernate JDBC 배치가 비활성화됨
+ * - 한 턴의 메시지(사용자 메시지, AI 응답, 추천 상품)를 INSERT ... VALUES (...), (...) 한 문장으로 저장
+ * - id는 DB의 IDENTITY 컬럼이 그대로 채번
+ */
+@Repository
+@Slf4j
+@RequiredArgsConstructor
+public class ChatMessageBatchRepository {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO chat_messages (room_id, user_id, sender_type, message, image_url, product_image_url, created_at) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?)";
+    private static final int COLUMN_COUNT = 7;
+
+    // PostgreSQL 바인드 파라미터 한도(32767)를 넘지 않도록 한 문장당 행 수 제한
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 메시지 목록을 다중 행 INSERT로 저장
+     * - chatRoom, user는 id만 사용 (지연 로딩 프록시 초기화 없음)
+     * - createdAt이 비어 있으면 저장 시각으로 채움
+     * @return 저장된 행 수
+     */
+    public int insertAll(List<ChatMessage> messages) {
+        if (messages == null || messages.isEmpty()) {
+            return 0;
+        }
+
+        int inserted = 0;
+        for (int from = 0; from < messages.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<ChatMessage> chunk = messages.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, messages.size()));
+            inserted += insertChunk(chunk);
+        }
+
+        log.debug("채팅 메시지 다중 행 저장 완료: rows={}", inserted);
+        return inserted;
+    }
+
+    private int insertChunk(List<ChatMessage> chunk) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + chunk.size() * (ROW_PLACEHOLDER.length() + 2));
+        sql.append(INSERT_PREFIX);
+
+        List<Object> params = new ArrayList<>(chunk.size() * COLUMN_COUNT);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        for (int i = 0; i < chunk.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDER);
+
+            ChatMessage message = chunk.get(i);
+            params.add(message.getChatRoom().getId());
+            params.add(message.getUser().getId());
+            params.add(message.getSenderType());
+            params.add(message.getMessage());
+            params.add(message.getImageUrl());
+            params.add(message.getProductImageUrl());
+            params.add(message.getCreatedAt() != null ? Timestamp.valueOf(message.getCreatedAt()) : now);
+        }
+
+        return jdbcTemplate.update(sql.toString(), params.toArray());
+    }
+}
@@ -88,12 +88,16 @@ package com.thefirsttake.app.chat.service;
 
 import com.thefirsttake.app.chat.constant.ChatAgentConstants;
 import com.thefirsttake.app.chat.dto.request.ChatMessageRequest;
+import com.thefirsttake.app.chat.dto.PendingChatTurn;
 import com.thefirsttake.app.chat.dto.response.ChatAgentResponse;
 import com.thefirsttake.app.chat.dto.response.ChatMessageListResponse;
 import com.thefirsttake.app.chat.entity.ChatMessage;
 import com.thefirsttake.app.chat.entity.ChatRoom;
+import com.thefirsttake.app.chat.repository.ChatMessageBatchRepository;
 import com.thefirsttake.app.chat.repository.ChatMessageRepository;
+import com.thefirsttake.app.chat.repository.ChatRoomRepository;
 import com.thefirsttake.app.common.user.entity.UserEntity;
+import com.thefirsttake.app.common.user.repository.UserEntityRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -101,8 +105,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import java.util.List;
@@ -119,6 +129,9 @@ import java.util.List;
 public class ChatMessageService {
     private final ChatMessageRepository chatMessageRepository;
     private final ChatRoomManagementService chatRoomManagementService;
+    private final ChatMessageBatchRepository chatMessageBatchRepository;
+    private final ChatRoomRepository chatRoomRepository;
+    private final UserEntityRepository userEntityRepository;
 
     /**
      * 사용자 메시지 저장
@@ -145,50 +158,153 @@ public class ChatMessageService {
      * 단일 AI 응답 메시지 저장
      * - AI가 추천한 상품 이미지(productImageUrl)를 포함하여 저장
      * - imageUrl은 AI 응답에는 없으므로 null
+     * - 응답 메시지와 상품 메시지를 다중 행 INSERT 한 번으로 저장
      */
     @Transactional
     public void saveAIResponse(UserEntity user, ChatRoom chatRoom, ChatAgentResponse agentResponse) {
+        List<ChatMessage> messages = new ArrayList<>();
+        addAIResponseMessages(messages, user, chatRoom, agentResponse);
+        chatMessageBatchRepository.insertAll(assignCreatedAt(messages));
+    }
+
+    /**
+     * AI 응답 메시지들 저장 (다중 - 기존 호환성 유지)
+     */
+    @Transactional
+    public void saveAIResponses(UserEntity user, ChatRoom chatRoom, List<ChatAgentResponse> agentResponses) {
+        List<ChatMessage> messages = new ArrayList<>();
+        for (ChatAgentResponse agentResponse : agentResponses) {
+            addAIResponseMessages(messages, user, chatRoom, agentResponse);
+        }
+        chatMessageBatchRepository.insertAll(assignCreatedAt(messages));
+    }
+
+    /**
+     * 한 턴(사용자 메시지 + 모든 AI 응답 + 추천 상품)을 다중 행 INSERT로 저장
+     * @param userMessage 사용자 메시지 (null이면 AI 응답만 저장)
+     * @param userImageUrl 사용자가 업로드한 이미지 URL
+     * @param agentResponses AI 응답 목록 (null 허용)
+     * @return 저장된 행 수
+     */
+    @Transactional
+    public int saveTurn(UserEntity user, ChatRoom chatRoom, String userMessage, String userImageUrl,
+                        List<ChatAgentResponse> agentResponses) {
+        List<ChatMessage> messages = new ArrayList<>();
+        addTurnMessages(messages, user, chatRoom, userMessage, userImageUrl, agentResponses);
+
+        int saved = chatMessageBatchRepository.insertAll(assignCreatedAt(messages));
+        log.debug("채팅 턴 저장 완료: roomId={}, rows={}", chatRoom.getId(), saved);
+        return saved;
+    }
+
+    /**
+     * write-behind 큐에서 모은 여러 턴을 한 트랜잭션, 다중 행 INSERT로 저장
+     * - 턴에는 ID만 있으므로 getReferenceById로 프록시만 만들고 SELECT는 하지 않음
+     * - created_at은 저장 시각이 아니라 턴의 시작 시각(enqueuedAt) 기준이므로
+     *   재시도/스필/종료/캐시 만료로 늦게 저장된 턴도 히스토리에서 원래 순서를 유지
+     * @return 저장된 행 수
+     */
+    @Transactional
+    public int saveTurns(List<PendingChatTurn> turns) {
+        List<ChatMessage> messages = new ArrayList<>();
+        Map<Long, LocalDateTime> lastCreatedAtByRoom = new HashMap<>();
+        for (PendingChatTurn turn : turns) {
+            UserEntity user = userEntityRepository.getReferenceById(turn.getUserId());
+            ChatRoom chatRoom = chatRoomRepository.getReferenceById(turn.getRoomId());
+            List<ChatMessage> turnMessages = new ArrayList<>();
+            addTurnMessages(turnMessages, user, chatRoom, turn.getUserMessage(), null, turn.getResponses());
+            if (turnMessages.isEmpty()) {
+                continue;
+            }
+
+            LocalDateTime base = turn.getEnqueuedAt() > 0
+                    ? LocalDateTime.ofInstant(Instant.ofEpochMilli(turn.getEnqueuedAt()), ZoneId.systemDefault())
+                    : LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            // 같은 방에서 같은 밀리초에 시작된 턴끼리 시각이 겹치지 않도록 직전 턴 뒤로 밀어 줌
+            // (다른 방의 턴 기준으로 밀면 늦게 도착한 턴의 원래 시각이 사라짐)
+            LocalDateTime previous = lastCreatedAtByRoom.get(turn.getRoomId());
+            if (previous != null && !base.isAfter(previous)) {
+                base = previous.plus(1, ChronoUnit.MICROS);
+            }
+            assignCreatedAt(turnMessages, base);
+            lastCreatedAtByRoom.put(turn.getRoomId(), turnMessages.get(turnMessages.size() - 1).getCreatedAt());
+            messages.addAll(turnMessages);
+        }
+
+        int saved = chatMessageBatchRepository.insertAll(messages);
+        log.debug("채팅 턴 일괄 저장 완료: turns={}, rows={}", turns.size(), saved);
+        return saved;
+    }
+
+    /**
+     * 한 턴의 사용자 메시지와 AI 응답 메시지들을 목록에 추가
+     */
+    private void addTurnMessages(List<ChatMessage> messages, UserEntity user, ChatRoom chatRoom,
+                                 String userMessage, String userImageUrl, List<ChatAgentResponse> agentResponses) {
+        if (userMessage != null) {
+            messages.add(ChatMessage.builder()
+                    .chatRoom(chatRoom)
+                    .user(user)
+                    .senderType("USER")
+                    .message(userMessage)
+                    .imageUrl(userImageUrl)  // 사용자가 업로드한 이미지
+                    .build());
+        }
+
+        if (agentResponses != null) {
+            for (ChatAgentResponse agentResponse : agentResponses) {
+                addAIResponseMessages(messages, user, chatRoom, agentResponse);
+            }
+        }
+    }
+
+    /**
+     * AI 응답 메시지와 상품 메시지를 목록에 추가
+     */
+    private void addAIResponseMessages(List<ChatMessage> messages, UserEntity user, ChatRoom chatRoom,
+                                       ChatAgentResponse agentResponse) {
         // DB 저장용으로 짧은 에이전트 ID 사용
         String dbAgentId = ChatAgentConstants.AGENT_ID_MAPPING.getOrDefault(
                 agentResponse.getAgentId(),
                 agentResponse.getAgentId()
         );
 
-        // 1. AI 응답 메시지 저장
-        ChatMessage responseMessage = ChatMessage.builder()
+        // 1. AI 응답 메시지
+        messages.add(ChatMessage.builder()
                 .user(user)
                 .chatRoom(chatRoom)
                 .senderType(dbAgentId)
                 .message(agentResponse.getMessage())
                 .productImageUrl(null)  // AI 응답 메시지에는 상품 이미지 없음
-                .build();
+                .build());
 
-        chatMessageRepository.save(responseMessage);
-
-        // 2. 각 상품 정보를 개별 메시지로 저장
+        // 2. 각 상품 정보를 개별 메시지로 추가
         if (agentResponse.getProducts() != null && !agentResponse.getProducts().isEmpty()) {
             for (com.thefirsttake.app.chat.dto.response.ProductInfo product : agentResponse.getProducts()) {
-                ChatMessage productMessage = ChatMessage.builder()
+                messages.add(ChatMessage.builder()
                         .user(user)
                         .chatRoom(chatRoom)
                         .senderType(dbAgentId + "_PRODUCT")  // 상품 이미지 메시지 구분
                         .message("추천 상품: " + product.getProductId())
                         .productImageUrl(product.getProductUrl())  // 개별 상품 이미지 URL
-                        .build();
-
-                chatMessageRepository.save(productMessage);
+                        .build());
             }
         }
     }
 
     /**
-     * AI 응답 메시지들 저장 (다중 - 기존 호환성 유지)
+     * 한 문장으로 저장되는 행들의 생성 시간을 1마이크로초씩 증가시켜
+     * created_at 기준 정렬(히스토리, 무한 스크롤)이 기존 개별 저장과 같은 순서를 유지하도록 함
      */
-    @Transactional
-    public void saveAIResponses(UserEntity user, ChatRoom chatRoom, List<ChatAgentResponse> agentResponses) {
-        for (ChatAgentResponse agentResponse : agentResponses) {
-            saveAIResponse(user, chatRoom, agentResponse);
+    private List<ChatMessage> assignCreatedAt(List<ChatMessage> messages) {
+        return assignCreatedAt(messages, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+    }
+
+    private List<ChatMessage> assignCreatedAt(List<ChatMessage> messages, LocalDateTime base) {
+        for (int i = 0; i < messages.size(); i++) {
+            messages.get(i).setCreatedAt(base.plus(i, ChronoUnit.MICROS));
         }
+        return messages;
     }
 
     /**
@@ -5,55 +5,210 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.thefirsttake.app.chat.dto.ChatQueueItem;
 import com.thefirsttake.app.chat.dto.request.ChatMessageRequest;
 import com.thefirsttake.app.chat.dto.response.ChatAgentResponse;
-import com.thefirsttake.app.chat.entity.ChatMessage;
+import com.thefirsttake.app.chat.dto.response.ProductInfo;
 import com.thefirsttake.app.chat.entity.ChatRoom;
 import com.thefirsttake.app.chat.enums.ChatAgentType;
 import com.thefirsttake.app.common.user.entity.UserEntity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.dao.DataAccessException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Service;
 
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * 채팅 큐 처리 전담 서비스
- * - 메시지 큐에 추가
- * - 큐에서 메시지 처리
- * - 실패한 메시지 재처리
+ * 채팅 큐 처리 전담 서비스 (Redis Streams + consumer group)
+ * - 메시지 큐에 추가 (에이전트별 항목을 chat_stream:queue 스트림에 XADD)
+ * - 백그라운드 워커가 XREADGROUP으로 항목을 가져와 AI 응답 생성/저장 후 XACK (at-least-once)
+ * - 처리 도중 노드가 죽어 ACK되지 않은 항목은 reclaimer가 min-idle 경과 후 XCLAIM으로 회수해 재처리
+ * - 회수된 항목이 원래 처리와 겹쳐도 응답 저장/전달은 레코드 ID별 idempotency 키로 한 번만 수행
+ *   (저장 후 전달 전에 실패한 항목은 저장해 둔 응답으로 다시 전달만 수행)
+ * - 스트림은 모든 항목이 ACK된 구간만 잘라냄 (XTRIM MINID, 미전달/pending 항목은 보존)
+ * - 전달 횟수가 max-retries를 넘은 항목은 chat_stream:dlq 스트림으로 옮기고 ACK (dead-letter)
+ * - consumer 이름은 인스턴스(호스트) 단위로 고정하고, pending 없이 오래 쉬고 있는 consumer는 reclaimer가 그룹에서 제거
+ * - 상품 검색까지 마친 응답은 ChatResultDeliveryService로 넘겨 /api/chat/receive long-poll 대기자에게 전달
  */
 @Service
 @Slf4j
 public class ChatQueueService {
+
+    public static final String STREAM_KEY = "chat_stream:queue";
+    public static final String DEAD_LETTER_KEY = "chat_stream:dlq";
+    public static final String CONSUMER_GROUP = "chat-queue-workers";
+    private static final String FIELD_ROOM_ID = "roomId";
+    private static final String FIELD_PAYLOAD = "payload";
+    // 레코드 ID별 응답 처리 상태 ({consumer}: 저장 중, saved:{응답 JSON}: 저장 완료/전달 전, done: 전달 완료)
+    private static final String COMMIT_KEY_PREFIX = "chat_stream:commit:";
+    private static final String COMMIT_SAVED_PREFIX = "saved:";
+    private static final String COMMIT_DONE = "done";
+    private static final Duration COMMIT_DONE_TTL = Duration.ofHours(24);
+
     private final RedisTemplate<String, String> redisTemplate;
     private final ObjectMapper objectMapper;
     private final ChatCurationOrchestrationService chatCurationOrchestrationService;
     private final ChatRoomManagementService chatRoomManagementService;
     private final ChatMessageService chatMessageService;
-    
+    private final ProductSearchService productSearchService;
+    private final ProductCacheService productCacheService;
+    private final ChatResultDeliveryService chatResultDeliveryService;
+    private final ExecutorService blockingIoExecutor;
+
+    private final int workerCount;
+    private final long blockMs;
+    private final long reclaimMinIdleMs;
+    private final int reclaimBatchSize;
+    private final int maxRetries;
+    private final long consumerIdleTimeoutMs;
+
+    // 인스턴스별 consumer 이름 (reclaimer는 별도 consumer로 회수)
+    private final String consumerName;
+    private final String reclaimConsumerName;
+
+    // 동시에 처리 중인 항목 수를 worker-count로 제한
+    private final Semaphore workerPermits;
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private final ExecutorService reader;
+    private final ScheduledExecutorService reclaimer;
+
+    private final Timer processSuccessTimer;
+    private final Timer processFailureTimer;
+    private final Counter reclaimedCounter;
+    private final Counter deadLetteredCounter;
+    private final Counter duplicateCounter;
+    private final Counter consumerRemovedCounter;
+
     public ChatQueueService(@Qualifier("redisTemplate") RedisTemplate<String, String> redisTemplate,
                            ObjectMapper objectMapper,
                            ChatCurationOrchestrationService chatCurationOrchestrationService,
                            ChatRoomManagementService chatRoomManagementService,
-                           ChatMessageService chatMessageService) {
+                           ChatMessageService chatMessageService,
+                           ProductSearchService productSearchService,
+                           ProductCacheService productCacheService,
+                           ChatResultDeliveryService chatResultDeliveryService,
+                           @Qualifier("blockingIoExecutor") ExecutorService blockingIoExecutor,
+                           MeterRegistry meterRegistry,
+                           @Value("${chat.queue.enabled:true}") boolean enabled,
+                           @Value("${chat.queue.worker-count:8}") int workerCount,
+                           @Value("${chat.queue.block-ms:5000}") long blockMs,
+                           @Value("${chat.queue.reclaim-interval-ms:30000}") long reclaimIntervalMs,
+                           @Value("${chat.queue.reclaim-min-idle-ms:300000}") long reclaimMinIdleMs,
+                           @Value("${chat.queue.reclaim-batch-size:20}") int reclaimBatchSize,
+                           @Value("${chat.queue.max-retries:3}") int maxRetries,
+                           @Value("${chat.queue.consumer-name:${HOSTNAME:}}") String consumerName,
+                           @Value("${chat.queue.consumer-idle-timeout-ms:3600000}") long consumerIdleTimeoutMs) {
         this.redisTemplate = redisTemplate;
         this.objectMapper = objectMapper;
         this.chatCurationOrchestrationService = chatCurationOrchestrationService;
         this.chatRoomManagementService = chatRoomManagementService;
         this.chatMessageService = chatMessageService;
+        this.productSearchService = productSearchService;
+        this.productCacheService = productCacheService;
+        this.chatResultDeliveryService = chatResultDeliveryService;
+        this.blockingIoExecutor = blockingIoExecutor;
+        this.workerCount = workerCount;
+        this.blockMs = blockMs;
+        this.reclaimMinIdleMs = reclaimMinIdleMs;
+        this.reclaimBatchSize = reclaimBatchSize;
+        this.maxRetries = maxRetries;
+        this.consumerIdleTimeoutMs = consumerIdleTimeoutMs;
+        this.consumerName = resolveConsumerName(consumerName);
+        this.reclaimConsumerName = this.consumerName + "-reclaim";
+        this.workerPermits = new Semaphore(workerCount);
+
+        Gauge.builder("chat_queue_in_flight", workerPermits, permits -> workerCount - permits.availablePermits())
+                .description("Chat queue entries currently being processed on this node")
+                .register(meterRegistry);
+        this.processSuccessTimer = Timer.builder("chat_queue_process_duration")
+                .description("Latency of processing one chat queue entry (AI response + save)")
+                .tag("result", "success")
+                .register(meterRegistry);
+        this.processFailureTimer = Timer.builder("chat_queue_process_duration")
+                .description("Latency of processing one chat queue entry (AI response + save)")
+                .tag("result", "failure")
+                .register(meterRegistry);
+        this.reclaimedCounter = Counter.builder("chat_queue_reclaimed_total")
+                .description("Pending chat queue entries reclaimed from idle consumers")
+                .register(meterRegistry);
+        this.deadLetteredCounter = Counter.builder("chat_queue_dead_lettered_total")
+                .description("Chat queue entries moved to the dead-letter stream")
+                .register(meterRegistry);
+        this.duplicateCounter = Counter.builder("chat_queue_duplicate_skipped_total")
+                .description("Reclaimed chat queue entries whose response was already saved by another delivery")
+                .register(meterRegistry);
+        this.consumerRemovedCounter = Counter.builder("chat_queue_consumers_removed_total")
+                .description("Idle consumers without pending entries removed from the chat queue group")
+                .register(meterRegistry);
+
+        this.reader = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("chat-queue-reader").daemon(true).factory());
+        this.reclaimer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("chat-queue-reclaimer").daemon(true).factory());
+        if (enabled) {
+            ensureConsumerGroup();
+            reader.execute(this::runReader);
+            reclaimer.scheduleWithFixedDelay(this::reclaimPending, reclaimIntervalMs, reclaimIntervalMs, TimeUnit.MILLISECONDS);
+        }
+
+        log.info("채팅 큐(Redis Streams) 초기화: enabled={}, consumer={}, workerCount={}, maxRetries={}",
+                enabled, consumerName, workerCount, maxRetries);
+    }
+
+    /**
+     * consumer 이름 - 설정값, 없으면 호스트 이름 (재시작해도 같은 이름을 써서 그룹에 consumer가 쌓이지 않도록)
+     */
+    private static String resolveConsumerName(String configured) {
+        if (configured != null && !configured.isBlank()) {
+            return configured.trim();
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            log.warn("호스트 이름 조회 실패, 임의 consumer 이름 사용: error={}", e.getMessage());
+            return "node-" + UUID.randomUUID();
+        }
     }
 
     /**
-     * 메시지를 큐에 추가 (모든 에이전트별로)
+     * 메시지를 큐에 추가 (모든 에이전트별로, 한 번의 파이프라인으로 XADD)
      */
     public void enqueueMessage(Long roomId, ChatMessageRequest chatMessageRequest) {
-        String queueKey = "chat_queue:" + roomId;
-        List<ChatAgentType> allAgents = Arrays.asList(ChatAgentType.values());
+        List<Map<String, String>> entries = new ArrayList<>();
 
-        for (ChatAgentType agent : allAgents) {
+        for (ChatAgentType agent : ChatAgentType.values()) {
             ChatQueueItem queueItem = ChatQueueItem.builder()
                     .roomId(roomId)
                     .message(chatMessageRequest.getContent())
@@ -63,101 +218,441 @@ public class ChatQueueService {
                     .build();
 
             try {
-                String json = objectMapper.writeValueAsString(queueItem);
-                redisTemplate.opsForList().rightPush(queueKey, json);
-                log.info("✅ 큐에 추가됨: roomId={}, agent={}, message='{}', imageUrl={}",
-                        roomId, agent.getCode(), chatMessageRequest.getContent(), 
-                        chatMessageRequest.getImageUrl() != null ? "있음" : "없음");
+                Map<String, String> fields = new HashMap<>();
+                fields.put(FIELD_ROOM_ID, String.valueOf(roomId));
+                fields.put(FIELD_PAYLOAD, objectMapper.writeValueAsString(queueItem));
+                entries.add(fields);
             } catch (JsonProcessingException e) {
                 log.error("❌ 메시지 직렬화 실패: agent={}, message='{}'",
                         agent.getCode(), chatMessageRequest.getContent(), e);
                 throw new RuntimeException("❌ 메시지 직렬화 실패", e);
-            } catch (Exception e) {
-                log.error("❌ 큐 추가 실패: agent={}, message='{}'",
-                        agent.getCode(), chatMessageRequest.getContent(), e);
-                throw new RuntimeException("❌ 큐 추가 실패", e);
             }
         }
+
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    for (Map<String, String> fields : entries) {
+                        ops.opsForStream().add(StreamRecords.newRecord().in(STREAM_KEY).ofMap(fields));
+                    }
+                    return null;
+                }
+            });
+            log.info("✅ 큐에 추가됨: roomId={}, agents={}, message='{}', imageUrl={}",
+                    roomId, entries.size(), chatMessageRequest.getContent(),
+                    chatMessageRequest.getImageUrl() != null ? "있음" : "없음");
+        } catch (Exception e) {
+            log.error("❌ 큐 추가 실패: roomId={}, message='{}'", roomId, chatMessageRequest.getContent(), e);
+            throw new RuntimeException("❌ 큐 추가 실패", e);
+        }
     }
 
     /**
-     * 큐에서 메시지 처리
+     * 리더 루프 - 여유 워커 수만큼 XREADGROUP(BLOCK)으로 새 항목을 가져와 워커에 전달
      */
-    public ChatAgentResponse processChatQueue(Long roomId) {
-        String queueKey = "chat_queue:" + roomId;
-        String json = redisTemplate.opsForList().leftPop(queueKey);
-        if (json != null) {
+    private void runReader() {
+        while (running.get()) {
+            int permits = 0;
             try {
-                ChatQueueItem item = objectMapper.readValue(json, ChatQueueItem.class);
-                UserEntity userEntity = chatRoomManagementService.getUserEntityByRoomId(roomId);
-                ChatRoom chatRoom = chatRoomManagementService.getRoomById(roomId);
-
-                // 특정 에이전트로 AI 응답 생성 (단일 에이전트)
-                ChatAgentResponse agentResponse;
-                
-                // 이미지가 있는 경우 Vision 서비스 실행
-                if (item.getImageUrl() != null && !item.getImageUrl().trim().isEmpty()) {
-                    log.info("🖼️ 이미지가 포함된 메시지 처리: agent={}, imageUrl={}", 
-                            item.getAgent().getCode(), item.getImageUrl());
-                    // TODO: Vision 서비스 구현 후 아래 메서드 호출
-                    // agentResponse = chatCurationOrchestrationService.generateSingleAgentResponseWithImage(
-                    //         item.getMessage(), item.getRoomId(), item.getAgent(), item.getImageUrl()
-                    // );
-                    
-                    // 현재는 기존 메서드 사용 (Vision 서비스 구현 전까지)
-                    agentResponse = chatCurationOrchestrationService.generateSingleAgentResponse(
-                            item.getMessage(), item.getRoomId(), item.getAgent()
-                    );
-                } else {
-                    log.info("📝 텍스트만 포함된 메시지 처리: agent={}", item.getAgent().getCode());
-                    agentResponse = chatCurationOrchestrationService.generateSingleAgentResponse(
-                            item.getMessage(), item.getRoomId(), item.getAgent()
-                    );
+                workerPermits.acquire();
+                permits = 1 + workerPermits.drainPermits();
+
+                List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().read(
+                        Consumer.from(CONSUMER_GROUP, consumerName),
+                        StreamReadOptions.empty().count(permits).block(Duration.ofMillis(blockMs)),
+                        StreamOffset.create(STREAM_KEY, ReadOffset.lastConsumed()));
+
+                int received = records == null ? 0 : records.size();
+                workerPermits.release(permits - received);
+                permits = 0;
+                if (records != null) {
+                    records.forEach(this::dispatch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                workerPermits.release(permits);
+                if (!running.get()) {
+                    break;
                 }
+                log.error("채팅 큐 읽기 실패: error={}", e.getMessage());
+                // 그룹이 사라진 경우(Redis 재시작 등) 다시 생성하고 잠시 대기
+                ensureConsumerGroup();
+                sleepQuietly(blockMs);
+            }
+        }
+        log.info("채팅 큐 리더 종료: consumer={}", consumerName);
+    }
 
-                // DB에 응답 저장 (단일 객체)
+    /**
+     * 항목 하나를 워커(blocking I/O 실행기)에서 처리 - 호출 전에 permit을 확보해야 함
+     */
+    private void dispatch(MapRecord<String, Object, Object> record) {
+        try {
+            blockingIoExecutor.execute(() -> {
                 try {
-                    chatMessageService.saveAIResponse(userEntity, chatRoom, agentResponse);
-                } catch (DataAccessException dbException) {
-                    log.error("❌ DB에 메시지 저장 실패: agent={}, 메시지={}, 에러={}",
-                            item.getAgent().getCode(), item.getMessage(), dbException.getMessage(), dbException);
-                    return null;
+                    processRecord(record);
+                } finally {
+                    workerPermits.release();
                 }
+            });
+        } catch (Exception e) {
+            // 실행기 종료 등으로 제출 실패 시 ACK하지 않고 두면 reclaimer가 회수
+            workerPermits.release();
+            log.warn("채팅 큐 항목 처리 제출 실패: id={}, error={}", record.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 항목 처리 - AI 응답 생성, 상품 검색, DB 저장, 결과 전달 후 ACK
+     * 실패하면 ACK하지 않아 pending 상태로 남고 reclaimer가 재시도
+     */
+    private void processRecord(MapRecord<String, Object, Object> record) {
+        String json = (String) record.getValue().get(FIELD_PAYLOAD);
+        ChatQueueItem item;
+        try {
+            item = objectMapper.readValue(json, ChatQueueItem.class);
+        } catch (Exception e) {
+            // 다시 시도해도 성공할 수 없으므로 바로 dead-letter
+            log.error("❌ 큐 항목 역직렬화 실패, dead-letter: id={}, json={}", record.getId(), json, e);
+            deadLetter(record, 1, "deserialization_failed");
+            return;
+        }
 
-                log.info("✅ 큐 처리 완료: agent={}, message='{}'",
-                        item.getAgent().getCode(), item.getMessage());
-                return agentResponse;
+        Timer.Sample sample = Timer.start();
+        try {
+            String commitKey = COMMIT_KEY_PREFIX + record.getId().getValue();
+            String commitState = redisTemplate.opsForValue().get(commitKey);
+            if (isCommitted(commitState)) {
+                // 저장까지 끝났지만 전달/ACK 전에 실패한 항목 - 응답을 다시 생성하지 않음
+                skipDuplicate(record, item, commitKey);
+                sample.stop(processSuccessTimer);
+                return;
+            }
 
-            } catch (Exception e) {
-                reEnqueueFailedMessage(queueKey, json);
-                log.error("❌ 큐 처리 실패: {}", json, e);
+            Long roomId = item.getRoomId();
+            UserEntity userEntity = chatRoomManagementService.getUserEntityByRoomId(roomId);
+            ChatRoom chatRoom = chatRoomManagementService.getRoomById(roomId);
+
+            // 특정 에이전트로 AI 응답 생성 (단일 에이전트)
+            ChatAgentResponse agentResponse;
+
+            // 이미지가 있는 경우 Vision 서비스 실행
+            if (item.getImageUrl() != null && !item.getImageUrl().trim().isEmpty()) {
+                log.info("🖼️ 이미지가 포함된 메시지 처리: agent={}, imageUrl={}",
+                        item.getAgent().getCode(), item.getImageUrl());
+                // TODO: Vision 서비스 구현 후 아래 메서드 호출
+                // agentResponse = chatCurationOrchestrationService.generateSingleAgentResponseWithImage(
+                //         item.getMessage(), item.getRoomId(), item.getAgent(), item.getImageUrl()
+                // );
+
+                // 현재는 기존 메서드 사용 (Vision 서비스 구현 전까지)
+                agentResponse = chatCurationOrchestrationService.generateSingleAgentResponse(
+                        item.getMessage(), item.getRoomId(), item.getAgent()
+                );
+            } else {
+                log.info("📝 텍스트만 포함된 메시지 처리: agent={}", item.getAgent().getCode());
+                agentResponse = chatCurationOrchestrationService.generateSingleAgentResponse(
+                        item.getMessage(), item.getRoomId(), item.getAgent()
+                );
+            }
+
+            // 상품 검색 후 상품 정보 설정
+            attachProducts(agentResponse);
+
+            // 회수로 같은 레코드가 동시에 처리되어도 저장/전달은 한 번만
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(
+                    commitKey, consumerName, Duration.ofMillis(reclaimMinIdleMs));
+            if (!Boolean.TRUE.equals(acquired)) {
+                skipDuplicate(record, item, commitKey);
+                sample.stop(processSuccessTimer);
+                return;
             }
+
+            // DB에 응답 저장 (상품 정보 포함, 단일 객체) - 실패하면 ACK하지 않고 재시도
+            try {
+                chatMessageService.saveAIResponse(userEntity, chatRoom, agentResponse);
+            } catch (RuntimeException e) {
+                redisTemplate.delete(commitKey);
+                throw e;
+            }
+            // 전달 전에 실패해도 재처리 시 같은 응답을 다시 전달할 수 있도록 응답을 함께 기록
+            redisTemplate.opsForValue().set(commitKey,
+                    COMMIT_SAVED_PREFIX + objectMapper.writeValueAsString(agentResponse), COMMIT_DONE_TTL);
+
+            publishAndAcknowledge(record, roomId, commitKey, agentResponse);
+
+            sample.stop(processSuccessTimer);
+            log.info("✅ 큐 처리 완료: id={}, agent={}, message='{}'",
+                    record.getId(), item.getAgent().getCode(), item.getMessage());
+        } catch (Exception e) {
+            sample.stop(processFailureTimer);
+            log.error("❌ 큐 처리 실패 (pending 유지, 재시도 예정): id={}, agent={}, error={}",
+                    record.getId(), item.getAgent() != null ? item.getAgent().getCode() : null, e.getMessage(), e);
         }
-        return null;
     }
 
     /**
-     * 실패한 메시지를 큐에 다시 추가
+     * 결과 전달 후 전달 완료로 표시하고 ACK - 전달에 실패하면 saved 상태로 남아 재처리 때 다시 전달
      */
-    private void reEnqueueFailedMessage(String queueKey, String failedJson) {
+    private void publishAndAcknowledge(MapRecord<String, Object, Object> record, Long roomId, String commitKey,
+                                       ChatAgentResponse agentResponse) throws JsonProcessingException {
+        chatResultDeliveryService.publish(roomId, agentResponse);
+        redisTemplate.opsForValue().set(commitKey, COMMIT_DONE, COMMIT_DONE_TTL);
+        redisTemplate.opsForStream().acknowledge(STREAM_KEY, CONSUMER_GROUP, record.getId());
+    }
+
+    /**
+     * 다른 전달이 이미 응답을 저장했으면 응답 생성은 생략
+     * - 전달까지 끝났으면 ACK만, 저장만 끝났으면 저장된 응답을 다시 전달한 뒤 ACK
+     * - 아직 저장 중이면 pending으로 남겨 둠 (저장 중이던 쪽이 실패하면 키가 삭제/만료되어 다음 회수 때 다시 처리)
+     */
+    private void skipDuplicate(MapRecord<String, Object, Object> record, ChatQueueItem item, String commitKey)
+            throws JsonProcessingException {
+        duplicateCounter.increment();
+        String commitState = redisTemplate.opsForValue().get(commitKey);
+        if (COMMIT_DONE.equals(commitState)) {
+            redisTemplate.opsForStream().acknowledge(STREAM_KEY, CONSUMER_GROUP, record.getId());
+            log.warn("⚠️ 이미 전달된 큐 항목, 중복 응답 생략 후 ACK: id={}", record.getId());
+        } else if (commitState != null && commitState.startsWith(COMMIT_SAVED_PREFIX)) {
+            ChatAgentResponse savedResponse = objectMapper.readValue(
+                    commitState.substring(COMMIT_SAVED_PREFIX.length()), ChatAgentResponse.class);
+            publishAndAcknowledge(record, item.getRoomId(), commitKey, savedResponse);
+            log.warn("⚠️ 저장 후 전달되지 않은 큐 항목, 저장된 응답으로 다시 전달: id={}", record.getId());
+        } else {
+            log.warn("⚠️ 다른 consumer가 저장 중인 큐 항목, 중복 응답 생략: id={}", record.getId());
+        }
+    }
+
+    private static boolean isCommitted(String commitState) {
+        return COMMIT_DONE.equals(commitState)
+                || (commitState != null && commitState.startsWith(COMMIT_SAVED_PREFIX));
+    }
+
+    /**
+     * 응답 메시지로 상품 검색 후 products 설정 (검색 실패 시 상품 없이 전달)
+     */
+    private void attachProducts(ChatAgentResponse agentResponse) {
+        Map<String, Object> searchResult = productSearchService.searchProducts(agentResponse.getMessage());
+        if (searchResult == null) {
+            log.warn("상품 검색 결과 없음: agent={}", agentResponse.getAgentId());
+            return;
+        }
+
+        // 🔄 상품 정보를 Redis에 캐싱
+        try {
+            productCacheService.cacheProductsFromSearchResult(searchResult);
+        } catch (Exception e) {
+            log.warn("상품 정보 캐싱 중 오류 발생 (응답 전달은 계속): {}", e.getMessage());
+        }
+
+        // 상품 이미지 URL 및 상품 ID 추출
+        List<String> productImageUrls = productSearchService.extractProductImageUrls(searchResult);
+        List<String> productIds = productCacheService.extractProductIds(searchResult);
+        if (productImageUrls.isEmpty() || productIds.isEmpty()) {
+            return;
+        }
+
+        // URL과 ID의 개수가 같다고 가정하고 매핑
+        List<ProductInfo> products = new ArrayList<>();
+        int minSize = Math.min(productImageUrls.size(), productIds.size());
+        for (int i = 0; i < minSize; i++) {
+            products.add(ProductInfo.builder()
+                    .productUrl(productImageUrls.get(i))
+                    .productId(productIds.get(i))
+                    .build());
+        }
+        agentResponse.setProducts(products);
+        log.info("상품 정보 {}개 설정: agent={}", products.size(), agentResponse.getAgentId());
+    }
+
+    /**
+     * reclaimer - min-idle 이상 ACK되지 않은 항목을 회수해 재처리하거나 dead-letter
+     */
+    private void reclaimPending() {
         try {
-            ChatQueueItem item = objectMapper.readValue(failedJson, ChatQueueItem.class);
-            item.setRetryCount(item.getRetryCount() + 1);
+            PendingMessages pendingMessages = redisTemplate.opsForStream()
+                    .pending(STREAM_KEY, CONSUMER_GROUP, Range.unbounded(), reclaimBatchSize);
+
+            for (PendingMessage pending : pendingMessages) {
+                if (pending.getElapsedTimeSinceLastDelivery().toMillis() < reclaimMinIdleMs) {
+                    continue;
+                }
+
+                // 최초 전달 1회 + 재시도 max-retries회를 모두 실패한 항목
+                if (pending.getTotalDeliveryCount() > maxRetries) {
+                    deadLetterPending(pending);
+                    continue;
+                }
+
+                if (!workerPermits.tryAcquire()) {
+                    break;
+                }
+                List<MapRecord<String, Object, Object>> claimed = redisTemplate.opsForStream().claim(
+                        STREAM_KEY, CONSUMER_GROUP, reclaimConsumerName,
+                        Duration.ofMillis(reclaimMinIdleMs), pending.getId());
+                if (claimed == null || claimed.isEmpty()) {
+                    // 다른 노드가 먼저 회수했거나 스트림에서 잘린 항목
+                    workerPermits.release();
+                    continue;
+                }
+                reclaimedCounter.increment();
+                log.warn("⚠️ 처리되지 않은 큐 항목 회수 (전달 {}회): id={}, previousConsumer={}",
+                        pending.getTotalDeliveryCount(), pending.getId(), pending.getConsumerName());
+                dispatch(claimed.get(0));
+            }
+
+            trimAcknowledged();
+            removeIdleConsumers();
+        } catch (Exception e) {
+            log.error("채팅 큐 pending 회수 실패: error={}", e.getMessage(), e);
+        }
+    }
 
-            // 재시도 횟수 제한
-            if (item.getRetryCount() > 3) {
-                log.error("❌ 메시지 재시도 횟수 초과, 폐기: agent={}, message='{}'",
-                        item.getAgent().getCode(), item.getMessage());
+    /**
+     * pending 항목이 없고 consumer-idle-timeout 이상 읽지 않은 consumer 제거 (배포/재시작으로 사라진 노드)
+     * pending이 남은 consumer는 항목이 회수된 뒤 다음 주기에 제거됨
+     */
+    private void removeIdleConsumers() {
+        StreamInfo.XInfoConsumers consumers = redisTemplate.opsForStream().consumers(STREAM_KEY, CONSUMER_GROUP);
+        for (StreamInfo.XInfoConsumer consumer : consumers.stream().toList()) {
+            String name = consumer.consumerName();
+            if (name.equals(consumerName) || name.equals(reclaimConsumerName)
+                    || consumer.pendingCount() > 0 || consumer.idleTimeMs() < consumerIdleTimeoutMs) {
+                continue;
+            }
+            redisTemplate.opsForStream().deleteConsumer(STREAM_KEY, Consumer.from(CONSUMER_GROUP, name));
+            consumerRemovedCounter.increment();
+            log.info("유휴 채팅 큐 consumer 제거: consumer={}, idleMs={}", name, consumer.idleTimeMs());
+        }
+    }
+
+    /**
+     * ACK가 끝난 구간만 삭제 - 가장 오래된 pending 항목과 아직 전달되지 않은 항목(last-delivered-id 이후)은 보존
+     * (MAXLEN 트리밍은 백로그가 쌓이면 미처리 항목까지 지움)
+     */
+    private void trimAcknowledged() {
+        StreamInfo.XInfoGroups groups = redisTemplate.opsForStream().groups(STREAM_KEY);
+        String minId = null;
+        for (StreamInfo.XInfoGroup group : groups.stream().toList()) {
+            String lastDeliveredId = group.lastDeliveredId();
+            if (lastDeliveredId == null || "0-0".equals(lastDeliveredId)) {
                 return;
             }
+            minId = minStreamId(minId, lastDeliveredId);
+            if (group.pendingCount() > 0) {
+                PendingMessagesSummary summary = redisTemplate.opsForStream().pending(STREAM_KEY, group.groupName());
+                if (summary != null && summary.minMessageId() != null) {
+                    minId = minStreamId(minId, summary.minMessageId());
+                }
+            }
+        }
+        if (minId == null) {
+            return;
+        }
+
+        byte[][] args = {
+                STREAM_KEY.getBytes(StandardCharsets.UTF_8),
+                "MINID".getBytes(StandardCharsets.UTF_8),
+                "~".getBytes(StandardCharsets.UTF_8),
+                minId.getBytes(StandardCharsets.UTF_8)};
+        Object trimmed = redisTemplate.execute((RedisCallback<Object>) connection -> connection.execute("XTRIM", args));
+        log.debug("채팅 큐 ACK 완료 구간 트리밍: minId={}, trimmed={}", minId, trimmed);
+    }
+
+    private static String minStreamId(String current, String candidate) {
+        if (current == null) {
+            return candidate;
+        }
+        return compareStreamIds(candidate, current) < 0 ? candidate : current;
+    }
+
+    // 스트림 ID(<ms>-<seq>) 비교
+    private static int compareStreamIds(String a, String b) {
+        String[] left = a.split("-");
+        String[] right = b.split("-");
+        int result = Long.compare(Long.parseLong(left[0]), Long.parseLong(right[0]));
+        if (result != 0) {
+            return result;
+        }
+        return Long.compare(left.length > 1 ? Long.parseLong(left[1]) : 0L, right.length > 1 ? Long.parseLong(right[1]) : 0L);
+    }
+
+    private void deadLetterPending(PendingMessage pending) {
+        List<MapRecord<String, Object, Object>> claimed = redisTemplate.opsForStream().claim(
+                STREAM_KEY, CONSUMER_GROUP, reclaimConsumerName,
+                Duration.ofMillis(reclaimMinIdleMs), pending.getId());
+        if (claimed == null || claimed.isEmpty()) {
+            // 스트림에서 이미 잘린 항목은 pending 목록에서만 제거
+            redisTemplate.opsForStream().acknowledge(STREAM_KEY, CONSUMER_GROUP, pending.getId());
+            return;
+        }
+        deadLetter(claimed.get(0), pending.getTotalDeliveryCount(), "max_retries_exceeded");
+    }
+
+    /**
+     * 항목을 dead-letter 스트림으로 옮기고 원본은 ACK
+     */
+    private void deadLetter(MapRecord<String, Object, Object> record, long deliveryCount, String reason) {
+        try {
+            Map<String, String> fields = new HashMap<>();
+            record.getValue().forEach((key, value) -> fields.put(String.valueOf(key), String.valueOf(value)));
+            fields.put("originalId", record.getId().getValue());
+            fields.put("deliveryCount", String.valueOf(deliveryCount));
+            fields.put("reason", reason);
 
-            String updatedJson = objectMapper.writeValueAsString(item);
-            redisTemplate.opsForList().rightPush(queueKey, updatedJson);
-            log.warn("⚠️ 실패한 메시지를 큐에 다시 추가 (재시도 {}회): agent={}, message='{}'",
-                    item.getRetryCount(), item.getAgent().getCode(), item.getMessage());
+            redisTemplate.opsForStream().add(StreamRecords.newRecord().in(DEAD_LETTER_KEY).ofMap(fields));
+            redisTemplate.opsForStream().acknowledge(STREAM_KEY, CONSUMER_GROUP, record.getId());
+            deadLetteredCounter.increment();
+            log.error("❌ 큐 항목 dead-letter 처리: id={}, roomId={}, deliveryCount={}, reason={}",
+                    record.getId(), fields.get(FIELD_ROOM_ID), deliveryCount, reason);
+        } catch (Exception e) {
+            log.error("❌ dead-letter 처리 실패: id={}, error={}", record.getId(), e.getMessage(), e);
+        }
+    }
 
+    /**
+     * consumer group 생성 (스트림이 없으면 함께 생성, 이미 있으면 무시)
+     */
+    private void ensureConsumerGroup() {
+        try {
+            redisTemplate.execute((RedisCallback<String>) (RedisConnection connection) ->
+                    connection.streamCommands().xGroupCreate(
+                            STREAM_KEY.getBytes(StandardCharsets.UTF_8), CONSUMER_GROUP, ReadOffset.from("0"), true));
+            log.info("채팅 큐 consumer group 생성: stream={}, group={}", STREAM_KEY, CONSUMER_GROUP);
         } catch (Exception e) {
-            log.error("❌ 재전송 로직 중 오류 발생: {}", failedJson, e);
+            if (e.getMessage() == null || !e.getMessage().contains("BUSYGROUP")) {
+                log.warn("채팅 큐 consumer group 생성 실패: error={}", e.getMessage());
+            }
+        }
+    }
+
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 종료 시 새 항목 읽기를 멈춤 - 처리 중이던 항목은 ACK되지 않으면 다른 노드가 회수
+     */
+    @PreDestroy
+    public void shutdown() {
+        running.set(false);
+        reclaimer.shutdownNow();
+        reader.shutdownNow();
+        try {
+            if (!reader.awaitTermination(blockMs + 1000, TimeUnit.MILLISECONDS)) {
+                log.warn("채팅 큐 리더 종료 대기 시간 초과: consumer={}", consumerName);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
-}
\ No newline at end of file
+}
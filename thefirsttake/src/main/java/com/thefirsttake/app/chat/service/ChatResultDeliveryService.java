@@ -0,0 +1,221 @@
+package com.thefirsttake.app.chat.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thefirsttake.app.chat.dto.response.ChatAgentResponse;
+import com.thefirsttake.app.common.response.CommonResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 완료된 에이전트 응답 전달 서비스 (long-poll)
+ * - 큐 워커가 완료된 응답을 chat_result:{roomId} 목록에 넣고 chat_result:ready 채널로 roomId를 발행
+ * - /api/chat/receive 요청은 DeferredResult로 대기하며 Tomcat 스레드를 점유하지 않음
+ * - 알림을 받은 노드 중 대기자가 있는 노드만 LPOP으로 결과를 가져가므로 한 응답은 한 번만 전달
+ * - 대기 시간이 지나면 기존과 같은 "응답이 아직 없습니다." 응답을 반환
+ * - 역직렬화할 수 없는 결과는 chat_result:dead-letter 목록으로 옮기고 대기자에게는 실패 응답을 반환
+ */
+@Service
+@Slf4j
+public class ChatResultDeliveryService implements MessageListener {
+
+    public static final String RESULT_KEY_PREFIX = "chat_result:";
+    public static final String READY_CHANNEL = "chat_result:ready";
+    public static final String DEAD_LETTER_KEY = "chat_result:dead-letter";
+    private static final long DEAD_LETTER_MAX_LENGTH = 1000;
+    private static final String NOT_READY_MESSAGE = "응답이 아직 없습니다.";
+    private static final String UNREADABLE_MESSAGE = "응답을 처리하지 못했습니다. 다시 시도해주세요.";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final long longPollTimeoutMs;
+    private final long resultTtlMinutes;
+
+    private final Map<Long, Deque<DeferredResult<CommonResponse>>> waitersByRoom = new ConcurrentHashMap<>();
+    private final AtomicInteger waiterCount = new AtomicInteger();
+
+    private final Counter immediateCounter;
+    private final Counter notifiedCounter;
+    private final Counter timeoutCounter;
+    private final Counter failedCounter;
+
+    public ChatResultDeliveryService(@Qualifier("redisTemplate") RedisTemplate<String, String> redisTemplate,
+                                     ObjectMapper objectMapper,
+                                     RedisMessageListenerContainer redisMessageListenerContainer,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${chat.result.long-poll-timeout-ms:25000}") long longPollTimeoutMs,
+                                     @Value("${chat.result.ttl-minutes:10}") long resultTtlMinutes) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.longPollTimeoutMs = longPollTimeoutMs;
+        this.resultTtlMinutes = resultTtlMinutes;
+
+        Gauge.builder("chat_result_waiters", waiterCount, AtomicInteger::get)
+                .description("Long-poll requests waiting for a chat agent response on this node")
+                .register(meterRegistry);
+        this.immediateCounter = deliveryCounter(meterRegistry, "immediate");
+        this.notifiedCounter = deliveryCounter(meterRegistry, "notified");
+        this.timeoutCounter = deliveryCounter(meterRegistry, "timeout");
+        this.failedCounter = deliveryCounter(meterRegistry, "failed");
+
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(READY_CHANNEL));
+        log.info("채팅 응답 long-poll 전달 초기화: timeoutMs={}", longPollTimeoutMs);
+    }
+
+    private static Counter deliveryCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("chat_result_delivery_total")
+                .description("Long-poll chat receive requests by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 완료된 응답 등록 후 대기 중인 요청이 있는 노드에 알림 (큐 워커에서 호출)
+     */
+    public void publish(Long roomId, ChatAgentResponse agentResponse) throws JsonProcessingException {
+        String resultKey = RESULT_KEY_PREFIX + roomId;
+        redisTemplate.opsForList().rightPush(resultKey, objectMapper.writeValueAsString(agentResponse));
+        redisTemplate.expire(resultKey, resultTtlMinutes, TimeUnit.MINUTES);
+        try {
+            redisTemplate.convertAndSend(READY_CHANNEL, String.valueOf(roomId));
+        } catch (Exception e) {
+            // 알림이 유실돼도 결과는 목록에 남아 다음 요청에서 전달됨
+            log.warn("채팅 응답 완료 알림 발행 실패: roomId={}, error={}", roomId, e.getMessage());
+        }
+    }
+
+    /**
+     * 응답 대기 (long-poll) - 이미 완료된 응답이 있으면 즉시, 없으면 완료 알림 또는 타임아웃까지 대기
+     */
+    public DeferredResult<CommonResponse> await(Long roomId) {
+        DeferredResult<CommonResponse> deferredResult =
+                new DeferredResult<>(longPollTimeoutMs, CommonResponse.fail(NOT_READY_MESSAGE));
+
+        String json = redisTemplate.opsForList().leftPop(RESULT_KEY_PREFIX + roomId);
+        if (json != null && complete(roomId, deferredResult, json, immediateCounter)) {
+            return deferredResult;
+        }
+
+        Deque<DeferredResult<CommonResponse>> waiters =
+                waitersByRoom.computeIfAbsent(roomId, id -> new ConcurrentLinkedDeque<>());
+        waiters.offerLast(deferredResult);
+        waiterCount.incrementAndGet();
+        deferredResult.onTimeout(timeoutCounter::increment);
+        deferredResult.onCompletion(() -> removeWaiter(roomId, deferredResult));
+
+        // 조회 직후 ~ 등록 전에 발행된 알림을 놓치지 않도록 한 번 더 확인
+        deliverToWaiters(roomId);
+        return deferredResult;
+    }
+
+    /**
+     * 완료 알림 수신 - 이 노드에 대기 중인 요청이 있을 때만 결과를 가져감
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Long roomId = Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8));
+            deliverToWaiters(roomId);
+        } catch (Exception e) {
+            log.warn("채팅 응답 완료 알림 처리 실패: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 대기자 순서대로 완료된 응답을 하나씩 전달
+     */
+    private void deliverToWaiters(Long roomId) {
+        Deque<DeferredResult<CommonResponse>> waiters = waitersByRoom.get(roomId);
+        if (waiters == null) {
+            return;
+        }
+
+        DeferredResult<CommonResponse> waiter;
+        while ((waiter = waiters.pollFirst()) != null) {
+            if (waiter.isSetOrExpired()) {
+                continue;
+            }
+            String json = redisTemplate.opsForList().leftPop(RESULT_KEY_PREFIX + roomId);
+            if (json == null) {
+                // 아직 결과가 없으면 대기자를 원래 위치로 되돌림
+                waiters.offerFirst(waiter);
+                return;
+            }
+            complete(roomId, waiter, json, notifiedCounter);
+        }
+    }
+
+    /**
+     * 대기자에게 결과 전달 - 그 사이 타임아웃된 경우 결과를 목록 앞에 되돌림
+     * 역직렬화에 실패한 결과는 dead-letter 목록에 보관하고 대기자는 실패 응답으로 완료
+     * @return 대기자 완료 여부 (성공/실패 응답 모두 포함)
+     */
+    private boolean complete(Long roomId, DeferredResult<CommonResponse> deferredResult, String json,
+                             Counter deliveredCounter) {
+        ChatAgentResponse agentResponse;
+        try {
+            agentResponse = objectMapper.readValue(json, ChatAgentResponse.class);
+        } catch (Exception e) {
+            log.error("❌ 완료된 응답 역직렬화 실패, dead-letter로 이동: roomId={}, json={}", roomId, json, e);
+            deadLetter(roomId, json);
+            if (deferredResult.setResult(CommonResponse.fail(UNREADABLE_MESSAGE))) {
+                failedCounter.increment();
+                return true;
+            }
+            return false;
+        }
+
+        if (deferredResult.setResult(CommonResponse.success(agentResponse))) {
+            deliveredCounter.increment();
+            log.info("에이전트 응답 전달: roomId={}, agent={}", roomId, agentResponse.getAgentId());
+            return true;
+        }
+        redisTemplate.opsForList().leftPush(RESULT_KEY_PREFIX + roomId, json);
+        return false;
+    }
+
+    /**
+     * 전달할 수 없는 결과 보관 (원인 분석/수동 재전달용, 최근 DEAD_LETTER_MAX_LENGTH건만 유지)
+     */
+    private void deadLetter(Long roomId, String json) {
+        try {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("roomId", roomId);
+            entry.put("failedAt", Instant.now().toString());
+            entry.put("payload", json);
+            redisTemplate.opsForList().rightPush(DEAD_LETTER_KEY, objectMapper.writeValueAsString(entry));
+            redisTemplate.opsForList().trim(DEAD_LETTER_KEY, -DEAD_LETTER_MAX_LENGTH, -1);
+        } catch (Exception e) {
+            log.error("❌ 응답 dead-letter 저장 실패: roomId={}, error={}", roomId, e.getMessage());
+        }
+    }
+
+    private void removeWaiter(Long roomId, DeferredResult<CommonResponse> deferredResult) {
+        waiterCount.decrementAndGet();
+        waitersByRoom.computeIfPresent(roomId, (id, waiters) -> {
+            waiters.remove(deferredResult);
+            return waiters.isEmpty() ? null : waiters;
+        });
+    }
+}
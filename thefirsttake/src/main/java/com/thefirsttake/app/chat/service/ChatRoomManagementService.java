@@ -1,14 +1,20 @@
 package com.thefirsttake.app.chat.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.thefirsttake.app.chat.dto.response.ChatRoomDto;
 import com.thefirsttake.app.chat.entity.ChatRoom;
 import com.thefirsttake.app.chat.repository.ChatRoomRepository;
 import com.thefirsttake.app.common.user.entity.UserEntity;
 import com.thefirsttake.app.common.user.service.UserSessionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -17,17 +23,31 @@ import java.util.stream.Collectors;
  * 채팅방 관리 전담 서비스
  * - 채팅방 CRUD 작업
  * - 채팅방 조회 및 생성
+ * - 채팅방(→ 소유자) 조회는 read-through 캐시로 처리 (채팅 턴당 식별 DB 조회 최소화)
+ * - 채팅방은 생성 후 변경/삭제 경로가 없어 캐시 무효화가 필요 없음
+ *   (변경 가능한 소유자 정보는 조회마다 UserSessionService 캐시에서 가져오므로 사용자 무효화가 그대로 반영됨)
  */
 @Service
 @Slf4j
 public class ChatRoomManagementService {
     private final ChatRoomRepository chatRoomRepository;
     private final UserSessionService userSessionService;
+    // roomId → 채팅방 (변경되지 않는 필드만 사용, 소유자는 조회 시 UserSessionService 캐시에서 채움)
+    private final Cache<Long, ChatRoom> roomCache;
     
     public ChatRoomManagementService(ChatRoomRepository chatRoomRepository,
-                                   UserSessionService userSessionService) {
+                                   UserSessionService userSessionService,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${chat.identity-cache.max-size:10000}") long maxSize,
+                                   @Value("${chat.identity-cache.ttl-minutes:30}") long ttlMinutes) {
         this.chatRoomRepository = chatRoomRepository;
         this.userSessionService = userSessionService;
+        this.roomCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, roomCache, "chat_room_cache");
     }
 
     /**
@@ -61,7 +81,11 @@ public class ChatRoomManagementService {
         newRoom.setTitle("새로운 채팅방");
         newRoom.setCreatedAt(LocalDateTime.now());
         
-        return chatRoomRepository.save(newRoom);
+        ChatRoom savedRoom = chatRoomRepository.save(newRoom);
+        
+        // 새 방은 곧바로 메시지 저장/조회에 쓰이므로 캐시를 갱신해 둠
+        roomCache.put(savedRoom.getId(), detachedCopy(savedRoom, userEntity));
+        return savedRoom;
     }
 
     /**
@@ -92,27 +116,38 @@ public class ChatRoomManagementService {
     }
 
     /**
-     * ID로 채팅방 조회
+     * ID로 채팅방 조회 (캐시 적중 시 DB/커넥션 사용 없음)
+     * - 반환되는 채팅방은 영속성 컨텍스트와 분리된 엔티티이며 user는 초기화되어 있음
      */
-    @Transactional(readOnly = true)
     public ChatRoom getRoomById(Long roomId) {
-        return chatRoomRepository.findById(roomId)
-                .orElseThrow(() -> new EntityNotFoundException("ChatRoom not found with ID: " + roomId));
+        ChatRoom cached = roomCache.get(roomId, id -> {
+            ChatRoom chatRoom = chatRoomRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("ChatRoom not found with ID: " + id));
+            // 지연 로딩 프록시의 ID만 사용하고 소유자 엔티티는 사용자 캐시에서 가져옴
+            return detachedCopy(chatRoom, userSessionService.getUserById(chatRoom.getUser().getId()));
+        });
+        // 사용자 캐시가 무효화됐으면 최신 소유자로 교체 (사용자 캐시 적중 시 DB 조회 없음)
+        UserEntity owner = userSessionService.getUserById(cached.getUser().getId());
+        if (owner != cached.getUser()) {
+            cached = detachedCopy(cached, owner);
+            roomCache.put(roomId, cached);
+        }
+        return cached;
     }
 
     /**
      * 채팅방 ID로 사용자 엔티티 조회
      */
-    @Transactional(readOnly = true)
     public UserEntity getUserEntityByRoomId(Long roomId) {
-        log.info("getUserEntityByRoomId 호출: roomId={}", roomId);
-        ChatRoom chatRoom = getRoomById(roomId);
-        log.info("채팅방 조회 완료: chatRoom={}, chatRoom.user={}", chatRoom, chatRoom != null ? chatRoom.getUser() : "null");
-        UserEntity user = chatRoom.getUser();
-        log.info("사용자 엔티티 반환: user={}, userId={}", user, user != null ? user.getId() : "null");
+        UserEntity user = getRoomById(roomId).getUser();
+        log.debug("채팅방 소유자 조회: roomId={}, userId={}", roomId, user != null ? user.getId() : "null");
         return user;
     }
 
+    private ChatRoom detachedCopy(ChatRoom chatRoom, UserEntity owner) {
+        return new ChatRoom(chatRoom.getId(), owner, chatRoom.getTitle(), chatRoom.getCreatedAt());
+    }
+
     /**
      * ChatRoom 엔티티를 DTO로 변환
      */
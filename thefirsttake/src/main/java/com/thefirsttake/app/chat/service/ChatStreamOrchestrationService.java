@@ -2,12 +2,21 @@ package com.thefirsttake.app.chat.service;
 
 import jakarta.servlet.http.HttpSession;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -21,19 +30,40 @@ import java.util.concurrent.atomic.AtomicBoolean;
 @Slf4j
 public class ChatStreamOrchestrationService {
     
+    /**
+     * 새로운 LLM 스트림을 논블로킹으로 처리할지 여부
+     * false면 기존처럼 blocking I/O 실행기 스레드에서 스트림 종료까지 대기
+     */
+    @Value("${chat.stream.reactive-enabled:true}")
+    private boolean reactiveStreamEnabled;
+    
+    /**
+     * 기존 스트림(processStreamChat)에서 전문가 스트림을 동시에 시작할지 여부 (기본: false)
+     * false면 기존처럼 style_analyst → color_expert → fitting_coordinator 순서로 스트리밍 (클라이언트 계약)
+     * true면 세 전문가 content 이벤트가 섞여 전송되므로 agent_id로 구분하는 클라이언트에서만 사용
+     * 어느 쪽이든 응답 캐시/DB 저장은 전문가 순서대로 수행
+     */
+    @Value("${chat.stream.parallel-experts:false}")
+    private boolean parallelExpertsEnabled;
+    
     private final SSEConnectionService sseConnectionService;
     private final ExpertStreamService expertStreamService;
     private final MessageStorageService messageStorageService;
     private final StreamMetricsService streamMetricsService;
+    private final ExecutorService blockingIoExecutor;
+    private final Scheduler blockingIoScheduler;
     
     public ChatStreamOrchestrationService(SSEConnectionService sseConnectionService,
                                          ExpertStreamService expertStreamService,
                                          MessageStorageService messageStorageService,
-                                         StreamMetricsService streamMetricsService) {
+                                         StreamMetricsService streamMetricsService,
+                                         @Qualifier("blockingIoExecutor") ExecutorService blockingIoExecutor) {
         this.sseConnectionService = sseConnectionService;
         this.expertStreamService = expertStreamService;
         this.messageStorageService = messageStorageService;
         this.streamMetricsService = streamMetricsService;
+        this.blockingIoExecutor = blockingIoExecutor;
+        this.blockingIoScheduler = Schedulers.fromExecutorService(blockingIoExecutor, "blocking-io");
     }
     
     /**
@@ -80,52 +110,45 @@ public class ChatStreamOrchestrationService {
                     List<String> expertList = expertStreamService.getExpertList();
                     Map<String, Boolean> expertCompleted = expertStreamService.createExpertCompletedMap(expertList);
                     
-                    // 각 전문가별 순차 처리
-                    for (String curExpert : expertList) {
-                        if (cancelled.get()) break;
-                        
-                        log.info("👨‍💼 전문가 처리 시작: expert={}, roomId={}", curExpert, finalRoomId);
-                        
-                        // 전문가 처리
-                        ExpertStreamService.ExpertProcessResult result = expertStreamService.processExpert(
-                                curExpert, userInput, userProfile, finalRoomId, session.getId(), emitter, cancelled
-                        );
+                    // 전문가 처리 (병렬: 세 전문가 스트림을 동시에 시작, 순차: 기존처럼 한 명씩)
+                    Map<String, ExpertStreamService.ExpertProcessResult> results = new ConcurrentHashMap<>();
+                    try {
+                        if (parallelExpertsEnabled) {
+                            runExpertsInParallel(expertList, expertCompleted, results, userInput, userProfile, finalRoomId,
+                                    session.getId(), emitter, cancelled);
+                        } else {
+                            runExpertsSequentially(expertList, expertCompleted, results, userInput, userProfile, finalRoomId,
+                                    session.getId(), emitter, cancelled);
+                        }
+                    } finally {
+                        // 응답 캐시 저장은 상품 검색 완료 순서와 관계없이 전문가 순서대로
+                        for (String expert : expertList) {
+                            expertStreamService.saveResultToCache(expert, results.get(expert), finalRoomId, session.getId());
+                        }
+                    }
+                    
+                    // 모든 전문가 완료 확인
+                    if (!cancelled.get() && expertStreamService.areAllExpertsCompleted(expertCompleted)) {
+                        log.info("🎉 모든 전문가 응답 완료 - SSE 연결 종료: roomId={}", finalRoomId);
                         
-                        if (cancelled.get()) break;
+                        // 최종 완료 이벤트 전송
+                        sseConnectionService.sendFinalCompleteEvent(emitter, expertList.size());
                         
-                        // 전문가 완료 상태 업데이트
-                        expertStreamService.markExpertCompleted(expertCompleted, curExpert);
+                        // 캐시된 모든 메시지를 write-behind 큐에 넘김 (DB 저장은 비동기)
+                        try {
+                            messageStorageService.submitMessagesFromCache(session.getId(), finalRoomId);
+                            log.info("✅ 통합 배치 저장 요청 완료: sessionId={}, roomId={}", session.getId(), finalRoomId);
+                        } catch (Exception e) {
+                            log.error("❌ 통합 배치 저장 실패: sessionId={}, roomId={}, error={}", 
+                                    session.getId(), finalRoomId, e.getMessage(), e);
+                        }
                         
-                        // 완료 이벤트 전송
-                        expertStreamService.sendExpertCompleteEvent(
-                                emitter, result.getMessage(), curExpert, result.getProducts()
-                        );
+                        // SSE 연결 종료
+                        forceCompleted.set(true);
+                        sseConnectionService.completeConnection(connectionId, emitter, forceCompleted);
                         
-                        // 모든 전문가 완료 확인
-                        if (expertStreamService.areAllExpertsCompleted(expertCompleted)) {
-                            log.info("🎉 모든 전문가 응답 완료 - SSE 연결 종료: roomId={}", finalRoomId);
-                            
-                            // 최종 완료 이벤트 전송
-                            sseConnectionService.sendFinalCompleteEvent(emitter, expertList.size());
-                            
-                            // 캐시된 모든 메시지를 한 번에 DB에 저장 (통합 배치 저장)
-                            try {
-                                messageStorageService.saveAllMessagesFromCache(session.getId(), finalRoomId);
-                                log.info("✅ 통합 배치 저장 완료: sessionId={}, roomId={}", session.getId(), finalRoomId);
-                            } catch (Exception e) {
-                                log.error("❌ 통합 배치 저장 실패: sessionId={}, roomId={}, error={}", 
-                                        session.getId(), finalRoomId, e.getMessage(), e);
-                            }
-                            
-                            // SSE 연결 종료
-                            forceCompleted.set(true);
-                            sseConnectionService.completeConnection(connectionId, emitter, forceCompleted);
-                            
-                            // 연결 추적 정리
-                            cleanupConnection(connectionId);
-                            
-                            return; // 루프 종료
-                        }
+                        // 연결 추적 정리
+                        cleanupConnection(connectionId);
                     }
                     
                 } catch (Exception e) {
@@ -142,10 +165,10 @@ public class ChatStreamOrchestrationService {
                         cleanupConnection(connectionId);
                     }
                 }
-            });
+            }, blockingIoExecutor);
             
             // 연결 추적 설정
-            setupConnectionTracking(connectionId, emitter, cancelled);
+            setupConnectionTracking(connectionId, emitter, cancelled, null);
             
         } catch (Exception e) {
             log.error("스트림 채팅 초기화 실패: connectionId={}, error={}", connectionId, e.getMessage(), e);
@@ -161,6 +184,70 @@ public class ChatStreamOrchestrationService {
         return emitter;
     }
     
+    /**
+     * 전문가별 순차 처리 (chat.stream.parallel-experts=false)
+     * 스트림은 한 명씩 진행하되, 전문가 N의 상품 검색은 전문가 N+1 스트림과 겹쳐서 실행
+     */
+    private void runExpertsSequentially(List<String> expertList, Map<String, Boolean> expertCompleted,
+                                        Map<String, ExpertStreamService.ExpertProcessResult> results, String userInput, String userProfile, String roomId, String sessionId,
+                                        SseEmitter emitter, AtomicBoolean cancelled) {
+        List<CompletableFuture<Void>> experts = new ArrayList<>();
+        for (String curExpert : expertList) {
+            if (cancelled.get()) break;
+            experts.add(runExpert(curExpert, expertCompleted, results, userInput, userProfile, roomId, sessionId, emitter, cancelled));
+        }
+        
+        // 마지막 상품 검색까지 끝날 때까지 대기
+        CompletableFuture.allOf(experts.toArray(CompletableFuture[]::new)).join();
+    }
+    
+    /**
+     * 전문가 병렬 처리 (chat.stream.parallel-experts=true) - 모든 전문가 스트림을 동시에 시작하고 하나의 SSE 연결로 다중화
+     * content/complete 이벤트에는 agent_id가 포함되므로 클라이언트가 전문가별로 구분할 수 있음
+     * 전체 소요 시간은 가장 느린 전문가 한 명 수준
+     */
+    private void runExpertsInParallel(List<String> expertList, Map<String, Boolean> expertCompleted,
+                                      Map<String, ExpertStreamService.ExpertProcessResult> results, String userInput, String userProfile, String roomId, String sessionId,
+                                      SseEmitter emitter, AtomicBoolean cancelled) {
+        List<CompletableFuture<Void>> experts = new ArrayList<>();
+        for (String curExpert : expertList) {
+            CompletableFuture<CompletableFuture<Void>> started = CompletableFuture.supplyAsync(
+                    () -> runExpert(curExpert, expertCompleted, results, userInput, userProfile, roomId, sessionId, emitter, cancelled),
+                    blockingIoExecutor);
+            experts.add(started.thenCompose(expert -> expert));
+        }
+        
+        // 모든 전문가가 끝날 때까지 대기 (blocking I/O 실행기 스레드)
+        CompletableFuture.allOf(experts.toArray(CompletableFuture[]::new)).join();
+    }
+    
+    /**
+     * 전문가 한 명 처리 - 스트림이 끝나면 바로 반환하고, 상품 검색이 끝나는 대로 완료 이벤트 전송
+     * 처리 결과는 results에 모아 두고 캐시 저장은 호출 측이 전문가 순서대로 수행
+     * @return 완료 이벤트까지 전송되면 완료되는 future
+     */
+    private CompletableFuture<Void> runExpert(String curExpert, Map<String, Boolean> expertCompleted,
+                                              Map<String, ExpertStreamService.ExpertProcessResult> results, String userInput, String userProfile, String roomId, String sessionId,
+                                              SseEmitter emitter, AtomicBoolean cancelled) {
+        log.info("👨‍💼 전문가 처리 시작: expert={}, roomId={}", curExpert, roomId);
+        
+        // 전문가 처리 (상품 검색은 비동기)
+        return expertStreamService.processExpertAsync(
+                curExpert, userInput, userProfile, roomId, sessionId, emitter, cancelled
+        ).thenAccept(result -> {
+            results.put(curExpert, result);
+            if (cancelled.get()) return;
+            
+            // 전문가 완료 상태 업데이트
+            expertStreamService.markExpertCompleted(expertCompleted, curExpert);
+            
+            // 완료 이벤트 전송
+            expertStreamService.sendExpertCompleteEvent(
+                    emitter, result.getMessage(), curExpert, result.getProducts()
+            );
+        });
+    }
+    
     /**
      * 새로운 LLM 서버로 스트림 채팅 처리 (새로운 로직)
      * @param userInput 사용자 입력
@@ -184,6 +271,7 @@ public class ChatStreamOrchestrationService {
         
         // 최종 방 ID 결정
         String finalRoomId = roomId;
+        String sessionId = session.getId();
         
         log.info("🚀 새로운 LLM 스트림 채팅 처리 시작: connectionId={}, roomId={}, finalRoomId={}", 
                 connectionId, roomId, finalRoomId);
@@ -192,76 +280,146 @@ public class ChatStreamOrchestrationService {
             // SSE 연결 초기화 (신규 방 생성 여부를 전달)
             sseConnectionService.initializeConnection(connectionId, emitter, isNewRoom ? null : roomId, finalRoomId);
             
-            // 비동기 스트림 처리 시작
-            CompletableFuture.runAsync(() -> {
-                try {
+            if (reactiveStreamEnabled) {
+                // 논블로킹 스트림 처리 시작 (진행 중 스레드 점유 없음)
+                Disposable subscription = startReactiveNewStream(connectionId, emitter, userInput, userProfile, 
+                        finalRoomId, sessionId, cancelled, forceCompleted);
+                
+                // 연결 추적 설정 (연결 종료 시 업스트림 구독 취소)
+                setupConnectionTracking(connectionId, emitter, cancelled, subscription);
+            } else {
+                // 비동기 스트림 처리 시작 (스트림 종료까지 blocking I/O 실행기 스레드 점유)
+                CompletableFuture.runAsync(() -> runBlockingNewStream(connectionId, emitter, userInput, userProfile, 
+                        finalRoomId, sessionId, cancelled, forceCompleted), blockingIoExecutor);
+                
+                // 연결 추적 설정
+                setupConnectionTracking(connectionId, emitter, cancelled, null);
+            }
+            
+        } catch (Exception e) {
+            log.error("새로운 LLM 스트림 채팅 초기화 실패: connectionId={}, error={}", connectionId, e.getMessage(), e);
+            
+            try {
+                sseConnectionService.sendErrorEvent(emitter, "새로운 LLM 스트림 초기화 실패: " + e.getMessage(), null);
+                sseConnectionService.completeConnection(connectionId, emitter, forceCompleted);
+            } catch (Exception cleanupError) {
+                log.error("에러 발생 시 정리 작업 실패: connectionId={}, error={}", connectionId, cleanupError.getMessage());
+            }
+        }
+        
+        return emitter;
+    }
+    
+    /**
+     * 새로운 LLM 스트림 논블로킹 처리
+     * - 사용자 메시지 캐시 저장 후 LLM 스트림을 구독하고, 청크는 도착하는 대로 SSE로 전달
+     * - 스트림 완료 시 final_complete 전송, 배치 저장, 연결 종료를 콜백에서 수행
+     * @return 업스트림 구독 핸들 (연결 종료 시 dispose)
+     */
+    private Disposable startReactiveNewStream(String connectionId, SseEmitter emitter, String userInput, String userProfile,
+                                              String finalRoomId, String sessionId,
+                                              AtomicBoolean cancelled, AtomicBoolean forceCompleted) {
+        return Mono.fromRunnable(() -> {
                     // 메모리 사용량 측정 시작
                     streamMetricsService.recordMemoryUsage(connectionId);
                     
                     // 사용자 메시지를 캐시에 임시 저장 (배치 저장을 위해)
-                    messageStorageService.saveUserMessageToCache(session.getId(), userInput, finalRoomId);
-                    
-                    log.info("👨‍💼 새로운 LLM 전문가 처리 시작: roomId={}", finalRoomId);
-                    
-                    // 새로운 LLM 서비스로 처리 (전문가별 순차 처리)
-                    ExpertStreamService.ExpertProcessResult result = expertStreamService.processNewLlmStream(
-                            userInput, userProfile, finalRoomId, session.getId(), emitter, cancelled
-                    );
-                    
-                    if (cancelled.get()) return;
-                    
-                    log.info("🎉 새로운 LLM 응답 완료 - SSE 연결 종료: roomId={}", finalRoomId);
-                    
-                    // 최종 완료 이벤트 전송 (전문가 수만큼)
-                    sseConnectionService.sendFinalCompleteEvent(emitter, 3); // style_analyst, color_expert, fitting_coordinator
-                    
-                    // 캐시된 모든 메시지를 한 번에 DB에 저장 (통합 배치 저장)
-                    try {
-                        messageStorageService.saveAllMessagesFromCache(session.getId(), finalRoomId);
-                        log.info("✅ 통합 배치 저장 완료: sessionId={}, roomId={}", session.getId(), finalRoomId);
-                    } catch (Exception e) {
-                        log.error("❌ 통합 배치 저장 실패: sessionId={}, roomId={}, error={}", 
-                                session.getId(), finalRoomId, e.getMessage(), e);
-                    }
-                    
-                    // SSE 연결 종료
-                    forceCompleted.set(true);
-                    sseConnectionService.completeConnection(connectionId, emitter, forceCompleted);
-                    
-                    // 연결 추적 정리
-                    cleanupConnection(connectionId);
+                    messageStorageService.saveUserMessageToCache(sessionId, userInput, finalRoomId);
                     
-                } catch (Exception e) {
-                    log.error("새로운 LLM 스트림 처리 중 오류 발생: connectionId={}, error={}", connectionId, e.getMessage(), e);
-                    
-                    if (!cancelled.get()) {
-                        sseConnectionService.sendErrorEvent(emitter, "새로운 LLM 스트림 처리 오류: " + e.getMessage(), null);
-                    }
-                } finally {
-                    // 최종 정리
+                    log.info("👨‍💼 새로운 LLM 전문가 처리 시작 (논블로킹): roomId={}", finalRoomId);
+                })
+                .subscribeOn(blockingIoScheduler)
+                .then(expertStreamService.streamNewLlm(userInput, userProfile, finalRoomId, sessionId, emitter, cancelled))
+                // 완료 후 DB 배치 저장은 블로킹이므로 blocking I/O 실행기에서 수행
+                .publishOn(blockingIoScheduler)
+                .doFinally(signal -> {
+                    // 최종 정리 (정상 완료, 오류, 취소 모두 포함)
                     if (!forceCompleted.get()) {
                         forceCompleted.set(true);
                         sseConnectionService.completeConnection(connectionId, emitter, forceCompleted);
                         cleanupConnection(connectionId);
                     }
-                }
-            });
+                })
+                .subscribe(
+                        result -> {
+                            if (cancelled.get()) return;
+                            finishNewStream(connectionId, emitter, sessionId, finalRoomId, forceCompleted);
+                        },
+                        error -> {
+                            log.error("새로운 LLM 스트림 처리 중 오류 발생: connectionId={}, error={}", connectionId, error.getMessage(), error);
+                            
+                            if (!cancelled.get()) {
+                                sseConnectionService.sendErrorEvent(emitter, "새로운 LLM 스트림 처리 오류: " + error.getMessage(), null);
+                            }
+                        }
+                );
+    }
+    
+    /**
+     * 새로운 LLM 스트림 블로킹 처리 (chat.stream.reactive-enabled=false)
+     */
+    private void runBlockingNewStream(String connectionId, SseEmitter emitter, String userInput, String userProfile,
+                                      String finalRoomId, String sessionId,
+                                      AtomicBoolean cancelled, AtomicBoolean forceCompleted) {
+        try {
+            // 메모리 사용량 측정 시작
+            streamMetricsService.recordMemoryUsage(connectionId);
             
-            // 연결 추적 설정
-            setupConnectionTracking(connectionId, emitter, cancelled);
+            // 사용자 메시지를 캐시에 임시 저장 (배치 저장을 위해)
+            messageStorageService.saveUserMessageToCache(sessionId, userInput, finalRoomId);
+            
+            log.info("👨‍💼 새로운 LLM 전문가 처리 시작: roomId={}", finalRoomId);
+            
+            // 새로운 LLM 서비스로 처리 (전문가별 순차 처리)
+            expertStreamService.processNewLlmStream(
+                    userInput, userProfile, finalRoomId, sessionId, emitter, cancelled
+            );
+            
+            if (cancelled.get()) return;
+            
+            finishNewStream(connectionId, emitter, sessionId, finalRoomId, forceCompleted);
             
         } catch (Exception e) {
-            log.error("새로운 LLM 스트림 채팅 초기화 실패: connectionId={}, error={}", connectionId, e.getMessage(), e);
+            log.error("새로운 LLM 스트림 처리 중 오류 발생: connectionId={}, error={}", connectionId, e.getMessage(), e);
             
-            try {
-                sseConnectionService.sendErrorEvent(emitter, "새로운 LLM 스트림 초기화 실패: " + e.getMessage(), null);
+            if (!cancelled.get()) {
+                sseConnectionService.sendErrorEvent(emitter, "새로운 LLM 스트림 처리 오류: " + e.getMessage(), null);
+            }
+        } finally {
+            // 최종 정리
+            if (!forceCompleted.get()) {
+                forceCompleted.set(true);
                 sseConnectionService.completeConnection(connectionId, emitter, forceCompleted);
-            } catch (Exception cleanupError) {
-                log.error("에러 발생 시 정리 작업 실패: connectionId={}, error={}", connectionId, cleanupError.getMessage());
+                cleanupConnection(connectionId);
             }
         }
+    }
+    
+    /**
+     * 새로운 LLM 응답 완료 처리 - final_complete 전송, 통합 배치 저장 요청, SSE 연결 종료
+     */
+    private void finishNewStream(String connectionId, SseEmitter emitter, String sessionId, String finalRoomId,
+                                 AtomicBoolean forceCompleted) {
+        log.info("🎉 새로운 LLM 응답 완료 - SSE 연결 종료: roomId={}", finalRoomId);
         
-        return emitter;
+        // 최종 완료 이벤트 전송 (전문가 수만큼)
+        sseConnectionService.sendFinalCompleteEvent(emitter, 3); // style_analyst, color_expert, fitting_coordinator
+        
+        // 캐시된 모든 메시지를 write-behind 큐에 넘김 (DB 저장은 비동기)
+        try {
+            messageStorageService.submitMessagesFromCache(sessionId, finalRoomId);
+            log.info("✅ 통합 배치 저장 요청 완료: sessionId={}, roomId={}", sessionId, finalRoomId);
+        } catch (Exception e) {
+            log.error("❌ 통합 배치 저장 실패: sessionId={}, roomId={}, error={}", 
+                    sessionId, finalRoomId, e.getMessage(), e);
+        }
+        
+        // SSE 연결 종료
+        forceCompleted.set(true);
+        sseConnectionService.completeConnection(connectionId, emitter, forceCompleted);
+        
+        // 연결 추적 정리
+        cleanupConnection(connectionId);
     }
     
     /**
@@ -280,10 +438,29 @@ public class ChatStreamOrchestrationService {
     
     /**
      * 연결 추적 설정
+     * 클라이언트 연결 종료/타임아웃/오류 시 처리 중단 플래그를 세우고, 진행 중인 업스트림 구독을 취소
      */
-    private void setupConnectionTracking(String connectionId, SseEmitter emitter, AtomicBoolean cancelled) {
+    private void setupConnectionTracking(String connectionId, SseEmitter emitter, AtomicBoolean cancelled,
+                                         Disposable subscription) {
         try {
-            // SSE 추적 훅 설정 (현재는 기본 설정만)
+            Runnable cancelProcessing = () -> {
+                cancelled.set(true);
+                if (subscription != null && !subscription.isDisposed()) {
+                    subscription.dispose();
+                    log.info("업스트림 스트림 구독 취소: connectionId={}", connectionId);
+                }
+            };
+            
+            emitter.onCompletion(cancelProcessing);
+            emitter.onTimeout(() -> {
+                log.warn("SSE 연결 타임아웃: connectionId={}", connectionId);
+                cancelProcessing.run();
+            });
+            emitter.onError(e -> {
+                log.warn("SSE 연결 오류: connectionId={}, error={}", connectionId, e.getMessage());
+                cancelProcessing.run();
+            });
+            
             log.info("연결 추적 설정 완료: connectionId={}", connectionId);
             
         } catch (Exception e) {
@@ -0,0 +1,398 @@
+package com.thefirsttake.app.chat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thefirsttake.app.chat.dto.PendingChatTurn;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 채팅 턴 write-behind 저장 서비스
+ * - 스트림 스레드는 완료된 턴을 큐에 넣기만 하고 즉시 반환 (Hikari 커넥션을 SSE 수명 동안 잡지 않음)
+ * - 전용 워커 스레드 1개가 큐를 비우며 여러 턴을 한 트랜잭션, 다중 행 INSERT로 저장
+ * - 메모리 버퍼가 가득 차면 Redis 목록으로 스필, Redis도 실패하면 호출 스레드에서 직접 저장 (백프레셔)
+ * - 저장 실패한 턴은 Redis 재시도 집합(chat_persistence:retry, score=다음 시도 시각)에 넣고 지수 백오프로 재시도
+ *   (DB 장애가 길어져도 턴을 잃지 않도록 횟수 제한 없음, 제약 조건 위반 등 다시 시도해도 실패할 오류만 폐기)
+ */
+@Service
+@Slf4j
+public class ChatTurnWriteBehindService {
+
+    public static final String SPILL_KEY = "chat_persistence:spill";
+    public static final String RETRY_KEY = "chat_persistence:retry";
+
+    private final ChatMessageService chatMessageService;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long retryInitialBackoffMs;
+    private final long retryMaxBackoffMs;
+
+    private final BlockingQueue<PendingChatTurn> buffer;
+    private final ExecutorService worker;
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    // 재시작 전에 스필된 턴이 있을 수 있으므로 처음에는 Redis를 확인
+    private final AtomicBoolean spillPending = new AtomicBoolean(true);
+    // 재시도 집합 조회 시각 (워커 스레드 전용)
+    private long nextRetryPollAt;
+
+    private final Timer flushSuccessTimer;
+    private final Timer flushFailureTimer;
+    private final DistributionSummary flushBatchSize;
+    private final Counter spilledCounter;
+    private final Counter droppedCounter;
+    private final Counter retryScheduledCounter;
+    private final Counter inlineFlushCounter;
+
+    public ChatTurnWriteBehindService(ChatMessageService chatMessageService,
+                                      @Qualifier("redisTemplate") RedisTemplate<String, String> redisTemplate,
+                                      ObjectMapper objectMapper,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${chat.persistence.write-behind.enabled:true}") boolean enabled,
+                                      @Value("${chat.persistence.write-behind.buffer-capacity:1000}") int bufferCapacity,
+                                      @Value("${chat.persistence.write-behind.batch-size:50}") int batchSize,
+                                      @Value("${chat.persistence.write-behind.flush-interval-ms:200}") long flushIntervalMs,
+                                      @Value("${chat.persistence.write-behind.retry-initial-backoff-ms:1000}") long retryInitialBackoffMs,
+                                      @Value("${chat.persistence.write-behind.retry-max-backoff-ms:300000}") long retryMaxBackoffMs) {
+        this.chatMessageService = chatMessageService;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.retryInitialBackoffMs = retryInitialBackoffMs;
+        this.retryMaxBackoffMs = retryMaxBackoffMs;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+
+        Gauge.builder("chat_persistence_queue_depth", buffer, BlockingQueue::size)
+                .description("Number of chat turns waiting in the in-memory write-behind buffer")
+                .register(meterRegistry);
+        this.flushSuccessTimer = Timer.builder("chat_persistence_flush_duration")
+                .description("Latency of write-behind chat turn flushes to the database")
+                .tag("result", "success")
+                .register(meterRegistry);
+        this.flushFailureTimer = Timer.builder("chat_persistence_flush_duration")
+                .description("Latency of write-behind chat turn flushes to the database")
+                .tag("result", "failure")
+                .register(meterRegistry);
+        this.flushBatchSize = DistributionSummary.builder("chat_persistence_flush_batch_size")
+                .description("Number of chat turns per write-behind flush")
+                .baseUnit("turns")
+                .register(meterRegistry);
+        this.spilledCounter = Counter.builder("chat_persistence_spilled_total")
+                .description("Chat turns spilled to Redis because the in-memory buffer was full")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("chat_persistence_dropped_total")
+                .description("Chat turns dropped because of a non-retryable error")
+                .register(meterRegistry);
+        this.retryScheduledCounter = Counter.builder("chat_persistence_retry_scheduled_total")
+                .description("Failed chat turn saves scheduled for a delayed retry")
+                .register(meterRegistry);
+        this.inlineFlushCounter = Counter.builder("chat_persistence_inline_flush_total")
+                .description("Chat turns saved on the caller thread because buffer and Redis spill were unavailable")
+                .register(meterRegistry);
+
+        this.worker = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("chat-write-behind").daemon(true).factory());
+        if (enabled) {
+            worker.execute(this::runWorker);
+        }
+
+        log.info("채팅 write-behind 초기화: enabled={}, bufferCapacity={}, batchSize={}, flushIntervalMs={}",
+                enabled, bufferCapacity, batchSize, flushIntervalMs);
+    }
+
+    /**
+     * 완료된 턴을 저장 대기열에 등록 (비활성화 시 즉시 저장)
+     */
+    public void submit(PendingChatTurn turn) {
+        if (turn.getEnqueuedAt() == 0) {
+            turn.setEnqueuedAt(System.currentTimeMillis());
+        }
+
+        if (!enabled || !running.get()) {
+            flushInline(turn);
+            return;
+        }
+
+        if (buffer.offer(turn)) {
+            return;
+        }
+
+        // 메모리 버퍼 포화 → Redis 스필
+        log.warn("write-behind 버퍼 포화, Redis로 스필: roomId={}, queueDepth={}", turn.getRoomId(), buffer.size());
+        if (!spill(turn)) {
+            flushInline(turn);
+        }
+    }
+
+    /**
+     * 워커 루프 - 버퍼 → (여유가 있으면) Redis 스필 → 재시도 시각이 된 턴 순서로 배치를 채워 저장
+     */
+    private void runWorker() {
+        while (running.get() || !buffer.isEmpty()) {
+            try {
+                List<PendingChatTurn> batch = new ArrayList<>(batchSize);
+                PendingChatTurn first = buffer.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    buffer.drainTo(batch, batchSize - 1);
+                }
+                if (batch.size() < batchSize && spillPending.get() && running.get()) {
+                    batch.addAll(popSpilled(batchSize - batch.size()));
+                }
+                if (batch.size() < batchSize && running.get() && System.currentTimeMillis() >= nextRetryPollAt) {
+                    batch.addAll(popDueRetries(batchSize - batch.size()));
+                }
+                if (!batch.isEmpty() && !flush(batch)) {
+                    // DB 장애 시 재시도 폭주를 막기 위해 잠시 대기
+                    Thread.sleep(flushIntervalMs * 5);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("write-behind 워커 오류: error={}", e.getMessage(), e);
+            }
+        }
+        log.info("채팅 write-behind 워커 종료: remaining={}", buffer.size());
+    }
+
+    /**
+     * 배치 저장 - 데이터 오류로 실패하면 턴 단위로 다시 저장해 문제 턴만 골라냄
+     * (DB 장애 등 일시적 오류면 턴마다 다시 시도하지 않고 배치 전체를 재시도 예약)
+     * @return 배치 전체 성공 여부
+     */
+    private boolean flush(List<PendingChatTurn> batch) {
+        Timer.Sample sample = Timer.start();
+        try {
+            chatMessageService.saveTurns(batch);
+            sample.stop(flushSuccessTimer);
+            flushBatchSize.record(batch.size());
+            log.debug("write-behind 저장 완료: turns={}", batch.size());
+            return true;
+        } catch (Exception e) {
+            sample.stop(flushFailureTimer);
+            log.error("write-behind 배치 저장 실패: turns={}, error={}", batch.size(), e.getMessage(), e);
+
+            if (batch.size() > 1 && !isRetryable(e)) {
+                for (PendingChatTurn turn : batch) {
+                    Exception error = saveSingle(turn);
+                    if (error != null) {
+                        retryOrDrop(turn, error);
+                    }
+                }
+            } else {
+                for (PendingChatTurn turn : batch) {
+                    retryOrDrop(turn, e);
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * @return 실패 원인 (성공하면 null)
+     */
+    private Exception saveSingle(PendingChatTurn turn) {
+        try {
+            chatMessageService.saveTurns(List.of(turn));
+            return null;
+        } catch (Exception e) {
+            log.warn("write-behind 턴 저장 실패: roomId={}, error={}", turn.getRoomId(), e.getMessage());
+            return e;
+        }
+    }
+
+    /**
+     * 다시 시도해도 실패할 오류면 폐기, 아니면 지수 백오프 후 재시도 예약
+     */
+    private void retryOrDrop(PendingChatTurn turn, Exception error) {
+        if (!isRetryable(error)) {
+            drop(turn, "non_retryable: " + error.getMessage());
+            return;
+        }
+
+        turn.setRetryCount(turn.getRetryCount() + 1);
+        long retryAt = System.currentTimeMillis() + backoffMs(turn.getRetryCount());
+        try {
+            redisTemplate.opsForZSet().add(RETRY_KEY, objectMapper.writeValueAsString(turn), retryAt);
+            retryScheduledCounter.increment();
+            log.warn("write-behind 턴 재시도 예약: roomId={}, retryCount={}, retryInMs={}",
+                    turn.getRoomId(), turn.getRetryCount(), retryAt - System.currentTimeMillis());
+        } catch (Exception e) {
+            // Redis도 사용할 수 없으면 메모리 버퍼로 되돌려 다음 배치에서 재시도
+            log.error("write-behind 재시도 예약 실패: roomId={}, error={}", turn.getRoomId(), e.getMessage());
+            if (!buffer.offer(turn)) {
+                drop(turn, "retry_unavailable");
+            }
+        }
+    }
+
+    private long backoffMs(int retryCount) {
+        int exponent = Math.min(retryCount - 1, 20);
+        return Math.min(retryMaxBackoffMs, retryInitialBackoffMs << exponent);
+    }
+
+    /**
+     * 제약 조건 위반/잘못된 데이터 등 같은 턴으로 다시 저장해도 성공할 수 없는 오류인지 판단
+     */
+    private static boolean isRetryable(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataIntegrityViolationException) {
+                return false;
+            }
+            // SQLSTATE 22xxx: 데이터 오류, 23xxx: 무결성 제약 조건 위반
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null
+                    && (sqlException.getSQLState().startsWith("22") || sqlException.getSQLState().startsWith("23"))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void drop(PendingChatTurn turn, String reason) {
+        droppedCounter.increment();
+        log.error("write-behind 턴 폐기: sessionId={}, roomId={}, retryCount={}, reason={}",
+                turn.getSessionId(), turn.getRoomId(), turn.getRetryCount(), reason);
+    }
+
+    /**
+     * 호출 스레드에서 직접 저장 (버퍼/스필 모두 사용할 수 없을 때)
+     */
+    private void flushInline(PendingChatTurn turn) {
+        inlineFlushCounter.increment();
+        Timer.Sample sample = Timer.start();
+        try {
+            chatMessageService.saveTurns(List.of(turn));
+            sample.stop(flushSuccessTimer);
+            flushBatchSize.record(1);
+        } catch (Exception e) {
+            sample.stop(flushFailureTimer);
+            log.error("턴 직접 저장 실패: sessionId={}, roomId={}, error={}",
+                    turn.getSessionId(), turn.getRoomId(), e.getMessage(), e);
+            throw new RuntimeException("채팅 턴 저장 실패", e);
+        }
+    }
+
+    /**
+     * Redis 목록에 턴 저장 (LPUSH, 워커는 RPOP으로 FIFO 소비)
+     * @return 스필 성공 여부
+     */
+    private boolean spill(PendingChatTurn turn) {
+        try {
+            redisTemplate.opsForList().leftPush(SPILL_KEY, objectMapper.writeValueAsString(turn));
+            spillPending.set(true);
+            spilledCounter.increment();
+            return true;
+        } catch (Exception e) {
+            log.error("write-behind Redis 스필 실패: roomId={}, error={}", turn.getRoomId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private List<PendingChatTurn> popSpilled(int count) {
+        List<PendingChatTurn> turns = new ArrayList<>();
+        try {
+            List<String> values = redisTemplate.opsForList().rightPop(SPILL_KEY, count);
+            if (values == null || values.size() < count) {
+                spillPending.set(false);
+            }
+            if (values == null) {
+                return turns;
+            }
+            for (String value : values) {
+                try {
+                    turns.add(objectMapper.readValue(value, PendingChatTurn.class));
+                } catch (Exception e) {
+                    droppedCounter.increment();
+                    log.error("스필된 턴 역직렬화 실패, 폐기: error={}", e.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("스필된 턴 조회 실패: error={}", e.getMessage());
+        }
+        return turns;
+    }
+
+    /**
+     * 재시도 시각이 된 턴 조회 - ZREM에 성공한 노드만 가져가므로 여러 노드가 동시에 조회해도 한 번만 처리
+     * 가져갈 턴이 없으면 retry-initial-backoff-ms 동안 조회를 미룸
+     */
+    private List<PendingChatTurn> popDueRetries(int count) {
+        List<PendingChatTurn> turns = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        try {
+            Set<String> values = redisTemplate.opsForZSet().rangeByScore(RETRY_KEY, 0, now, 0, count);
+            if (values == null || values.isEmpty()) {
+                nextRetryPollAt = now + retryInitialBackoffMs;
+                return turns;
+            }
+            for (String value : values) {
+                Long removed = redisTemplate.opsForZSet().remove(RETRY_KEY, value);
+                if (removed == null || removed == 0) {
+                    continue;
+                }
+                try {
+                    turns.add(objectMapper.readValue(value, PendingChatTurn.class));
+                } catch (Exception e) {
+                    droppedCounter.increment();
+                    log.error("재시도 대기 턴 역직렬화 실패, 폐기: error={}", e.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            nextRetryPollAt = now + retryInitialBackoffMs;
+            log.warn("재시도 대기 턴 조회 실패: error={}", e.getMessage());
+        }
+        return turns;
+    }
+
+    /**
+     * 종료 시 워커가 남은 버퍼를 모두 저장할 때까지 대기
+     */
+    @PreDestroy
+    public void shutdown() {
+        running.set(false);
+        worker.shutdown();
+        try {
+            if (!worker.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("write-behind 워커 종료 대기 시간 초과: remaining={}", buffer.size());
+                worker.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            worker.shutdownNow();
+        }
+
+        // 저장하지 못한 턴은 Redis에 남겨 다음 기동 시 처리
+        PendingChatTurn turn;
+        while ((turn = buffer.poll()) != null) {
+            if (!spill(turn)) {
+                droppedCounter.increment();
+            }
+        }
+    }
+}
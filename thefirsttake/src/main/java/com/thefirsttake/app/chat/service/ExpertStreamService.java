@@ -9,12 +9,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -34,27 +37,30 @@ public class ExpertStreamService {
     private String llmExpertStreamUrl;
     
     private final RestTemplate restTemplate;
-    private final WebClient.Builder webClientBuilder;
+    private final WebClient expertStreamWebClient;
     private final SSEConnectionService sseConnectionService;
     private final StreamMetricsService streamMetricsService;
     private final ProductSearchStreamService productSearchStreamService;
     private final MessageStorageService messageStorageService;
     private final NewLLMStreamService newLLMStreamService;
+    private final ExecutorService blockingIoExecutor;
     
     public ExpertStreamService(RestTemplate restTemplate,
-                              WebClient.Builder webClientBuilder,
+                              @Qualifier("expertStreamWebClient") WebClient expertStreamWebClient,
                               SSEConnectionService sseConnectionService,
                               StreamMetricsService streamMetricsService,
                               ProductSearchStreamService productSearchStreamService,
                               MessageStorageService messageStorageService,
-                              NewLLMStreamService newLLMStreamService) {
+                              NewLLMStreamService newLLMStreamService,
+                              @Qualifier("blockingIoExecutor") ExecutorService blockingIoExecutor) {
         this.restTemplate = restTemplate;
-        this.webClientBuilder = webClientBuilder;
+        this.expertStreamWebClient = expertStreamWebClient;
         this.sseConnectionService = sseConnectionService;
         this.streamMetricsService = streamMetricsService;
         this.productSearchStreamService = productSearchStreamService;
         this.messageStorageService = messageStorageService;
         this.newLLMStreamService = newLLMStreamService;
+        this.blockingIoExecutor = blockingIoExecutor;
     }
     
     /**
@@ -83,7 +89,7 @@ public class ExpertStreamService {
     }
     
     /**
-     * 단일 전문가 처리
+     * 단일 전문가 처리 (상품 검색까지 끝난 뒤 반환)
      * @param expertType 전문가 타입
      * @param userInput 사용자 입력
      * @param userProfile 사용자 프로필
@@ -96,9 +102,25 @@ public class ExpertStreamService {
     public ExpertProcessResult processExpert(String expertType, String userInput, String userProfile, 
                                            String roomId, String sessionId, SseEmitter emitter, 
                                            AtomicBoolean cancelled) {
+        ExpertProcessResult result = processExpertAsync(expertType, userInput, userProfile, roomId, sessionId, emitter, cancelled).join();
+        saveResultToCache(expertType, result, roomId, sessionId);
+        return result;
+    }
+    
+    /**
+     * 단일 전문가 처리 (상품 검색 비동기)
+     * - LLM 스트림이 끝날 때까지는 호출 스레드에서 처리
+     * - 상품 검색/캐싱은 blocking I/O 실행기에서 수행하고 바로 반환하므로
+     *   호출 측은 다음 전문가 스트림을 곧바로 시작할 수 있음
+     * - 응답 캐시 저장은 하지 않음: 상품 검색 완료 순서가 전문가 순서와 다를 수 있으므로
+     *   호출 측이 모든 결과를 모은 뒤 전문가 순서대로 saveResultToCache 호출
+     * @return 상품 검색까지 끝나면 완료되는 처리 결과
+     */
+    public CompletableFuture<ExpertProcessResult> processExpertAsync(String expertType, String userInput, String userProfile,
+                                                                   String roomId, String sessionId, SseEmitter emitter,
+                                                                   AtomicBoolean cancelled) {
         
         StringBuilder finalText = new StringBuilder();
-        List<com.thefirsttake.app.chat.dto.response.ProductInfo> products = new ArrayList<>();
         
         try {
             // 전문가 처리 전 메모리 측정
@@ -108,30 +130,65 @@ public class ExpertStreamService {
             Map<String, Object> expertRequest = prepareExpertRequest(expertType, userInput, userProfile, roomId);
             
             if (cancelled.get()) {
-                return new ExpertProcessResult("", products, false);
+                return CompletableFuture.completedFuture(new ExpertProcessResult("", new ArrayList<>(), false));
             }
             
             // LLM API 진짜 스트림 호출
             processLlmStreamResponse(expertRequest, expertType, emitter, cancelled, finalText);
             
-            // 상품 검색 및 캐싱
+        } catch (Exception e) {
+            log.error("전문가 처리 중 오류: expertType={}, error={}", expertType, e.getMessage(), e);
             if (!cancelled.get()) {
-                products = productSearchStreamService.searchAndCacheProducts(finalText.toString());
-                
-                // AI 응답을 캐시에 임시 저장 (배치 저장을 위해)
-                if (!products.isEmpty()) {
-                    messageStorageService.saveAIResponseToCache(sessionId, expertType, finalText.toString(), products, roomId);
-                }
+                sseConnectionService.sendErrorEvent(emitter, "전문가 처리 오류: " + e.getMessage(), expertType);
             }
-            
+            return CompletableFuture.completedFuture(new ExpertProcessResult(finalText.toString(), new ArrayList<>(), true));
+        }
+        
+        String message = finalText.toString();
+        if (cancelled.get()) {
+            return CompletableFuture.completedFuture(new ExpertProcessResult(message, new ArrayList<>(), true));
+        }
+        
+        // 상품 검색 및 캐싱 (다음 전문가 스트림과 겹쳐서 실행)
+        try {
+            return CompletableFuture.supplyAsync(
+                    () -> searchExpertProducts(expertType, message, roomId, sessionId, emitter, cancelled),
+                    blockingIoExecutor);
         } catch (Exception e) {
-            log.error("전문가 처리 중 오류: expertType={}, error={}", expertType, e.getMessage(), e);
+            // 실행기 제출 실패 시 호출 스레드에서 처리
+            log.warn("상품 검색 비동기 제출 실패, 직접 처리: expertType={}, error={}", expertType, e.getMessage());
+            return CompletableFuture.completedFuture(
+                    searchExpertProducts(expertType, message, roomId, sessionId, emitter, cancelled));
+        }
+    }
+    
+    /**
+     * 전문가 응답으로 상품 검색/캐싱
+     */
+    private ExpertProcessResult searchExpertProducts(String expertType, String message, String roomId, String sessionId,
+                                                     SseEmitter emitter, AtomicBoolean cancelled) {
+        List<com.thefirsttake.app.chat.dto.response.ProductInfo> products = new ArrayList<>();
+        
+        try {
+            products = productSearchStreamService.searchAndCacheProducts(message);
+        } catch (Exception e) {
+            log.error("전문가 상품 검색 중 오류: expertType={}, error={}", expertType, e.getMessage(), e);
             if (!cancelled.get()) {
                 sseConnectionService.sendErrorEvent(emitter, "전문가 처리 오류: " + e.getMessage(), expertType);
             }
         }
         
-        return new ExpertProcessResult(finalText.toString(), products, true);
+        return new ExpertProcessResult(message, products, true);
+    }
+    
+    /**
+     * 전문가 처리 결과를 캐시에 임시 저장 (배치 저장을 위해, 상품이 있는 응답만)
+     */
+    public void saveResultToCache(String expertType, ExpertProcessResult result, String roomId, String sessionId) {
+        if (result == null || result.getProducts() == null || result.getProducts().isEmpty()) {
+            return;
+        }
+        messageStorageService.saveAIResponseToCache(sessionId, expertType, result.getMessage(), result.getProducts(), roomId);
     }
     
     /**
@@ -183,6 +240,17 @@ public class ExpertStreamService {
         return new ExpertProcessResult(finalText.toString(), products, false);
     }
     
+    /**
+     * 새로운 LLM 서버로 스트림 처리 (논블로킹)
+     * 스트림이 끝나면 누적 결과를 방출하며, 진행 중에는 호출 스레드를 점유하지 않음
+     */
+    public Mono<ExpertProcessResult> streamNewLlm(String userInput, String userProfile, 
+                                                 String roomId, String sessionId, SseEmitter emitter, 
+                                                 AtomicBoolean cancelled) {
+        return newLLMStreamService.streamNewLlm(userInput, userProfile, roomId, sessionId, emitter, cancelled)
+                .map(result -> new ExpertProcessResult(result.getMessage(), result.getProducts(), result.isSuccess()));
+    }
+    
     /**
      * LLM API 진짜 스트림 호출 및 처리 (기존 로직)
      */
@@ -192,8 +260,11 @@ public class ExpertStreamService {
             // LLM API 호출 메트릭 시작
             var timerSample = streamMetricsService.startLlmApiCall(expertType);
             
+            // content 이벤트 인코더 (전문가 정보는 한 번만 인코딩)
+            SseTokenEventEncoder tokenEncoder = new SseTokenEventEncoder(expertType, getAgentName(expertType));
+            
             // WebClient로 진짜 스트림 호출
-            webClientBuilder.build().post()
+            expertStreamWebClient.post()
                 .uri(llmExpertStreamUrl)
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(expertRequest)
@@ -219,7 +290,7 @@ public class ExpertStreamService {
                             log.info("Processing and sending content event: expertType={}, chunk={}", expertType, contentChunk);
                             
                             // 즉시 클라이언트로 전송 (딜레이 없음!)
-                            sseConnectionService.sendContentEvent(emitter, contentChunk, expertType, getAgentName(expertType));
+                            sseConnectionService.sendContentEvent(emitter, contentChunk, tokenEncoder);
                         }
                         
                     } catch (Exception e) {
@@ -0,0 +1,84 @@
+package com.thefirsttake.app.chat.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * LLM 스트림 청크 파서 (Jackson 스트리밍 API)
+ * - 청크 대부분을 차지하는 token 이벤트는 Map을 만들지 않고 type/content 문자열만 읽음
+ * - message 이벤트처럼 content가 객체인 경우에만 해당 객체를 Map으로 변환
+ * - 필요한 필드를 모두 읽으면 나머지는 파싱하지 않음
+ *
+ * 청크 형식 예:
+ * {"type":"token","content":"안녕"}
+ * {"type":"message","content":{"type":"ai","content":"...","additional_kwargs":{...}}}
+ */
+public final class LlmStreamChunkParser {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    private LlmStreamChunkParser() {
+    }
+
+    /**
+     * 파싱된 청크
+     * @param type 이벤트 타입 (token, status, message 등, 없으면 null)
+     * @param text content가 문자열(스칼라)인 경우의 값
+     * @param content content가 객체인 경우의 값 (message 이벤트)
+     */
+    public record LlmStreamChunk(String type, String text, Map<String, Object> content) {
+    }
+
+    /**
+     * 청크 JSON 파싱 ("data: " 접두사는 호출 측에서 제거)
+     */
+    public static LlmStreamChunk parse(String json) throws IOException {
+        try (JsonParser parser = OBJECT_MAPPER.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("JSON 객체가 아닌 청크: " + json);
+            }
+
+            String type = null;
+            String text = null;
+            Map<String, Object> content = null;
+            boolean contentSeen = false;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if ("type".equals(field)) {
+                    type = value == JsonToken.VALUE_NULL ? null : parser.getText();
+                } else if ("content".equals(field)) {
+                    contentSeen = true;
+                    if (value == JsonToken.START_OBJECT) {
+                        // type을 이미 알고 있고 message가 아니면 객체를 만들지 않음
+                        if (type == null || "message".equals(type)) {
+                            content = parser.readValueAs(MAP_TYPE);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    } else if (value == JsonToken.START_ARRAY) {
+                        parser.skipChildren();
+                    } else if (value != JsonToken.VALUE_NULL) {
+                        text = parser.getText();
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+
+                if (type != null && contentSeen) {
+                    break;
+                }
+            }
+
+            return new LlmStreamChunk(type, text, content);
+        }
+    }
+}
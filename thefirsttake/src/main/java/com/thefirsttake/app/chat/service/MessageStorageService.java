@@ -1,17 +1,27 @@
 package com.thefirsttake.app.chat.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.thefirsttake.app.chat.dto.PendingChatTurn;
 import com.thefirsttake.app.chat.dto.request.ChatMessageRequest;
 import com.thefirsttake.app.chat.dto.response.ChatAgentResponse;
 import com.thefirsttake.app.chat.entity.ChatRoom;
 import com.thefirsttake.app.common.user.entity.UserEntity;
 import com.thefirsttake.app.common.user.service.UserSessionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * 스트림 처리 중 메시지 저장을 담당하는 서비스
@@ -26,21 +36,48 @@ public class MessageStorageService {
     private final ChatMessageService chatMessageService;
     private final UserSessionService userSessionService;
     private final ChatRoomManagementService chatRoomManagementService;
+    private final ChatTurnWriteBehindService chatTurnWriteBehindService;
+    
+    // 진행 중인 턴 캐시 (sessionId:roomId → 사용자 메시지 + AI 응답)
+    // 스트림이 취소/실패해 정리되지 못한 턴은 만료 시 write-behind로 저장
+    private final Cache<String, CachedTurn> turnCache;
+    
+    private final Counter evictedTurnFlushedCounter;
+    private final Counter evictedTurnDroppedCounter;
     
     public MessageStorageService(ChatMessageService chatMessageService,
                                UserSessionService userSessionService,
-                               ChatRoomManagementService chatRoomManagementService) {
+                               ChatRoomManagementService chatRoomManagementService,
+                               ChatTurnWriteBehindService chatTurnWriteBehindService,
+                               MeterRegistry meterRegistry,
+                               @Value("${chat.message-cache.turn-max-size:10000}") long turnMaxSize,
+                               @Value("${chat.message-cache.turn-ttl-minutes:10}") long turnTtlMinutes) {
         this.chatMessageService = chatMessageService;
         this.userSessionService = userSessionService;
         this.chatRoomManagementService = chatRoomManagementService;
+        this.chatTurnWriteBehindService = chatTurnWriteBehindService;
+        
+        // 유휴 상태에서도 만료가 처리되도록 시스템 스케줄러 사용
+        this.turnCache = Caffeine.newBuilder()
+                .maximumSize(turnMaxSize)
+                .expireAfterAccess(Duration.ofMinutes(turnTtlMinutes))
+                .scheduler(Scheduler.systemScheduler())
+                .removalListener(this::onTurnRemoved)
+                .recordStats()
+                .build();
+        
+        // cache_size, cache_evictions_total 등
+        CaffeineCacheMetrics.monitor(meterRegistry, turnCache, "chat_turn_cache");
+        this.evictedTurnFlushedCounter = Counter.builder("chat_turn_cache_evicted_total")
+                .description("Unfinished chat turns evicted from the turn cache")
+                .tag("outcome", "flushed")
+                .register(meterRegistry);
+        this.evictedTurnDroppedCounter = Counter.builder("chat_turn_cache_evicted_total")
+                .description("Unfinished chat turns evicted from the turn cache")
+                .tag("outcome", "dropped")
+                .register(meterRegistry);
     }
     
-    // 캐시를 위한 Map (요청 단위로 사용)
-    private final Map<String, UserEntity> userEntityCache = new ConcurrentHashMap<>();
-    private final Map<String, ChatRoom> chatRoomCache = new ConcurrentHashMap<>();
-    private final Map<String, String> userMessageCache = new ConcurrentHashMap<>();
-    private final Map<String, List<ChatAgentResponse>> aiResponseCache = new ConcurrentHashMap<>();
-    
     /**
      * 사용자 메시지를 캐시에 임시 저장 (배치 저장을 위해)
      * @param sessionId 세션 ID
@@ -51,17 +88,19 @@ public class MessageStorageService {
         try {
             log.info("사용자 메시지 캐시 저장 시작: roomId={}, userInput='{}', sessionId='{}'", roomId, userInput, sessionId);
             
-            // 캐시에서 사용자 엔티티 조회 (없으면 생성 후 캐시에 저장)
-            userEntityCache.computeIfAbsent(sessionId, 
-                id -> userSessionService.getOrCreateGuestUser(id));
+            // 사용자 엔티티 조회 (UserSessionService 캐시, 없으면 생성)
+            UserEntity userEntity = userSessionService.getOrCreateGuestUser(sessionId);
             
-            // 캐시에서 채팅방 엔티티 조회 (없으면 조회 후 캐시에 저장)
-            chatRoomCache.computeIfAbsent(roomId,
-                id -> chatRoomManagementService.getRoomById(Long.valueOf(id)));
+            // 채팅방 엔티티 조회 (ChatRoomManagementService 캐시)
+            ChatRoom chatRoom = chatRoomManagementService.getRoomById(Long.valueOf(roomId));
             
             // 사용자 메시지를 캐시에 저장
-            String cacheKey = "user_message:" + sessionId + ":" + roomId;
-            userMessageCache.put(cacheKey, userInput);
+            String cacheKey = turnKey(sessionId, roomId);
+            turnCache.asMap().compute(cacheKey, (key, turn) -> {
+                CachedTurn target = turn != null ? turn : new CachedTurn(sessionId, userEntity.getId(), chatRoom.getId());
+                target.userMessage = userInput;
+                return target;
+            });
             
             log.info("사용자 메시지를 캐시에 저장했습니다. roomId={}, message='{}', cacheKey={}", roomId, userInput, cacheKey);
             
@@ -82,13 +121,11 @@ public class MessageStorageService {
         try {
             log.info("사용자 메시지 저장 시작: roomId={}, userInput='{}', sessionId='{}'", roomId, userInput, sessionId);
             
-            // 캐시에서 사용자 엔티티 조회 (없으면 생성 후 캐시에 저장)
-            UserEntity userEntity = userEntityCache.computeIfAbsent(sessionId, 
-                id -> userSessionService.getOrCreateGuestUser(id));
+            // 사용자 엔티티 조회 (UserSessionService 캐시, 없으면 생성)
+            UserEntity userEntity = userSessionService.getOrCreateGuestUser(sessionId);
             
-            // 캐시에서 채팅방 엔티티 조회 (없으면 조회 후 캐시에 저장)
-            ChatRoom chatRoom = chatRoomCache.computeIfAbsent(roomId,
-                id -> chatRoomManagementService.getRoomById(Long.valueOf(id)));
+            // 채팅방 엔티티 조회 (ChatRoomManagementService 캐시)
+            ChatRoom chatRoom = chatRoomManagementService.getRoomById(Long.valueOf(roomId));
             
             log.info("캐시된 엔티티 사용: userEntity={}, chatRoom={}", 
                     userEntity.getId(), chatRoom.getId());
@@ -121,13 +158,11 @@ public class MessageStorageService {
         try {
             log.info("AI 응답 캐시 저장 시작: agent={}, roomId={}", agentId, roomId);
             
-            // 캐시에서 사용자 엔티티 조회 (없으면 생성 후 캐시에 저장)
-            userEntityCache.computeIfAbsent(sessionId, 
-                id -> userSessionService.getOrCreateGuestUser(id));
+            // 사용자 엔티티 조회 (UserSessionService 캐시, 없으면 생성)
+            UserEntity userEntity = userSessionService.getOrCreateGuestUser(sessionId);
             
-            // 캐시에서 채팅방 엔티티 조회 (없으면 조회 후 캐시에 저장)
-            chatRoomCache.computeIfAbsent(roomId,
-                id -> chatRoomManagementService.getRoomById(Long.valueOf(id)));
+            // 채팅방 엔티티 조회 (ChatRoomManagementService 캐시)
+            ChatRoom chatRoom = chatRoomManagementService.getRoomById(Long.valueOf(roomId));
             
             // ChatAgentResponse 객체 생성
             ChatAgentResponse agentResponse = new ChatAgentResponse();
@@ -141,10 +176,14 @@ public class MessageStorageService {
             }
             
             // 캐시 키 생성
-            String cacheKey = "ai_response:" + sessionId + ":" + roomId;
+            String cacheKey = turnKey(sessionId, roomId);
             
-            // AI 응답을 캐시에 추가
-            aiResponseCache.computeIfAbsent(cacheKey, k -> new java.util.ArrayList<>()).add(agentResponse);
+            // AI 응답을 캐시에 추가 (compute로 갱신해 만료 시간도 연장)
+            turnCache.asMap().compute(cacheKey, (key, turn) -> {
+                CachedTurn target = turn != null ? turn : new CachedTurn(sessionId, userEntity.getId(), chatRoom.getId());
+                target.responses.add(agentResponse);
+                return target;
+            });
             
             log.info("AI 응답을 캐시에 저장했습니다. agent={}, roomId={}, cacheKey={}", agentId, roomId, cacheKey);
             
@@ -167,13 +206,11 @@ public class MessageStorageService {
         try {
             log.info("AI 응답 저장 시작: agent={}, roomId={}", agentId, roomId);
             
-            // 캐시에서 사용자 엔티티 조회 (없으면 생성 후 캐시에 저장)
-            UserEntity userEntity = userEntityCache.computeIfAbsent(sessionId, 
-                id -> userSessionService.getOrCreateGuestUser(id));
+            // 사용자 엔티티 조회 (UserSessionService 캐시, 없으면 생성)
+            UserEntity userEntity = userSessionService.getOrCreateGuestUser(sessionId);
             
-            // 캐시에서 채팅방 엔티티 조회 (없으면 조회 후 캐시에 저장)
-            ChatRoom chatRoom = chatRoomCache.computeIfAbsent(roomId,
-                id -> chatRoomManagementService.getRoomById(Long.valueOf(id)));
+            // 채팅방 엔티티 조회 (ChatRoomManagementService 캐시)
+            ChatRoom chatRoom = chatRoomManagementService.getRoomById(Long.valueOf(roomId));
             
             log.info("캐시된 엔티티 사용: userEntity={}, chatRoom={}", 
                     userEntity.getId(), chatRoom.getId());
@@ -236,42 +273,23 @@ public class MessageStorageService {
     @Transactional
     public void saveAllMessagesFromCache(String sessionId, String roomId) {
         try {
-            String cacheKey = "user_message:" + sessionId + ":" + roomId;
+            String cacheKey = turnKey(sessionId, roomId);
+            CachedTurn turn = turnCache.getIfPresent(cacheKey);
             
-            // 캐시에서 엔티티 조회
-            UserEntity userEntity = userEntityCache.get(sessionId);
-            ChatRoom chatRoom = chatRoomCache.get(roomId);
-            
-            if (userEntity == null || chatRoom == null) {
-                log.error("캐시된 엔티티가 없습니다. userEntity={}, chatRoom={}", userEntity, chatRoom);
+            if (turn == null || turn.isEmpty()) {
+                log.info("저장할 캐시된 메시지가 없습니다. sessionId={}, roomId={}", sessionId, roomId);
                 return;
             }
             
             log.info("통합 배치 저장 시작: sessionId={}, roomId={}", sessionId, roomId);
             
-            // 1. 사용자 메시지 저장
-            String userMessage = userMessageCache.get(cacheKey);
-            if (userMessage != null) {
-                ChatMessageRequest userMessageRequest = new ChatMessageRequest();
-                userMessageRequest.setContent(userMessage);
-                userMessageRequest.setImageUrl(null);
-                chatMessageService.saveUserMessage(userEntity, userMessageRequest, Long.valueOf(roomId));
-                log.info("사용자 메시지 저장 완료: message='{}'", userMessage);
-            }
-            
-            // 2. 모든 AI 응답 저장
-            String aiCacheKey = "ai_response:" + sessionId + ":" + roomId;
-            List<ChatAgentResponse> responses = aiResponseCache.get(aiCacheKey);
-            if (responses != null && !responses.isEmpty()) {
-                for (ChatAgentResponse response : responses) {
-                    chatMessageService.saveAIResponse(userEntity, chatRoom, response);
-                }
-                log.info("AI 응답 저장 완료: 응답 개수={}", responses.size());
-            }
+            // 사용자 메시지와 모든 AI 응답을 다중 행 INSERT 한 번으로 저장
+            int savedRows = chatMessageService.saveTurns(List.of(turn.toPendingTurn()));
+            log.info("메시지 저장 완료: userMessage='{}', 응답 개수={}, 저장 행 수={}",
+                    turn.userMessage, turn.responses.size(), savedRows);
             
             // 캐시 정리
-            userMessageCache.remove(cacheKey);
-            aiResponseCache.remove(aiCacheKey);
+            turnCache.invalidate(cacheKey);
             
             log.info("통합 배치 저장 완료: sessionId={}, roomId={}", sessionId, roomId);
             
@@ -283,39 +301,62 @@ public class MessageStorageService {
     }
     
     /**
-     * 캐시된 모든 AI 응답을 한 번에 DB에 저장 (배치 저장) - 호환성 유지
+     * 캐시된 턴을 write-behind 큐에 넘기고 캐시를 비움 (DB 저장은 전용 워커가 비동기로 수행)
+     * - 스트림 스레드에서 트랜잭션/커넥션을 잡지 않음
      * @param sessionId 세션 ID
      * @param roomId 방 ID
      */
-    @Transactional
-    public void saveAllResponsesFromCache(String sessionId, String roomId) {
+    public void submitMessagesFromCache(String sessionId, String roomId) {
         try {
-            String cacheKey = "ai_response:" + sessionId + ":" + roomId;
-            List<ChatAgentResponse> responses = aiResponseCache.get(cacheKey);
+            CachedTurn turn = turnCache.asMap().remove(turnKey(sessionId, roomId));
             
-            if (responses == null || responses.isEmpty()) {
-                log.info("캐시된 AI 응답이 없습니다. sessionId={}, roomId={}", sessionId, roomId);
+            if (turn == null || turn.isEmpty()) {
+                log.info("저장할 캐시된 메시지가 없습니다. sessionId={}, roomId={}", sessionId, roomId);
                 return;
             }
             
-            // 캐시에서 엔티티 조회
-            UserEntity userEntity = userEntityCache.get(sessionId);
-            ChatRoom chatRoom = chatRoomCache.get(roomId);
+            chatTurnWriteBehindService.submit(turn.toPendingTurn());
+            
+            log.info("턴 저장 요청 완료: sessionId={}, roomId={}, 응답 개수={}",
+                    sessionId, roomId, turn.responses.size());
             
-            if (userEntity == null || chatRoom == null) {
-                log.error("캐시된 엔티티가 없습니다. userEntity={}, chatRoom={}", userEntity, chatRoom);
+        } catch (Exception e) {
+            log.error("턴 저장 요청 실패: sessionId={}, roomId={}, error={}", 
+                    sessionId, roomId, e.getMessage(), e);
+            throw new RuntimeException("턴 저장 요청 실패", e);
+        }
+    }
+    
+    /**
+     * 캐시된 모든 AI 응답을 한 번에 DB에 저장 (배치 저장) - 호환성 유지
+     * @param sessionId 세션 ID
+     * @param roomId 방 ID
+     */
+    @Transactional
+    public void saveAllResponsesFromCache(String sessionId, String roomId) {
+        try {
+            String cacheKey = turnKey(sessionId, roomId);
+            CachedTurn turn = turnCache.getIfPresent(cacheKey);
+            
+            if (turn == null || turn.responses.isEmpty()) {
+                log.info("캐시된 AI 응답이 없습니다. sessionId={}, roomId={}", sessionId, roomId);
                 return;
             }
             
+            List<ChatAgentResponse> responses = new ArrayList<>(turn.responses);
             log.info("배치 저장 시작: sessionId={}, roomId={}, 응답 개수={}", sessionId, roomId, responses.size());
             
             // 모든 AI 응답을 한 번에 DB 저장
-            for (ChatAgentResponse response : responses) {
-                chatMessageService.saveAIResponse(userEntity, chatRoom, response);
-            }
+            PendingChatTurn pendingTurn = turn.toPendingTurn();
+            pendingTurn.setUserMessage(null);
+            pendingTurn.setResponses(responses);
+            chatMessageService.saveTurns(List.of(pendingTurn));
             
-            // 캐시 정리
-            aiResponseCache.remove(cacheKey);
+            // 캐시 정리 (저장한 응답만 제거, 사용자 메시지가 없으면 턴 자체를 제거)
+            turnCache.asMap().computeIfPresent(cacheKey, (key, cached) -> {
+                cached.responses.removeAll(responses);
+                return cached.isEmpty() ? null : cached;
+            });
             
             log.info("배치 저장 완료: sessionId={}, roomId={}, 저장된 응답 개수={}", sessionId, roomId, responses.size());
             
@@ -360,16 +401,10 @@ public class MessageStorageService {
      */
     public void clearCache(String sessionId, String roomId) {
         try {
-            String userCacheKey = "user_message:" + sessionId + ":" + roomId;
-            String aiCacheKey = "ai_response:" + sessionId + ":" + roomId;
-            
             // 메시지 캐시 정리
-            userMessageCache.remove(userCacheKey);
-            aiResponseCache.remove(aiCacheKey);
+            turnCache.invalidate(turnKey(sessionId, roomId));
             
-            // 엔티티 캐시는 요청 단위로 유지 (다른 요청에서 재사용 가능)
-            // userEntityCache.remove(sessionId);
-            // chatRoomCache.remove(roomId);
+            // 엔티티 캐시(UserSessionService, ChatRoomManagementService)는 다른 요청에서 재사용
             
             log.info("캐시 정리 완료: sessionId={}, roomId={}", sessionId, roomId);
             
@@ -378,4 +413,61 @@ public class MessageStorageService {
                     sessionId, roomId, e.getMessage(), e);
         }
     }
+    
+    private static String turnKey(String sessionId, String roomId) {
+        return sessionId + ":" + roomId;
+    }
+    
+    /**
+     * 턴 캐시 제거 리스너 - 만료/크기 초과로 밀려난 미완료 턴은 write-behind로 저장, 실패하면 폐기 카운트
+     * (명시적 정리(저장 완료, clearCache)는 대상 아님)
+     */
+    private void onTurnRemoved(String key, CachedTurn turn, RemovalCause cause) {
+        if (turn == null || !cause.wasEvicted() || turn.isEmpty()) {
+            return;
+        }
+        
+        try {
+            chatTurnWriteBehindService.submit(turn.toPendingTurn());
+            evictedTurnFlushedCounter.increment();
+            log.warn("미완료 턴 캐시 만료 - 저장 요청: key={}, cause={}, 응답 개수={}", key, cause, turn.responses.size());
+        } catch (Exception e) {
+            evictedTurnDroppedCounter.increment();
+            log.error("미완료 턴 캐시 만료 - 저장 실패로 폐기: key={}, cause={}, error={}", key, cause, e.getMessage());
+        }
+    }
+    
+    /**
+     * 진행 중인 한 턴 (엔티티 대신 ID만 보관)
+     */
+    private static final class CachedTurn {
+        private final String sessionId;
+        private final Long userId;
+        private final Long chatRoomId;
+        // 턴 시작 시각 (epoch ms) - 저장 시점과 무관하게 created_at의 기준이 됨
+        private final long startedAt = System.currentTimeMillis();
+        private volatile String userMessage;
+        private final List<ChatAgentResponse> responses = new CopyOnWriteArrayList<>();
+        
+        private CachedTurn(String sessionId, Long userId, Long chatRoomId) {
+            this.sessionId = sessionId;
+            this.userId = userId;
+            this.chatRoomId = chatRoomId;
+        }
+        
+        private boolean isEmpty() {
+            return userMessage == null && responses.isEmpty();
+        }
+        
+        private PendingChatTurn toPendingTurn() {
+            return PendingChatTurn.builder()
+                    .sessionId(sessionId)
+                    .userId(userId)
+                    .roomId(chatRoomId)
+                    .userMessage(userMessage)
+                    .responses(new ArrayList<>(responses))
+                    .enqueuedAt(startedAt)
+                    .build();
+        }
+    }
 }
@@ -4,17 +4,25 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -32,47 +40,84 @@ public class NewLLMStreamService {
     
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     
+    // refer 메시지의 상품 ID 동시 조회 수
+    @Value("${llm.product-lookup.max-concurrency:4}")
+    private int productLookupConcurrency;
+    
     @Value("${llm.server.new-stream-url:https://the-first-take.com/langgraph/fashion_search/stream}")
     private String newLlmStreamUrl;
     
-    private final WebClient.Builder webClientBuilder;
+    private final WebClient llmStreamWebClient;
     private final SSEConnectionService sseConnectionService;
     private final MessageStorageService messageStorageService;
     private final RestTemplate restTemplate;
     private final ProductSearchService productSearchService;
     private final RedisTemplate<String, String> redisTemplate;
     private final StreamMetricsService streamMetricsService;
+    private final Scheduler blockingIoScheduler;
+    private final ProductNearCacheService productNearCacheService;
+    private final SseContentCoalescingService sseContentCoalescingService;
     
-    public NewLLMStreamService(WebClient.Builder webClientBuilder,
+    public NewLLMStreamService(@Qualifier("llmStreamWebClient") WebClient llmStreamWebClient,
                               SSEConnectionService sseConnectionService,
                               MessageStorageService messageStorageService,
-                              RestTemplate restTemplate,
+                              @Qualifier("productSearchRestTemplate") RestTemplate restTemplate,
                               ProductSearchService productSearchService,
                               @Qualifier("redisTemplate") RedisTemplate<String, String> redisTemplate,
-                              StreamMetricsService streamMetricsService) {
-        this.webClientBuilder = webClientBuilder;
+                              StreamMetricsService streamMetricsService,
+                              @Qualifier("blockingIoExecutor") ExecutorService blockingIoExecutor,
+                              ProductNearCacheService productNearCacheService,
+                              SseContentCoalescingService sseContentCoalescingService) {
+        this.llmStreamWebClient = llmStreamWebClient;
         this.sseConnectionService = sseConnectionService;
         this.messageStorageService = messageStorageService;
         this.restTemplate = restTemplate;
         this.productSearchService = productSearchService;
         this.redisTemplate = redisTemplate;
         this.streamMetricsService = streamMetricsService;
+        this.blockingIoScheduler = Schedulers.fromExecutorService(blockingIoExecutor, "blocking-io");
+        this.productNearCacheService = productNearCacheService;
+        this.sseContentCoalescingService = sseContentCoalescingService;
     }
     
     /**
-     * 새로운 LLM 서버로 스트림 요청 - 새로운 응답 형태에 맞게 처리
+     * 새로운 LLM 서버로 스트림 요청 - 새로운 응답 형태에 맞게 처리 (블로킹 방식)
+     * 호출 스레드는 스트림이 끝날 때까지 대기하므로 기존 순차 처리 경로 호환용으로만 사용
      */
     public ExpertProcessResult processNewLlmStream(String userInput, String userProfile, String roomId, 
                                                   String sessionId, SseEmitter emitter, AtomicBoolean cancelled) {
-        
-        StringBuilder finalText = new StringBuilder();
-        List<com.thefirsttake.app.chat.dto.response.ProductInfo> products = new ArrayList<>();
-        
         try {
-            // 전문가별 텍스트와 상품 정보를 저장할 맵
+            ExpertProcessResult result = streamNewLlm(userInput, userProfile, roomId, sessionId, emitter, cancelled)
+                    .block(); // 스트림 완료까지 대기
+            if (result != null) {
+                return result;
+            }
+        } catch (Exception e) {
+            log.error("새로운 LLM 스트림 처리 중 오류: roomId={}, error={}", roomId, e.getMessage(), e);
+            if (!cancelled.get()) {
+                sseConnectionService.sendErrorEvent(emitter, "새로운 LLM 스트림 처리 오류: " + e.getMessage(), null);
+            }
+        }
+        
+        return new ExpertProcessResult("", new ArrayList<>(), true);
+    }
+    
+    /**
+     * 새로운 LLM 서버로 스트림 요청 - 논블로킹 방식
+     * - LLM 청크를 받는 즉시 SSE 이벤트로 변환하며, 스트림 진행 중에는 스레드를 점유하지 않음
+     * - 청크 처리(상품 검색, 캐시 저장)는 블로킹 I/O가 포함되므로 blocking I/O 실행기에서 수행
+     * - 구독이 취소(dispose)되면 LLM 서버와의 연결도 함께 종료됨
+     * @return 모든 전문가 결과가 누적된 ExpertProcessResult를 방출하는 Mono
+     */
+    public Mono<ExpertProcessResult> streamNewLlm(String userInput, String userProfile, String roomId, 
+                                                 String sessionId, SseEmitter emitter, AtomicBoolean cancelled) {
+        return Mono.defer(() -> {
+            // 전문가별 텍스트와 상품 정보를 저장할 맵 (구독마다 새로 생성)
             Map<String, StringBuilder> expertTexts = new HashMap<>();
             Map<String, List<com.thefirsttake.app.chat.dto.response.ProductInfo>> expertProducts = new HashMap<>();
             Map<String, Boolean> expertCompleted = new HashMap<>();
+            // 전문가별 content 이벤트 인코더 (agent_id/agent_name 등은 한 번만 인코딩)
+            Map<String, SseTokenEventEncoder> tokenEncoders = new HashMap<>();
             
             // 전문가 리스트 초기화 (고정 순서: color_expert -> style_analyst -> fitting_coordinator)
             List<String> expertList = getExpertList();
@@ -80,91 +125,99 @@ public class NewLLMStreamService {
                 expertTexts.put(expert, new StringBuilder());
                 expertProducts.put(expert, new ArrayList<>());
                 expertCompleted.put(expert, false);
+                tokenEncoders.put(expert, new SseTokenEventEncoder(expert, getAgentName(expert)));
             }
             
             // 현재 활성 전문가 (순차적으로 변경)
             AtomicInteger currentExpertIndex = new AtomicInteger(0); // 0: color_expert, 1: style_analyst, 2: fitting_coordinator
             AtomicInteger completedExpertCount = new AtomicInteger(0); // 완료된 전문가 수
             
+            // 토큰을 모아 content 이벤트로 전송 (전문가 경계/message 이벤트에서 즉시 전송)
+            SseContentCoalescingService.Coalescer coalescer = sseContentCoalescingService.open(emitter);
+            
             // 요청 데이터 준비
             Map<String, Object> requestData = prepareNewLlmRequest(userInput, userProfile, roomId);
             
             if (cancelled.get()) {
-                return new ExpertProcessResult("", products, false);
+                return Mono.just(new ExpertProcessResult("", new ArrayList<>(), false));
             }
             
             log.info("새로운 LLM 서버 스트림 호출 시작: roomId={}", roomId);
             
             // LLM API 호출 메트릭 시작 (전체 요청에 대한 메트릭)
             var timerSample = streamMetricsService.startLlmApiCall("new_llm_stream");
-            java.util.concurrent.atomic.AtomicInteger statusCode = new java.util.concurrent.atomic.AtomicInteger(200);
-            java.util.concurrent.atomic.AtomicBoolean success = new java.util.concurrent.atomic.AtomicBoolean(true);
+            AtomicInteger statusCode = new AtomicInteger(200);
+            AtomicBoolean success = new AtomicBoolean(true);
+            AtomicReference<String> responseBody = new AtomicReference<>("");
             
-            try {
-                // WebClient로 스트림 호출
-                webClientBuilder.build().post()
-                    .uri(newLlmStreamUrl)
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(requestData)
-                    .retrieve()
-                    .bodyToFlux(String.class)
-                    .doOnNext(chunk -> {
-                        if (cancelled.get()) return;
-                        
-                        try {
-                            processStreamChunk(chunk, emitter, expertTexts, expertProducts, roomId, sessionId, 
-                                             expertCompleted, currentExpertIndex, completedExpertCount);
-                        } catch (Exception e) {
-                            log.warn("스트림 청크 처리 오류: chunk={}, error={}", chunk, e.getMessage());
-                        }
-                    })
-                    .doOnError(error -> {
-                        log.error("새로운 LLM 스트림 호출 실패: error={}", error.getMessage(), error);
-                        statusCode.set(500);
-                        success.set(false);
-                        if (!cancelled.get()) {
-                            sseConnectionService.sendErrorEvent(emitter, "새로운 LLM 스트림 호출 실패: " + error.getMessage(), null);
-                        }
-                    })
-                    .doOnComplete(() -> {
-                        log.info("새로운 LLM 스트림 완료: roomId={}", roomId);
-                    })
-                    .onErrorResume(error -> {
-                        statusCode.set(500);
+            return llmStreamWebClient.post()
+                .uri(newLlmStreamUrl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(requestData)
+                .retrieve()
+                .bodyToFlux(String.class)
+                // 네트워크 이벤트 루프를 막지 않도록 청크 처리는 별도 스케줄러에서 수행
+                .publishOn(blockingIoScheduler)
+                // 클라이언트 연결이 끊기면 업스트림 구독 취소
+                .takeWhile(chunk -> !cancelled.get())
+                .doOnNext(chunk -> {
+                    try {
+                        processStreamChunk(chunk, emitter, expertTexts, expertProducts, tokenEncoders, coalescer, roomId, sessionId, 
+                                         expertCompleted, currentExpertIndex, completedExpertCount);
+                    } catch (Exception e) {
+                        log.warn("스트림 청크 처리 오류: chunk={}, error={}", chunk, e.getMessage());
+                    }
+                })
+                .doOnError(error -> {
+                    log.error("새로운 LLM 스트림 호출 실패: error={}", error.getMessage(), error);
+                    statusCode.set(500);
+                    success.set(false);
+                    if (!cancelled.get()) {
+                        sseConnectionService.sendErrorEvent(emitter, "새로운 LLM 스트림 호출 실패: " + error.getMessage(), null);
+                    }
+                })
+                .doOnComplete(() -> log.info("새로운 LLM 스트림 완료: roomId={}", roomId))
+                .onErrorResume(error -> Flux.empty())
+                .then(Mono.fromCallable(() -> {
+                    // 남은 토큰을 complete/final_complete 이벤트보다 먼저 전송
+                    coalescer.close(!cancelled.get());
+                    return collectExpertResults(expertList, expertTexts, expertProducts, cancelled);
+                }))
+                .doOnNext(result -> responseBody.set(result.getMessage()))
+                .doFinally(signal -> {
+                    // LLM API 호출 메트릭 종료 (정상 완료, 오류, 취소 모두 포함)
+                    if (signal == SignalType.CANCEL) {
                         success.set(false);
-                        return Flux.empty();
-                    })
-                    .blockLast(); // 스트림 완료까지 대기
-            } catch (Exception e) {
-                log.error("새로운 LLM 스트림 처리 중 예외 발생: error={}", e.getMessage(), e);
-                statusCode.set(500);
-                success.set(false);
-            } finally {
-                // LLM API 호출 메트릭 종료
-                String responseBody = finalText.toString();
-                streamMetricsService.endLlmApiCall(timerSample, "new_llm_stream", statusCode.get(), responseBody, success.get());
-            }
+                    }
+                    coalescer.close(false);
+                    streamMetricsService.endLlmApiCall(timerSample, "new_llm_stream", statusCode.get(), 
+                            responseBody.get(), success.get());
+                });
+        });
+    }
+    
+    /**
+     * 모든 전문가 결과를 고정 순서대로 누적
+     */
+    private ExpertProcessResult collectExpertResults(List<String> expertList,
+                                                     Map<String, StringBuilder> expertTexts,
+                                                     Map<String, List<com.thefirsttake.app.chat.dto.response.ProductInfo>> expertProducts,
+                                                     AtomicBoolean cancelled) {
+        StringBuilder finalText = new StringBuilder();
+        List<com.thefirsttake.app.chat.dto.response.ProductInfo> products = new ArrayList<>();
+        
+        for (String expertType : expertList) {
+            if (cancelled.get()) break;
             
-            // 모든 전문가 결과를 누적
-            for (String expertType : expertList) {
-                if (cancelled.get()) break;
-                
-                StringBuilder expertText = expertTexts.get(expertType);
-                List<com.thefirsttake.app.chat.dto.response.ProductInfo> expertProductList = expertProducts.get(expertType);
-                
-                if (expertText.length() > 0) {
-                    finalText.append(expertText.toString());
-                    products.addAll(expertProductList);
-                    
-                    log.info("✅ 새로운 LLM 전문가 결과 누적: expert={}, textLength={}, productsCount={}", 
-                            expertType, expertText.length(), expertProductList.size());
-                }
-            }
+            StringBuilder expertText = expertTexts.get(expertType);
+            List<com.thefirsttake.app.chat.dto.response.ProductInfo> expertProductList = expertProducts.get(expertType);
+            
+            if (expertText.length() > 0) {
+                finalText.append(expertText.toString());
+                products.addAll(expertProductList);
                 
-        } catch (Exception e) {
-            log.error("새로운 LLM 스트림 처리 중 오류: roomId={}, error={}", roomId, e.getMessage(), e);
-            if (!cancelled.get()) {
-                sseConnectionService.sendErrorEvent(emitter, "새로운 LLM 스트림 처리 오류: " + e.getMessage(), null);
+                log.info("✅ 새로운 LLM 전문가 결과 누적: expert={}, textLength={}, productsCount={}", 
+                        expertType, expertText.length(), expertProductList.size());
             }
         }
         
@@ -262,6 +315,8 @@ public class NewLLMStreamService {
     private void processStreamChunk(String chunk, SseEmitter emitter, 
                                   Map<String, StringBuilder> expertTexts,
                                   Map<String, List<com.thefirsttake.app.chat.dto.response.ProductInfo>> expertProducts,
+                                  Map<String, SseTokenEventEncoder> tokenEncoders,
+                                  SseContentCoalescingService.Coalescer coalescer,
                                   String roomId, String sessionId,
                                   Map<String, Boolean> expertCompleted,
                                   AtomicInteger currentExpertIndex,
@@ -279,20 +334,22 @@ public class NewLLMStreamService {
         }
         
         try {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> parsed = OBJECT_MAPPER.readValue(chunk, Map.class);
-            String type = String.valueOf(parsed.get("type"));
+            // 스트리밍 파서로 type/content만 읽음 (token 이벤트는 Map 생성 없음)
+            LlmStreamChunkParser.LlmStreamChunk parsed = LlmStreamChunkParser.parse(chunk);
+            String type = String.valueOf(parsed.type());
             
             switch (type) {
                 case "token":
-                    processTokenEvent(parsed, emitter, expertTexts, currentExpertIndex, completedExpertCount);
+                    processTokenEvent(parsed.text(), expertTexts, tokenEncoders, coalescer, completedExpertCount);
                     break;
                 case "status":
                     // status 이벤트는 무시 (처리할 필요 없음)
                     log.debug("status 이벤트 무시: chunk={}", chunk);
                     break;
                 case "message":
-                    processMessageEvent(parsed, emitter, expertProducts, roomId, sessionId, expertTexts, expertCompleted, currentExpertIndex, completedExpertCount);
+                    // refer/complete 이벤트보다 앞선 토큰을 먼저 전송
+                    coalescer.flush("boundary");
+                    processMessageEvent(parsed.content(), emitter, expertProducts, roomId, sessionId, expertTexts, expertCompleted, currentExpertIndex, completedExpertCount);
                     break;
                 default:
                     log.debug("알 수 없는 이벤트 타입: type={}, chunk={}", type, chunk);
@@ -304,13 +361,13 @@ public class NewLLMStreamService {
     }
     
     /**
-     * token 이벤트 처리 - 받는대로 즉시 사용자에게 전송
+     * token 이벤트 처리 - coalescer를 거쳐 사용자에게 전송
      */
-    private void processTokenEvent(Map<String, Object> parsed, SseEmitter emitter, 
+    private void processTokenEvent(String content,
                                  Map<String, StringBuilder> expertTexts,
-                                 AtomicInteger currentExpertIndex,
+                                 Map<String, SseTokenEventEncoder> tokenEncoders,
+                                 SseContentCoalescingService.Coalescer coalescer,
                                  AtomicInteger completedExpertCount) {
-        String content = String.valueOf(parsed.get("content"));
         if (content != null && !content.equals("null")) {
             // 현재 활성 전문가 결정 (완료된 전문가 수를 기준으로)
             List<String> expertList = getExpertList();
@@ -326,10 +383,8 @@ public class NewLLMStreamService {
             // 해당 전문가의 텍스트에 추가
             expertTexts.get(currentExpert).append(content);
             
-            String agentName = getAgentName(currentExpert);
-            
-            // 클라이언트로 즉시 전송
-            sseConnectionService.sendContentEvent(emitter, content, currentExpert, agentName);
+            // 클라이언트로 전송 (짧은 구간 동안 모아서 하나의 content 이벤트로 전송)
+            coalescer.append(tokenEncoders.get(currentExpert), content);
             
             log.debug("token 이벤트 처리: expert={}, completedCount={}, content={}", currentExpert, completedExpertCount.get(), content);
         }
@@ -339,7 +394,7 @@ public class NewLLMStreamService {
     /**
      * message 이벤트 처리 - 상품 정보 추출 및 검색 후 complete 이벤트 전송
      */
-    private void processMessageEvent(Map<String, Object> parsed, SseEmitter emitter,
+    private void processMessageEvent(Map<String, Object> content, SseEmitter emitter,
                                    Map<String, List<com.thefirsttake.app.chat.dto.response.ProductInfo>> expertProducts,
                                    String roomId, String sessionId,
                                    Map<String, StringBuilder> expertTexts,
@@ -347,8 +402,6 @@ public class NewLLMStreamService {
                                    AtomicInteger currentExpertIndex,
                                    AtomicInteger completedExpertCount) {
         try {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> content = (Map<String, Object>) parsed.get("content");
             if (content == null) return;
             
             @SuppressWarnings("unchecked")
@@ -378,19 +431,26 @@ public class NewLLMStreamService {
             log.info("상품 정보를 전문가에게 할당: expertType={}, productIds={}, completedCount={}, activeIndex={}", 
                     expertType, productIds, completedExpertCount.get(), activeExpertIndex);
             
-            // 각 상품 ID에 대해 검색 API 호출
-            List<com.thefirsttake.app.chat.dto.response.ProductInfo> newProducts = new ArrayList<>();
-            for (String productId : productIds) {
-                try {
-                    com.thefirsttake.app.chat.dto.response.ProductInfo productInfo = searchProductById(productId);
-                    if (productInfo != null) {
-                        expertProducts.get(expertType).add(productInfo);
-                        newProducts.add(productInfo);
-                        log.info("상품 정보 추가: expert={}, productId={}, imageUrl={}", 
-                                expertType, productId, productInfo.getProductUrl());
-                    }
-                } catch (Exception e) {
-                    log.error("상품 검색 실패: productId={}, error={}", productId, e.getMessage());
+            // 상품 ID별 검색 API를 제한된 동시성으로 병렬 호출 (응답 순서는 productIds 순서 유지)
+            List<ProductLookupResult> lookups = Flux.fromIterable(productIds)
+                    .flatMapSequential(productId -> Mono.fromCallable(() -> searchProductById(productId))
+                                    .subscribeOn(blockingIoScheduler)
+                                    .onErrorResume(e -> {
+                                        log.error("상품 검색 실패: productId={}, error={}", productId, e.getMessage());
+                                        return Mono.empty();
+                                    }),
+                            productLookupConcurrency)
+                    .collectList()
+                    .block();
+            
+            if (lookups != null && !lookups.isEmpty()) {
+                // 조회된 상품 정보를 한 번의 파이프라인으로 Redis에 저장
+                cacheProductLookups(lookups);
+                
+                for (ProductLookupResult lookup : lookups) {
+                    expertProducts.get(expertType).add(lookup.productInfo());
+                    log.info("상품 정보 추가: expert={}, productId={}, imageUrl={}", 
+                            expertType, lookup.productId(), lookup.imageUrl());
                 }
             }
             
@@ -422,9 +482,10 @@ public class NewLLMStreamService {
     }
     
     /**
-     * 상품 ID로 상품 정보 검색 및 Redis 저장
+     * 상품 ID로 상품 정보 검색 (Redis 저장은 cacheProductLookups에서 일괄 처리)
+     * @return 검색 결과, 상품이 없거나 이미지 URL이 없으면 null
      */
-    private com.thefirsttake.app.chat.dto.response.ProductInfo searchProductById(String productId) {
+    private ProductLookupResult searchProductById(String productId) {
         try {
             log.info("상품 검색 시작: productId={}", productId);
             
@@ -443,15 +504,7 @@ public class NewLLMStreamService {
                     String imageUrl = String.valueOf(data.get("image_url"));
                     
                     if (imageUrl != null && !imageUrl.equals("null") && !imageUrl.isEmpty()) {
-                        // productId에서 숫자 부분만 추출 (가상피팅용)
-                        String numericProductId = extractNumericProductId(productId.trim());
-                        
-                        // Redis에 저장 (가상피팅용) - 숫자 부분만 사용
-                        String fittingRedisKey = "product_url_" + numericProductId;
-                        redisTemplate.opsForValue().set(fittingRedisKey, imageUrl.trim(), 36000, java.util.concurrent.TimeUnit.SECONDS);
-                        
-                        // Redis에 저장 (프론트엔드 API용) - 원본 productId 사용
-                        String productInfoRedisKey = "product_id:" + productId.trim();
+                        // 프론트엔드 API용 상품 정보
                         Map<String, Object> productInfoMap = new HashMap<>();
                         productInfoMap.put("product_id", productIdValue);
                         productInfoMap.put("product_name", String.valueOf(data.get("product_name")));
@@ -465,9 +518,9 @@ public class NewLLMStreamService {
                         productInfoMap.put("tpo_tags", data.get("tpo_tags"));
                         productInfoMap.put("fit", String.valueOf(data.get("fit")));
                         
+                        String productInfoJson = null;
                         try {
-                            String productInfoJson = OBJECT_MAPPER.writeValueAsString(productInfoMap);
-                            redisTemplate.opsForValue().set(productInfoRedisKey, productInfoJson, 36000, java.util.concurrent.TimeUnit.SECONDS);
+                            productInfoJson = OBJECT_MAPPER.writeValueAsString(productInfoMap);
                         } catch (Exception e) {
                             log.warn("상품 정보 JSON 직렬화 실패: productId={}, error={}", productId, e.getMessage());
                         }
@@ -477,9 +530,8 @@ public class NewLLMStreamService {
                             .productUrl(imageUrl)
                             .build();
                         
-                        log.info("✅ 상품 정보 검색 및 Redis 저장 성공: productId={}, productUrl={}, fittingKey={}, productInfoKey={}", 
-                                productIdValue, imageUrl, fittingRedisKey, productInfoRedisKey);
-                        return productInfo;
+                        log.info("✅ 상품 정보 검색 성공: productId={}, productUrl={}", productIdValue, imageUrl);
+                        return new ProductLookupResult(productId.trim(), imageUrl.trim(), productInfoJson, productInfo);
                     }
                 }
             }
@@ -491,6 +543,60 @@ public class NewLLMStreamService {
         return null;
     }
     
+    /**
+     * 검색된 상품 정보를 Redis 파이프라인 한 번으로 저장
+     * - product_url_{숫자ID}: 가상피팅용 이미지 URL
+     * - product_id:{원본ID}: 프론트엔드 API용 상품 정보 JSON
+     */
+    private void cacheProductLookups(List<ProductLookupResult> lookups) {
+        Map<String, String> entries = new LinkedHashMap<>();
+        for (ProductLookupResult lookup : lookups) {
+            // 가상피팅용 - 숫자 부분만 사용
+            entries.put("product_url_" + extractNumericProductId(lookup.productId()), lookup.imageUrl());
+            
+            // 프론트엔드 API용 - 원본 productId 사용
+            if (lookup.productInfoJson() != null) {
+                entries.put("product_id:" + lookup.productId(), lookup.productInfoJson());
+            }
+        }
+        
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    for (Map.Entry<String, String> entry : entries.entrySet()) {
+                        ops.opsForValue().set(entry.getKey(), entry.getValue(), ProductCacheService.PRODUCT_CACHE_TTL);
+                    }
+                    
+                    // 색상 변형 보조 인덱스 갱신 (상품 정보와 같은 TTL)
+                    for (ProductLookupResult lookup : lookups) {
+                        String indexKey = ProductCacheService.variantIndexKey(lookup.productId());
+                        if (indexKey != null && lookup.productInfoJson() != null) {
+                            ops.opsForZSet().add(indexKey, "product_id:" + lookup.productId(), 0);
+                            ops.expire(indexKey, ProductCacheService.PRODUCT_CACHE_TTL);
+                        }
+                    }
+                    return null;
+                }
+            });
+            
+            // 로컬 near cache 반영 및 다른 노드 무효화
+            productNearCacheService.onWritten(entries);
+            log.info("✅ 상품 정보 Redis 파이프라인 저장 성공: count={}, keys={}", lookups.size(), entries.size());
+        } catch (Exception e) {
+            log.error("상품 정보 Redis 파이프라인 저장 실패: count={}, error={}", lookups.size(), e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 상품 검색 결과 (Redis 일괄 저장 전 중간 결과)
+     */
+    private record ProductLookupResult(String productId, String imageUrl, String productInfoJson,
+                                       com.thefirsttake.app.chat.dto.response.ProductInfo productInfo) {
+    }
+    
     /**
      * productId에서 숫자 부분만 추출 (가상피팅용)
      * 예: "3271408_블루" -> "3271408"
@@ -578,7 +684,7 @@ public class NewLLMStreamService {
             final java.util.concurrent.CountDownLatch latch = new java.util.concurrent.CountDownLatch(1);
             
             // WebClient로 스트림 호출
-            webClientBuilder.build().post()
+            llmStreamWebClient.post()
                 .uri(newLlmStreamUrl)
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(requestData)
@@ -598,14 +704,11 @@ public class NewLLMStreamService {
                     }
                     
                     try {
-                        @SuppressWarnings("unchecked")
-                        Map<String, Object> parsed = OBJECT_MAPPER.readValue(chunk, Map.class);
-                        String type = String.valueOf(parsed.get("type"));
+                        LlmStreamChunkParser.LlmStreamChunk parsed = LlmStreamChunkParser.parse(chunk);
                         
                         // message type이면서 content.type이 "ai"이고 content.content가 비어있지 않은 경우만 처리
-                        if ("message".equals(type)) {
-                            @SuppressWarnings("unchecked")
-                            Map<String, Object> content = (Map<String, Object>) parsed.get("content");
+                        if ("message".equals(parsed.type())) {
+                            Map<String, Object> content = parsed.content();
                             if (content != null) {
                                 // content.type이 "ai"인지 확인
                                 String contentType = String.valueOf(content.get("type"));
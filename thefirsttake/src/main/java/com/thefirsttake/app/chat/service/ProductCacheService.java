@@ -2,36 +2,163 @@ package com.thefirsttake.app.chat.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 /**
  * 상품 정보 Redis 캐싱 서비스
  * - AI 서버에서 받은 상품 정보를 Redis에 캐싱
  * - product_id:{product_id} 키로 상품 정보 저장
+ * - 상품 정보 키는 모든 저장 경로에서 PRODUCT_CACHE_TTL로 저장하고, 색상 변형 인덱스는 항목을 추가할 때마다
+ *   같은 TTL로 갱신해 인덱스가 항목보다 먼저 만료되지 않도록 함 (만료된 항목은 조회 시 인덱스에서 제거)
+ * - 인덱스 도입 전에 저장된 색상 변형 키는 기동 시 한 번(클러스터 전체에서 한 노드만) SCAN으로 인덱스에 채워 넣음
  */
 @Service
 @Slf4j
 public class ProductCacheService {
     
+    // 색상 변형 보조 인덱스 (product_variants:{숫자ID} -> product_id:{숫자ID}_{색상} 키 목록)
+    public static final String VARIANT_INDEX_PREFIX = "product_variants:";
+    
+    // product_id:*, product_url_*, product_variants:* 공통 TTL (10시간)
+    public static final Duration PRODUCT_CACHE_TTL = Duration.ofHours(10);
+    
+    // 기존 색상 변형 키 인덱스 백필 상태 (running: 진행 중, done: 완료)
+    private static final String VARIANT_INDEX_BACKFILL_KEY = "product_variants_backfill";
+    private static final Duration VARIANT_INDEX_BACKFILL_LOCK_TTL = Duration.ofHours(1);
+    private static final int VARIANT_INDEX_BACKFILL_BATCH_SIZE = 500;
+    
     private final RedisTemplate<String, String> redisTemplate;
     private final ObjectMapper objectMapper;
+    private final ProductNearCacheService productNearCacheService;
+    private final StreamMetricsService streamMetricsService;
+    private final ExecutorService blockingIoExecutor;
     
     public ProductCacheService(@Qualifier("redisTemplate") RedisTemplate<String, String> redisTemplate,
-                              ObjectMapper objectMapper) {
+                              ObjectMapper objectMapper,
+                              ProductNearCacheService productNearCacheService,
+                              StreamMetricsService streamMetricsService,
+                              @Qualifier("blockingIoExecutor") ExecutorService blockingIoExecutor) {
         this.redisTemplate = redisTemplate;
         this.objectMapper = objectMapper;
+        this.productNearCacheService = productNearCacheService;
+        this.streamMetricsService = streamMetricsService;
+        this.blockingIoExecutor = blockingIoExecutor;
+    }
+    
+    /**
+     * 기동 후 기존 색상 변형 키 인덱스 백필을 백그라운드에서 실행 (요청 처리와 무관)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillVariantIndexOnStartup() {
+        blockingIoExecutor.execute(this::backfillVariantIndex);
+    }
+    
+    /**
+     * 인덱스 도입 전에 저장된 product_id:{숫자ID}_{색상} 키를 product_variants 인덱스에 등록
+     * - 한 번 완료되면 다시 실행하지 않음 (실패 시 상태 키를 지워 다음 기동 때 재시도)
+     * - TTL 없이 저장된 기존 키에는 공통 TTL을 부여해 인덱스보다 오래 남지 않도록 함
+     */
+    void backfillVariantIndex() {
+        Boolean acquired = redisTemplate.opsForValue()
+                .setIfAbsent(VARIANT_INDEX_BACKFILL_KEY, "running", VARIANT_INDEX_BACKFILL_LOCK_TTL);
+        if (!Boolean.TRUE.equals(acquired)) {
+            return;
+        }
+        
+        long indexed = 0;
+        try {
+            ScanOptions options = ScanOptions.scanOptions()
+                    .match("product_id:*_*").count(VARIANT_INDEX_BACKFILL_BATCH_SIZE).build();
+            List<String> batch = new ArrayList<>();
+            try (Cursor<String> keys = redisTemplate.scan(options)) {
+                while (keys.hasNext()) {
+                    batch.add(keys.next());
+                    if (batch.size() >= VARIANT_INDEX_BACKFILL_BATCH_SIZE) {
+                        indexed += backfillVariantIndexBatch(batch);
+                        batch.clear();
+                    }
+                }
+            }
+            indexed += backfillVariantIndexBatch(batch);
+            
+            redisTemplate.opsForValue().set(VARIANT_INDEX_BACKFILL_KEY, "done");
+            log.info("✅ 색상 변형 인덱스 백필 완료: indexed={}", indexed);
+        } catch (Exception e) {
+            redisTemplate.delete(VARIANT_INDEX_BACKFILL_KEY);
+            log.error("❌ 색상 변형 인덱스 백필 실패 (다음 기동 때 재시도): indexed={}, error={}", indexed, e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 백필 배치 - TTL 조회 파이프라인 1회 + 인덱스 등록/TTL 부여 파이프라인 1회
+     * @return 인덱스에 등록한 키 수
+     */
+    private int backfillVariantIndexBatch(List<String> cacheKeys) {
+        List<String> variantKeys = new ArrayList<>();
+        for (String cacheKey : cacheKeys) {
+            if (variantIndexKey(cacheKey.substring("product_id:".length())) != null) {
+                variantKeys.add(cacheKey);
+            }
+        }
+        if (variantKeys.isEmpty()) {
+            return 0;
+        }
+        
+        List<Object> ttls = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (String cacheKey : variantKeys) {
+                    ops.getExpire(cacheKey);
+                }
+                return null;
+            }
+        });
+        
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (int i = 0; i < variantKeys.size(); i++) {
+                    String cacheKey = variantKeys.get(i);
+                    // -1: TTL 없음 (-2: 그 사이 삭제됨 - 인덱스에 넣어도 조회 시 정리됨)
+                    if (i < ttls.size() && Long.valueOf(-1L).equals(ttls.get(i))) {
+                        ops.expire(cacheKey, PRODUCT_CACHE_TTL);
+                    }
+                    String indexKey = variantIndexKey(cacheKey.substring("product_id:".length()));
+                    ops.opsForZSet().add(indexKey, cacheKey, 0);
+                    ops.expire(indexKey, PRODUCT_CACHE_TTL);
+                }
+                return null;
+            }
+        });
+        return variantKeys.size();
     }
     
     /**
      * AI 서버 응답에서 상품 정보를 추출하여 Redis에 캐싱
+     * 모든 항목을 SET NX 파이프라인 한 번으로 저장 (이미 존재하는 상품은 덮어쓰지 않음)
      * @param searchResult AI 서버의 전체 응답
      */
     public void cacheProductsFromSearchResult(Map<String, Object> searchResult) {
@@ -49,13 +176,30 @@ public class ProductCacheService {
                 return;
             }
             
-            int cachedCount = 0;
+            // 캐싱할 항목 준비 (product_id -> 상품 정보 JSON)
+            Map<String, String> productInfoJsonById = new LinkedHashMap<>();
             for (Map<String, Object> item : productList) {
-                if (cacheProductInfo(item)) {
-                    cachedCount++;
+                String productId = extractProductId(item);
+                if (productId == null) {
+                    log.warn("product_id를 찾을 수 없습니다: {}", item);
+                    continue;
+                }
+                
+                Map<String, Object> productInfo = extractProductInfo(item);
+                if (productInfo.isEmpty()) {
+                    log.warn("캐싱할 상품 정보가 없습니다: {}", productId);
+                    continue;
+                }
+                
+                try {
+                    productInfoJsonById.put(productId, objectMapper.writeValueAsString(productInfo));
+                } catch (JsonProcessingException e) {
+                    log.error("❌ 개별 상품 직렬화 실패: productId={}, error={}", productId, e.getMessage());
                 }
             }
             
+            int cachedCount = cacheProductInfoBatch(productInfoJsonById);
+            
             log.info("✅ 상품 정보 캐싱 완료: 총 {}개 중 {}개 새로 캐싱됨", productList.size(), cachedCount);
             
         } catch (Exception e) {
@@ -64,45 +208,57 @@ public class ProductCacheService {
     }
     
     /**
-     * 개별 상품 정보를 Redis에 캐싱
-     * @param item AI 서버 응답의 개별 상품 항목
-     * @return 새로 캐싱되었는지 여부 (이미 존재하면 false)
+     * 상품 정보 배치를 Redis 파이프라인 한 번으로 저장
+     * - product_id:{id} SET NX + TTL (기존 캐시 유지)
+     * - 색상 변형 보조 인덱스 ZADD + TTL 갱신 (이미 캐시된 상품도 인덱스에는 항상 추가)
+     * @param productInfoJsonById product_id -> 상품 정보 JSON
+     * @return 새로 캐싱된 상품 수
      */
-    private boolean cacheProductInfo(Map<String, Object> item) {
-        try {
-            // product_id 추출
-            String productId = extractProductId(item);
-            if (productId == null) {
-                log.warn("product_id를 찾을 수 없습니다: {}", item);
-                return false;
-            }
-            
-            String cacheKey = "product_id:" + productId;
-            
-            // 이미 캐시에 존재하는지 확인
-            if (redisTemplate.hasKey(cacheKey)) {
-                log.debug("상품 정보가 이미 캐시에 존재합니다: {}", productId);
-                return false;
+    private int cacheProductInfoBatch(Map<String, String> productInfoJsonById) {
+        if (productInfoJsonById.isEmpty()) {
+            return 0;
+        }
+        
+        List<String> productIds = new ArrayList<>(productInfoJsonById.keySet());
+        Timer.Sample timerSample = Timer.start();
+        
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                
+                // 결과 목록의 앞부분이 SET NX 결과가 되도록 먼저 실행
+                for (String productId : productIds) {
+                    ops.opsForValue().setIfAbsent("product_id:" + productId, productInfoJsonById.get(productId),
+                            PRODUCT_CACHE_TTL);
+                }
+                
+                for (String productId : productIds) {
+                    String indexKey = variantIndexKey(productId);
+                    if (indexKey != null) {
+                        ops.opsForZSet().add(indexKey, "product_id:" + productId, 0);
+                        ops.expire(indexKey, PRODUCT_CACHE_TTL);
+                    }
+                }
+                return null;
             }
-            
-            // 캐싱할 상품 정보 추출
-            Map<String, Object> productInfo = extractProductInfo(item);
-            if (productInfo.isEmpty()) {
-                log.warn("캐싱할 상품 정보가 없습니다: {}", productId);
-                return false;
+        });
+        
+        streamMetricsService.recordProductCacheBatch("product_info", productIds.size(), timerSample);
+        
+        // 새로 저장된 항목만 로컬 캐시에 반영
+        Map<String, String> written = new LinkedHashMap<>();
+        for (int i = 0; i < productIds.size() && i < results.size(); i++) {
+            if (Boolean.TRUE.equals(results.get(i))) {
+                String productId = productIds.get(i);
+                written.put("product_id:" + productId, productInfoJsonById.get(productId));
             }
-            
-            // Redis에 저장
-            String productInfoJson = objectMapper.writeValueAsString(productInfo);
-            redisTemplate.opsForValue().set(cacheKey, productInfoJson);
-            
-            log.debug("✅ 상품 정보 캐싱: {} -> {}", productId, productInfo);
-            return true;
-            
-        } catch (Exception e) {
-            log.error("❌ 개별 상품 캐싱 실패: {}", e.getMessage(), e);
-            return false;
         }
+        productNearCacheService.onWritten(written);
+        
+        log.debug("✅ 상품 정보 배치 캐싱: 요청 {}개, 신규 {}개", productIds.size(), written.size());
+        return written.size();
     }
     
     /**
@@ -244,29 +400,33 @@ public class ProductCacheService {
         try {
             // 1. 정확한 키로 먼저 시도 (색상 정보가 포함된 경우)
             String cacheKey = "product_id:" + productId;
-            String productInfoJson = redisTemplate.opsForValue().get(cacheKey);
+            String productInfoJson = productNearCacheService.get(cacheKey);
             
             if (productInfoJson != null) {
                 log.debug("✅ 정확한 키로 상품 조회 성공: {}", cacheKey);
                 return objectMapper.readValue(productInfoJson, Map.class);
             }
             
-            // 2. 색상 정보가 없는 경우 패턴 매칭으로 찾기
-            String pattern = "product_id:" + productId + "_*";
-            var keys = redisTemplate.keys(pattern);
+            // 2. 색상 정보가 없는 경우 보조 인덱스로 찾기 (KEYS 스캔 없이 O(1) 조회)
+            String indexKey = VARIANT_INDEX_PREFIX + productId;
+            Set<String> variantKeys = redisTemplate.opsForZSet().range(indexKey, 0, -1);
             
-            if (keys != null && !keys.isEmpty()) {
-                // 첫 번째 매칭된 키 사용 (동일 상품의 첫 번째 색상)
-                String firstKey = keys.iterator().next();
-                productInfoJson = redisTemplate.opsForValue().get(firstKey);
-                
-                if (productInfoJson != null) {
-                    log.info("✅ 패턴 매칭으로 상품 조회 성공: {} -> {}", productId, firstKey);
-                    return objectMapper.readValue(productInfoJson, Map.class);
+            if (variantKeys != null) {
+                // 첫 번째 변형 키 사용 (동일 상품의 첫 번째 색상), 만료된 키는 인덱스에서 정리
+                for (String variantKey : variantKeys) {
+                    productInfoJson = productNearCacheService.get(variantKey);
+                    
+                    if (productInfoJson != null) {
+                        log.info("✅ 보조 인덱스로 상품 조회 성공: {} -> {}", productId, variantKey);
+                        return objectMapper.readValue(productInfoJson, Map.class);
+                    }
+                    
+                    redisTemplate.opsForZSet().remove(indexKey, variantKey);
+                    log.debug("만료된 변형 키 인덱스에서 제거: {} -> {}", indexKey, variantKey);
                 }
             }
             
-            log.warn("⚠️ 상품 정보를 찾을 수 없음: productId={}, pattern={}", productId, pattern);
+            log.warn("⚠️ 상품 정보를 찾을 수 없음: productId={}, indexKey={}", productId, indexKey);
             
         } catch (JsonProcessingException e) {
             log.error("❌ 상품 정보 역직렬화 실패: productId={}, error={}", productId, e.getMessage());
@@ -277,6 +437,22 @@ public class ProductCacheService {
         return null;
     }
     
+    /**
+     * 색상 변형 보조 인덱스 키 생성
+     * 예: "2711142_블랙" -> "product_variants:2711142"
+     * @return 인덱스 키 (색상 정보가 없는 ID면 null)
+     */
+    public static String variantIndexKey(String productId) {
+        if (productId == null) {
+            return null;
+        }
+        int separatorIndex = productId.indexOf('_');
+        if (separatorIndex <= 0) {
+            return null;
+        }
+        return VARIANT_INDEX_PREFIX + productId.substring(0, separatorIndex);
+    }
+    
     /**
      * AI 서버 응답에서 상품 ID 목록 추출
      * @param searchResult AI 서버의 전체 응답
@@ -322,6 +498,6 @@ public class ProductCacheService {
      */
     public boolean deleteProductCache(String productId) {
         String cacheKey = "product_id:" + productId;
-        return Boolean.TRUE.equals(redisTemplate.delete(cacheKey));
+        return productNearCacheService.evict(cacheKey);
     }
 }
@@ -0,0 +1,156 @@
+package com.thefirsttake.app.chat.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 상품 캐시 2단계 조회 서비스 (로컬 near cache → Redis)
+ * - product_id:*, product_url_* 키를 프로세스 내 Caffeine(W-TinyLFU) 캐시에 보관
+ * - 쓰기/삭제 시 Redis pub/sub으로 다른 노드의 로컬 캐시 무효화
+ * - 로컬 TTL을 짧게 유지해 무효화 메시지 유실 시에도 오래된 값이 남지 않도록 함
+ */
+@Service
+@Slf4j
+public class ProductNearCacheService implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "product_cache:invalidate";
+
+    // 무효화 메시지 형식: {nodeId}|{key1}\n{key2}...
+    private static final String NODE_SEPARATOR = "|";
+    private static final String KEY_SEPARATOR = "\n";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Cache<String, String> nearCache;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public ProductNearCacheService(@Qualifier("redisTemplate") RedisTemplate<String, String> redisTemplate,
+                                   RedisMessageListenerContainer redisMessageListenerContainer,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${product.near-cache.max-size:10000}") long maxSize,
+                                   @Value("${product.near-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        // cache_gets{result=hit|miss}, cache_size, cache_evictions 등
+        CaffeineCacheMetrics.monitor(meterRegistry, nearCache, "product_near_cache");
+        Gauge.builder("product_near_cache_hit_ratio", nearCache, cache -> cache.stats().hitRate())
+                .description("Hit ratio of the in-process product near cache")
+                .register(meterRegistry);
+
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+        log.info("상품 near cache 초기화: nodeId={}, maxSize={}, ttlSeconds={}", nodeId, maxSize, ttlSeconds);
+    }
+
+    /**
+     * 로컬 캐시 → Redis 순서로 조회, Redis에서 찾은 값은 로컬 캐시에 적재
+     * @return 캐시 값 (없으면 null)
+     */
+    public String get(String key) {
+        String value = nearCache.getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+
+        value = redisTemplate.opsForValue().get(key);
+        if (value != null) {
+            nearCache.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Redis와 로컬 캐시에 저장하고 다른 노드에 무효화 전파
+     * @param ttl Redis 만료 시간 (null이면 만료 없음)
+     */
+    public void put(String key, String value, Duration ttl) {
+        if (ttl != null) {
+            redisTemplate.opsForValue().set(key, value, ttl);
+        } else {
+            redisTemplate.opsForValue().set(key, value);
+        }
+        nearCache.put(key, value);
+        publishInvalidation(List.of(key));
+    }
+
+    /**
+     * Redis에 이미 저장된(파이프라인 등) 값들을 로컬 캐시에 반영하고 다른 노드에 무효화 전파
+     */
+    public void onWritten(Map<String, String> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        nearCache.putAll(entries);
+        publishInvalidation(entries.keySet());
+    }
+
+    /**
+     * Redis와 로컬 캐시에서 삭제하고 다른 노드에 무효화 전파
+     * @return Redis 삭제 성공 여부
+     */
+    public boolean evict(String key) {
+        Boolean deleted = redisTemplate.delete(key);
+        nearCache.invalidate(key);
+        publishInvalidation(List.of(key));
+        return Boolean.TRUE.equals(deleted);
+    }
+
+    /**
+     * 무효화 메시지 발행 (실패해도 로컬 TTL로 정합성 회복)
+     */
+    private void publishInvalidation(Collection<String> keys) {
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + NODE_SEPARATOR + String.join(KEY_SEPARATOR, keys));
+        } catch (Exception e) {
+            log.warn("상품 캐시 무효화 메시지 발행 실패: keys={}, error={}", keys.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 다른 노드에서 발행한 무효화 메시지 수신
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            int separatorIndex = body.indexOf(NODE_SEPARATOR);
+            if (separatorIndex < 0) {
+                return;
+            }
+
+            // 자신이 발행한 메시지는 이미 로컬 캐시에 반영되어 있음
+            if (nodeId.equals(body.substring(0, separatorIndex))) {
+                return;
+            }
+
+            String[] keys = body.substring(separatorIndex + 1).split(KEY_SEPARATOR);
+            nearCache.invalidateAll(List.of(keys));
+            log.debug("상품 near cache 무효화 수신: count={}", keys.length);
+
+        } catch (Exception e) {
+            log.warn("상품 캐시 무효화 메시지 처리 실패: error={}", e.getMessage());
+        }
+    }
+}
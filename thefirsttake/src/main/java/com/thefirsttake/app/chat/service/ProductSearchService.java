@@ -1,6 +1,7 @@
 package com.thefirsttake.app.chat.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -22,7 +23,7 @@ import java.util.Map;
 public class ProductSearchService {
     private final RestTemplate restTemplate;
     
-    public ProductSearchService(RestTemplate restTemplate) {
+    public ProductSearchService(@Qualifier("productSearchRestTemplate") RestTemplate restTemplate) {
         this.restTemplate = restTemplate;
     }
     
@@ -1,15 +1,18 @@
 package com.thefirsttake.app.chat.service;
 
 import com.thefirsttake.app.chat.dto.response.ProductInfo;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 
 /**
  * 스트림 처리 중 상품 검색 및 캐싱을 담당하는 서비스
@@ -26,15 +29,18 @@ public class ProductSearchStreamService {
     private final ProductCacheService productCacheService;
     private final RedisTemplate<String, String> redisTemplate;
     private final StreamMetricsService streamMetricsService;
+    private final ProductNearCacheService productNearCacheService;
     
     public ProductSearchStreamService(ProductSearchService productSearchService,
                                      ProductCacheService productCacheService,
                                      @Qualifier("redisTemplate") RedisTemplate<String, String> redisTemplate,
-                                     StreamMetricsService streamMetricsService) {
+                                     StreamMetricsService streamMetricsService,
+                                     ProductNearCacheService productNearCacheService) {
         this.productSearchService = productSearchService;
         this.productCacheService = productCacheService;
         this.redisTemplate = redisTemplate;
         this.streamMetricsService = streamMetricsService;
+        this.productNearCacheService = productNearCacheService;
     }
     
     /**
@@ -100,54 +106,48 @@ public class ProductSearchStreamService {
     }
     
     /**
-     * 상품 URL을 Redis에 캐싱
+     * 상품 URL을 Redis에 캐싱 (파이프라인 한 번으로 일괄 저장)
      * @param productIds 상품 ID 리스트
      * @param productImageUrls 상품 이미지 URL 리스트
      */
     private void cacheProductUrlsToRedis(List<String> productIds, List<String> productImageUrls) {
         try {
-            // product URL을 Redis에 저장 (600분 만료)
+            // product URL을 Redis에 저장 (상품 캐시 공통 TTL)
             // 인코딩/디코딩 없이 원본 presigned URL 그대로 저장
+            Map<String, String> entries = new LinkedHashMap<>();
             for (int i = 0; i < productIds.size() && i < productImageUrls.size(); i++) {
-                try {
-                    String productId = productIds.get(i);
-                    String productUrl = productImageUrls.get(i);
-                    
-                    if (productId != null && productUrl != null && 
-                        !productId.trim().isEmpty() && !productUrl.trim().isEmpty()) {
-                        
-                        String redisKey = "product_url_" + productId.trim();
-                        
-                        try {
-                            redisTemplate.opsForValue().set(
-                                redisKey, 
-                                productUrl.trim(), 
-                                36000, // 600분 = 36000초
-                                TimeUnit.SECONDS
-                            );
-                            
-                            log.info("Product URL saved to Redis (raw): key={}, length(original)={}", 
-                                redisKey, productUrl.trim().length());
-                                
-                        } catch (Exception encodingException) {
-                            // 실패 시 원본 URL 직접 저장 시도
-                            redisTemplate.opsForValue().set(
-                                redisKey, 
-                                productUrl.trim(), 
-                                36000, 
-                                TimeUnit.SECONDS
-                            );
-                            
-                            log.warn("Saving raw URL with fallback: key={}, error={}", 
-                                redisKey, encodingException.getMessage());
-                        }
-                    }
-                } catch (Exception e) {
-                    log.warn("Failed to save product URL to Redis from search result: productId={}, productUrl={}, error={}", 
-                        productIds.get(i), productImageUrls.get(i), e.getMessage());
+                String productId = productIds.get(i);
+                String productUrl = productImageUrls.get(i);
+                
+                if (productId != null && productUrl != null && 
+                    !productId.trim().isEmpty() && !productUrl.trim().isEmpty()) {
+                    entries.put("product_url_" + productId.trim(), productUrl.trim());
                 }
             }
             
+            if (entries.isEmpty()) {
+                return;
+            }
+            
+            Timer.Sample timerSample = Timer.start();
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    for (Map.Entry<String, String> entry : entries.entrySet()) {
+                        ops.opsForValue().set(entry.getKey(), entry.getValue(), ProductCacheService.PRODUCT_CACHE_TTL);
+                    }
+                    return null;
+                }
+            });
+            streamMetricsService.recordProductCacheBatch("product_url", entries.size(), timerSample);
+            
+            // 로컬 near cache 반영 및 다른 노드 무효화
+            productNearCacheService.onWritten(entries);
+            
+            log.info("Product URLs saved to Redis (pipelined): count={}", entries.size());
+            
         } catch (Exception e) {
             log.error("Redis 상품 URL 캐싱 실패: error={}", e.getMessage(), e);
             // Redis 캐싱 실패는 전체 프로세스를 중단시키지 않음
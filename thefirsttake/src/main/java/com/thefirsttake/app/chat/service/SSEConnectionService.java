@@ -135,22 +135,22 @@ public class SSEConnectionService {
     
     /**
      * content 이벤트 전송 (실시간 스트림)
+     * - 스트림 중 반복 호출되는 경우 전문가별 SseTokenEventEncoder를 재사용하는 오버로드 사용 권장
      */
     public void sendContentEvent(SseEmitter emitter, String chunk, String agentId, String agentName) {
+        sendContentEvent(emitter, chunk, new SseTokenEventEncoder(agentId, agentName));
+    }
+    
+    /**
+     * content 이벤트 전송 (미리 인코딩된 전문가 정보 사용)
+     */
+    public void sendContentEvent(SseEmitter emitter, String chunk, SseTokenEventEncoder encoder) {
         try {
-            Map<String, Object> contentPayload = new HashMap<>();
-            contentPayload.put("message", chunk);
-            contentPayload.put("agent_id", agentId);
-            contentPayload.put("agent_name", agentName);
-            contentPayload.put("type", "content");
-            contentPayload.put("timestamp", System.currentTimeMillis());
-            
-            CommonResponse contentResponse = CommonResponse.success(contentPayload);
-            String json = OBJECT_MAPPER.writeValueAsString(contentResponse);
+            String json = encoder.encode(chunk, System.currentTimeMillis());
             emitter.send(SseEmitter.event().name("content").data(json));
             
         } catch (IOException e) {
-            log.warn("content 이벤트 전송 실패: agentId={}, chunk={}, error={}", agentId, chunk, e.getMessage());
+            log.warn("content 이벤트 전송 실패: agentId={}, chunk={}, error={}", encoder.getAgentId(), chunk, e.getMessage());
         }
     }
     
@@ -0,0 +1,210 @@
+package com.thefirsttake.app.chat.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * SSE content 이벤트 묶음 전송(coalescing) 서비스
+ * - 토큰마다 content 이벤트를 보내면 응답 하나에 수천 번의 write/flush가 발생
+ * - 전문가별로 짧은 시간(window-ms) 또는 일정 크기(max-bytes)까지 토큰을 모아 하나의 content 이벤트로 전송
+ * - 전문가가 바뀌거나 message(refer) 이벤트가 오면 즉시 전송해 이벤트 순서를 유지
+ */
+@Service
+@Slf4j
+public class SseContentCoalescingService {
+
+    private static final String[] FLUSH_TRIGGERS = {"size", "window", "boundary", "close"};
+
+    private final SSEConnectionService sseConnectionService;
+    private final ExecutorService blockingIoExecutor;
+    private final boolean enabled;
+    private final long windowMs;
+    private final int maxBytes;
+
+    // 전송 자체는 blocking I/O 실행기에서 수행하고, 이 스레드는 타이머 역할만 함
+    private final ScheduledExecutorService flushTimer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("sse-coalesce-timer").daemon(true).factory());
+
+    private final DistributionSummary eventsPerAnswer;
+    private final Map<String, DistributionSummary> flushBytesByTrigger;
+
+    public SseContentCoalescingService(SSEConnectionService sseConnectionService,
+                                       @Qualifier("blockingIoExecutor") ExecutorService blockingIoExecutor,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${chat.stream.coalesce.enabled:true}") boolean enabled,
+                                       @Value("${chat.stream.coalesce.window-ms:50}") long windowMs,
+                                       @Value("${chat.stream.coalesce.max-bytes:512}") int maxBytes) {
+        this.sseConnectionService = sseConnectionService;
+        this.blockingIoExecutor = blockingIoExecutor;
+        this.enabled = enabled;
+        this.windowMs = windowMs;
+        this.maxBytes = maxBytes;
+
+        this.eventsPerAnswer = DistributionSummary.builder("sse_content_events_per_answer")
+                .description("Number of SSE content events sent per streamed answer")
+                .baseUnit("events")
+                .register(meterRegistry);
+        Map<String, DistributionSummary> summaries = new HashMap<>();
+        for (String trigger : FLUSH_TRIGGERS) {
+            summaries.put(trigger, DistributionSummary.builder("sse_content_flush_bytes")
+                    .description("UTF-8 bytes of LLM tokens per SSE content event")
+                    .baseUnit("bytes")
+                    .tag("trigger", trigger)
+                    .register(meterRegistry));
+        }
+        this.flushBytesByTrigger = Map.copyOf(summaries);
+
+        log.info("SSE content coalescing 초기화: enabled={}, windowMs={}, maxBytes={}", enabled, windowMs, maxBytes);
+    }
+
+    /**
+     * 스트림(응답) 하나에 대한 coalescer 생성
+     */
+    public Coalescer open(SseEmitter emitter) {
+        return new Coalescer(emitter);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushTimer.shutdownNow();
+    }
+
+    /**
+     * 스트림 하나의 토큰 버퍼 (스트림 스레드와 타이머 전송이 동시에 접근하므로 잠금)
+     * - 전송 순서를 지키기 위해 잠금을 잡은 채 전송하므로, 가상 스레드 carrier를 고정(pinning)하는
+     *   synchronized 대신 ReentrantLock 사용
+     */
+    public final class Coalescer {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final SseEmitter emitter;
+        private final StringBuilder pending = new StringBuilder(256);
+        private SseTokenEventEncoder pendingEncoder;
+        private int pendingBytes;
+        private int eventCount;
+        private boolean closed;
+        private ScheduledFuture<?> scheduledFlush;
+
+        private Coalescer(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * 토큰 추가 - 조건을 만족하면 즉시 전송, 아니면 window 후 전송 예약
+         */
+        public void append(SseTokenEventEncoder encoder, String token) {
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                // 전문가가 바뀌면 이전 전문가의 토큰을 먼저 전송
+                if (pendingEncoder != null && pendingEncoder != encoder) {
+                    flushLocked("boundary");
+                }
+
+                pendingEncoder = encoder;
+                pending.append(token);
+                pendingBytes += utf8Length(token);
+
+                if (!enabled || pendingBytes >= maxBytes) {
+                    flushLocked("size");
+                } else if (scheduledFlush == null) {
+                    scheduledFlush = flushTimer.schedule(
+                            () -> blockingIoExecutor.execute(() -> flush("window")), windowMs, TimeUnit.MILLISECONDS);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 모인 토큰 즉시 전송 (전문가 경계, message/refer 이벤트 직전 등)
+         */
+        public void flush(String trigger) {
+            lock.lock();
+            try {
+                if (!closed) {
+                    flushLocked(trigger);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 남은 토큰 전송 후 종료 - 응답당 이벤트 수 기록 (여러 번 호출해도 한 번만 처리)
+         * @param sendPending false면 남은 토큰을 버림 (클라이언트 연결 종료 시)
+         */
+        public void close(boolean sendPending) {
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                if (sendPending) {
+                    flushLocked("close");
+                } else {
+                    cancelScheduledFlush();
+                }
+                closed = true;
+                eventsPerAnswer.record(eventCount);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void flushLocked(String trigger) {
+            cancelScheduledFlush();
+            if (pending.length() == 0) {
+                return;
+            }
+
+            sseConnectionService.sendContentEvent(emitter, pending.toString(), pendingEncoder);
+            flushBytesByTrigger.get(trigger).record(pendingBytes);
+            eventCount++;
+
+            pending.setLength(0);
+            pendingBytes = 0;
+        }
+
+        private void cancelScheduledFlush() {
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+        }
+    }
+
+    private static int utf8Length(String value) {
+        int bytes = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+}
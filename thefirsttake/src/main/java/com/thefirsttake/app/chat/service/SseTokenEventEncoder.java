@@ -0,0 +1,68 @@
+package com.thefirsttake.app.chat.service;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.thefirsttake.app.common.response.CommonResponse;
+
+/**
+ * content(토큰) 이벤트 전용 JSON 인코더
+ * - CommonResponse + HashMap + ObjectMapper 직렬화와 같은 JSON을 만들되,
+ *   전문가별로 변하지 않는 부분(status, agent_id, agent_name, type)은 생성 시 한 번만 인코딩
+ * - 토큰마다 이스케이프된 토큰과 timestamp만 재사용 버퍼에 기록
+ * - 스트림(연결) 하나에서 순차적으로 사용하는 용도이며 스레드 안전하지 않음
+ *
+ * 출력 형식 (토큰이 null이면 기존 직렬화와 같이 "message":null):
+ * {"status":"success","message":"요청 성공","data":{"agent_id":"...","agent_name":"...","type":"content","message":"토큰","timestamp":123}}
+ */
+public final class SseTokenEventEncoder {
+
+    private static final JsonStringEncoder JSON_STRING_ENCODER = JsonStringEncoder.getInstance();
+    private static final String SUFFIX_BEFORE_TIMESTAMP = ",\"timestamp\":";
+    private static final String SUFFIX = "}}";
+
+    private final String agentId;
+    private final String prefix;
+    private final StringBuilder buffer;
+
+    public SseTokenEventEncoder(String agentId, String agentName) {
+        this.agentId = agentId;
+
+        CommonResponse envelope = CommonResponse.success(null);
+        StringBuilder head = new StringBuilder(128);
+        head.append("{\"status\":");
+        appendQuoted(head, envelope.getStatus());
+        head.append(",\"message\":");
+        appendQuoted(head, envelope.getMessage());
+        head.append(",\"data\":{\"agent_id\":");
+        appendQuoted(head, agentId);
+        head.append(",\"agent_name\":");
+        appendQuoted(head, agentName);
+        head.append(",\"type\":\"content\",\"message\":");
+        this.prefix = head.toString();
+        this.buffer = new StringBuilder(prefix.length() + 64);
+    }
+
+    public String getAgentId() {
+        return agentId;
+    }
+
+    /**
+     * 토큰 하나를 content 이벤트 JSON으로 인코딩
+     */
+    public String encode(String token, long timestamp) {
+        buffer.setLength(0);
+        buffer.append(prefix);
+        appendQuoted(buffer, token);
+        buffer.append(SUFFIX_BEFORE_TIMESTAMP).append(timestamp).append(SUFFIX);
+        return buffer.toString();
+    }
+
+    private static void appendQuoted(StringBuilder target, String value) {
+        if (value == null) {
+            target.append("null");
+            return;
+        }
+        target.append('"');
+        JSON_STRING_ENCODER.quoteAsString(value, target);
+        target.append('"');
+    }
+}
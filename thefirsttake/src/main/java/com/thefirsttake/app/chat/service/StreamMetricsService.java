@@ -153,6 +153,22 @@ public class StreamMetricsService {
         log.debug("상품 검색 API 호출 완료: success={}", success);
     }
     
+    /**
+     * 상품 캐시 배치 쓰기 기록 - 배치 크기 및 Redis 파이프라인 소요 시간
+     * @param operation 배치 종류 (product_info, product_url)
+     * @param batchSize 배치에 포함된 항목 수
+     * @param timerSample 파이프라인 시작 시점의 타이머 샘플
+     */
+    public void recordProductCacheBatch(String operation, int batchSize, Timer.Sample timerSample) {
+        timerSample.stop(createTimer("product_cache_batch_duration",
+                "Redis pipeline latency of product cache batch writes", "operation", operation));
+        createDistributionSummary("product_cache_batch_size",
+                "Number of entries per product cache batch write", "entries", "operation", operation)
+                .record(batchSize);
+        
+        log.debug("상품 캐시 배치 저장: operation={}, batchSize={}", operation, batchSize);
+    }
+    
     /**
      * 메모리 사용량 기록
      * @param connectionId 연결 식별자
@@ -1,27 +1,155 @@
 package com.thefirsttake.app.common.user.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.thefirsttake.app.common.user.entity.UserEntity;
 import com.thefirsttake.app.common.user.repository.UserEntityRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * 사용자 식별 서비스
+ * - sessionId → 사용자, userId → 사용자 조회를 read-through 캐시로 처리 (메시지마다 findBySessionId 방지)
+ * - 로그인 등 사용자 정보가 바뀌는 시점에 evictUser로 무효화하고 Redis pub/sub으로 다른 노드에 전파
+ * - 무효화 메시지가 유실돼도 저장 후 ttl-minutes가 지나면 다시 조회하므로 오래된 값은 그 이상 남지 않음
+ */
 @Service
-@RequiredArgsConstructor
-public class UserSessionService {
+@Slf4j
+public class UserSessionService implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "user_cache:invalidate";
+
+    // 무효화 메시지 형식: {nodeId}|{userId}
+    private static final String NODE_SEPARATOR = "|";
+
     private final UserEntityRepository userEntityRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Cache<String, UserEntity> sessionUserCache;
+    private final Cache<Long, UserEntity> userByIdCache;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public UserSessionService(UserEntityRepository userEntityRepository,
+                              @Qualifier("redisTemplate") RedisTemplate<String, String> redisTemplate,
+                              RedisMessageListenerContainer redisMessageListenerContainer,
+                              MeterRegistry meterRegistry,
+                              @Value("${chat.identity-cache.max-size:10000}") long maxSize,
+                              @Value("${chat.identity-cache.ttl-minutes:30}") long ttlMinutes) {
+        this.userEntityRepository = userEntityRepository;
+        this.redisTemplate = redisTemplate;
+        this.sessionUserCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        this.userByIdCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, sessionUserCache, "chat_user_entity_cache");
+        CaffeineCacheMetrics.monitor(meterRegistry, userByIdCache, "user_by_id_cache");
+
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
     public UserEntity getUser(String sessionId){
+        UserEntity cached = sessionUserCache.getIfPresent(sessionId);
+        if (cached != null) {
+            return cached;
+        }
         // findBySessionId는 Optional<UserEntity>를 반환합니다.
         // Optional 안에 UserEntity가 있으면 그 UserEntity를 반환하고,
-        // 없으면 null을 반환합니다.
-        return userEntityRepository.findBySessionId(sessionId).orElse(null);
+        // 없으면 null을 반환합니다. (없는 경우는 캐시하지 않음)
+        UserEntity userEntity = userEntityRepository.findBySessionId(sessionId).orElse(null);
+        if (userEntity != null) {
+            cacheUser(sessionId, userEntity);
+        }
+        return userEntity;
     }
+
     public UserEntity getOrCreateGuestUser(String sessionId){
-        return userEntityRepository.findBySessionId(sessionId)
-                .orElseGet(()->{
-                   UserEntity newUserEntity=new UserEntity();
-                   newUserEntity.setSessionId(sessionId);
-                   newUserEntity.setIsGuest(true);
-                   return userEntityRepository.save(newUserEntity);
-                });
+        return sessionUserCache.get(sessionId, id -> {
+            UserEntity userEntity = userEntityRepository.findBySessionId(id)
+                    .orElseGet(()->{
+                       UserEntity newUserEntity=new UserEntity();
+                       newUserEntity.setSessionId(id);
+                       newUserEntity.setIsGuest(true);
+                       return userEntityRepository.save(newUserEntity);
+                    });
+            userByIdCache.put(userEntity.getId(), userEntity);
+            return userEntity;
+        });
+    }
+
+    /**
+     * ID로 사용자 조회 (채팅방 소유자 조회 등)
+     */
+    public UserEntity getUserById(Long userId) {
+        return userByIdCache.get(userId, id -> userEntityRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("User not found with ID: " + id)));
+    }
+
+    /**
+     * 사용자 캐시 무효화 (로그인 등으로 사용자 정보가 바뀐 경우) - 다른 노드에도 전파
+     */
+    public void evictUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        invalidateLocally(userId);
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + NODE_SEPARATOR + userId);
+        } catch (Exception e) {
+            // 유실돼도 다른 노드는 ttl-minutes 안에 다시 조회함
+            log.warn("사용자 캐시 무효화 메시지 발행 실패: userId={}, error={}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 다른 노드에서 발행한 무효화 메시지 수신
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            int separatorIndex = body.indexOf(NODE_SEPARATOR);
+            if (separatorIndex < 0) {
+                return;
+            }
+
+            // 자신이 발행한 메시지는 이미 로컬 캐시에 반영되어 있음
+            if (nodeId.equals(body.substring(0, separatorIndex))) {
+                return;
+            }
+            invalidateLocally(Long.valueOf(body.substring(separatorIndex + 1)));
+
+        } catch (Exception e) {
+            log.warn("사용자 캐시 무효화 메시지 처리 실패: error={}", e.getMessage());
+        }
+    }
+
+    private void invalidateLocally(Long userId) {
+        userByIdCache.invalidate(userId);
+        sessionUserCache.asMap().values().removeIf(user -> userId.equals(user.getId()));
+        log.debug("사용자 캐시 무효화: userId={}", userId);
+    }
+
+    private void cacheUser(String sessionId, UserEntity userEntity) {
+        sessionUserCache.put(sessionId, userEntity);
+        userByIdCache.put(userEntity.getId(), userEntity);
     }
 }
@@ -1,14 +1,25 @@
 package com.thefirsttake.app.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableAsync
+@Slf4j
 public class AsyncConfig {
     @Bean(name = "taskExecutor") // 빈 이름 지정
     public Executor taskExecutor() {
@@ -20,4 +31,34 @@ public class AsyncConfig {
         executor.initialize(); // 스레드 풀 초기화
         return executor;
     }
+
+    /**
+     * 블로킹 I/O 전용 실행기 (스트림 오케스트레이션, 상품 조회, 가상피팅 폴링)
+     * - virtual-threads=true: 작업마다 가상 스레드 생성 (풀 크기 튜닝 불필요)
+     * - virtual-threads=false: 플랫폼 스레드 풀 (비교/롤백용)
+     *   이 실행기의 작업이 같은 실행기에 제출한 작업을 join/block으로 기다리는 경로가 있으므로
+     *   (스트림 오케스트레이션, 이미지 준비 등) 작업을 큐에 쌓지 않음: pool-size 이상은 스레드를 늘리고
+     *   max-pool-size까지 차면 제출한 스레드에서 직접 실행 (고정 풀 + 큐는 동시 요청이 풀 크기에 닿으면 교착)
+     * 두 모드 모두 executor_* 메트릭에 mode 태그로 구분되어 기록됨
+     */
+    @Bean(name = "blockingIoExecutor", destroyMethod = "shutdown")
+    public ExecutorService blockingIoExecutor(MeterRegistry meterRegistry,
+                                              @Value("${executor.blocking-io.virtual-threads:true}") boolean virtualThreads,
+                                              @Value("${executor.blocking-io.pool-size:10}") int poolSize,
+                                              @Value("${executor.blocking-io.max-pool-size:200}") int maxPoolSize) {
+        ExecutorService executor;
+        String mode;
+        if (virtualThreads) {
+            executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("vt-blocking-io-", 0).factory());
+            mode = "virtual";
+        } else {
+            executor = new ThreadPoolExecutor(poolSize, Math.max(poolSize, maxPoolSize), 60L, TimeUnit.SECONDS,
+                    new SynchronousQueue<>(), Thread.ofPlatform().name("blocking-io-", 0).factory(),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+            mode = "platform";
+        }
+        log.info("블로킹 I/O 실행기 초기화: mode={}, poolSize={}, maxPoolSize={}", mode,
+                virtualThreads ? "unbounded" : poolSize, virtualThreads ? "unbounded" : maxPoolSize);
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "blocking_io", Tags.of("mode", mode));
+    }
 }
@@ -426,4 +426,26 @@ public class MetricsConfig {
                 .register(meterRegistry);
     }
     
+    // ===== 실행기(스레드) 관련 메트릭 =====
+    
+    /**
+     * 가상 스레드 캐리어 고정(pinning) 및 제출 실패 메트릭
+     * jvm_threads_virtual_pinned_seconds, jvm_threads_virtual_submit_failed_total
+     */
+    @Bean
+    public io.micrometer.java21.instrument.binder.jdk.VirtualThreadMetrics virtualThreadMetrics() {
+        return new io.micrometer.java21.instrument.binder.jdk.VirtualThreadMetrics();
+    }
+    
+    /**
+     * ForkJoinPool 공용 풀 메트릭 (blocking_io 실행기와 처리량 비교용)
+     * MeterBinder 빈이므로 레지스트리 바인딩은 Spring Boot가 수행
+     */
+    @Bean
+    public io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics forkJoinCommonPoolMetrics() {
+        return new io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics(
+                java.util.concurrent.ForkJoinPool.commonPool(), "fork_join_common",
+                io.micrometer.core.instrument.Tags.of("mode", "platform"));
+    }
+    
 }
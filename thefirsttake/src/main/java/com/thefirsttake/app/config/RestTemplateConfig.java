@@ -1,19 +1,157 @@
 package com.thefirsttake.app.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 업스트림별 RestTemplate 설정 (Apache HttpClient 5 커넥션 풀)
+ * - 업스트림마다 별도 커넥션 풀을 사용해 느린 FitRoom/이미지 호스트가 상품 검색 소켓을 고갈시키지 않도록 분리
+ * - 풀 크기, 라우트당 최대 커넥션, 타임아웃은 http.client.{upstream}.* 로 설정
+ * - 풀 상태는 http_client_pool_connections{upstream,state} 메트릭으로 확인
+ */
 @Configuration
-public class RestTemplateConfig {
+@Slf4j
+public class RestTemplateConfig implements DisposableBean {
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final List<CloseableHttpClient> httpClients = new CopyOnWriteArrayList<>();
+
+    public RestTemplateConfig(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
 
+    /**
+     * 기본 RestTemplate (LLM 단일 전문가 호출 등 별도 지정이 없는 호출)
+     */
     @Bean
+    @Primary
     public RestTemplate restTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(30000); // 연결 타임아웃 30초 (이미지 다운로드용)
-        factory.setReadTimeout(60000);    // 읽기 타임아웃 60초 (대용량 이미지 다운로드용)
-        
-        return new RestTemplate(factory);
+        return pooledRestTemplate("default");
+    }
+
+    /**
+     * 상품 검색 (/search/, /search/{productId})
+     */
+    @Bean(name = "productSearchRestTemplate")
+    public RestTemplate productSearchRestTemplate() {
+        return pooledRestTemplate("product-search");
+    }
+
+    /**
+     * 카카오 OAuth/사용자 정보
+     */
+    @Bean(name = "kakaoRestTemplate")
+    public RestTemplate kakaoRestTemplate() {
+        return pooledRestTemplate("kakao");
+    }
+
+    /**
+     * FitRoom 가상피팅 API (작업 생성, 상태 조회, 결과 다운로드)
+     */
+    @Bean(name = "fitRoomRestTemplate")
+    public RestTemplate fitRoomRestTemplate() {
+        return pooledRestTemplate("fitroom");
+    }
+
+    /**
+     * 외부 이미지 프록시/다운로드
+     */
+    @Bean(name = "imageProxyRestTemplate")
+    public RestTemplate imageProxyRestTemplate() {
+        return pooledRestTemplate("image-proxy");
+    }
+
+    private RestTemplate pooledRestTemplate(String upstream) {
+        int maxConnections = property(upstream, "max-connections", 50);
+        int maxPerRoute = property(upstream, "max-per-route", 20);
+        int connectTimeoutMs = property(upstream, "connect-timeout-ms", 5000);
+        int readTimeoutMs = property(upstream, "read-timeout-ms", 30000);
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setTimeToLive(TimeValue.ofMilliseconds(property(upstream, "max-life-time-ms", 300000)))
+                        // 오래 쉬었던 커넥션은 재사용 전에 상태 확인 (서버 측 keep-alive 종료 대비)
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        // 풀이 가득 찼을 때 커넥션을 기다리는 최대 시간 (초과 시 즉시 실패)
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(property(upstream, "acquire-timeout-ms", 3000)))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictIdleConnections(TimeValue.ofMilliseconds(property(upstream, "max-idle-time-ms", 30000)))
+                .evictExpiredConnections()
+                .build();
+        httpClients.add(httpClient);
+
+        registerPoolMetrics(upstream, connectionManager);
+        log.info("RestTemplate 커넥션 풀 초기화: upstream={}, maxConnections={}, maxPerRoute={}, connectTimeoutMs={}, readTimeoutMs={}",
+                upstream, maxConnections, maxPerRoute, connectTimeoutMs, readTimeoutMs);
+
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+
+    private void registerPoolMetrics(String upstream, PoolingHttpClientConnectionManager connectionManager) {
+        registerPoolGauge(upstream, "leased", connectionManager, PoolStats::getLeased);
+        registerPoolGauge(upstream, "available", connectionManager, PoolStats::getAvailable);
+        registerPoolGauge(upstream, "pending", connectionManager, PoolStats::getPending);
+        Gauge.builder("http_client_pool_max_connections", connectionManager, manager -> manager.getTotalStats().getMax())
+                .description("Maximum connections of the upstream HTTP client pool")
+                .tag("upstream", upstream)
+                .register(meterRegistry);
+    }
+
+    private void registerPoolGauge(String upstream, String state, PoolingHttpClientConnectionManager connectionManager,
+                                   ToDoubleFunction<PoolStats> value) {
+        Gauge.builder("http_client_pool_connections", connectionManager, manager -> value.applyAsDouble(manager.getTotalStats()))
+                .description("Connections of the upstream HTTP client pool by state")
+                .tag("upstream", upstream)
+                .tag("state", state)
+                .register(meterRegistry);
+    }
+
+    private int property(String upstream, String name, int defaultValue) {
+        return environment.getProperty("http.client." + upstream + "." + name, Integer.class, defaultValue);
+    }
+
+    @Override
+    public void destroy() {
+        for (CloseableHttpClient httpClient : httpClients) {
+            try {
+                httpClient.close();
+            } catch (Exception e) {
+                log.warn("HTTP 클라이언트 종료 실패: error={}", e.getMessage());
+            }
+        }
     }
 }
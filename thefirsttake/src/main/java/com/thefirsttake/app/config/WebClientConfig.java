@@ -0,0 +1,112 @@
+package com.thefirsttake.app.config;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 업스트림별 WebClient 설정 (Reactor Netty 커넥션 풀)
+ * - 요청마다 WebClient.Builder.build()를 호출하지 않고 업스트림별 WebClient 빈을 공유
+ * - 풀 크기, 대기 한도, 유휴 커넥션 정리, 타임아웃은 http.client.{upstream}.* 로 설정
+ * - reactor_netty_connection_provider_* 메트릭의 name 태그로 풀을 구분
+ */
+@Configuration
+@Slf4j
+public class WebClientConfig {
+
+    private static final String LLM_STREAM = "llm-stream";
+    private static final String EXPERT_STREAM = "expert-stream";
+
+    private final Environment environment;
+
+    public WebClientConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * 새 LLM 서버(langgraph fashion_search) 스트림용 커넥션 풀
+     */
+    @Bean(name = "llmStreamConnectionProvider", destroyMethod = "dispose")
+    public ConnectionProvider llmStreamConnectionProvider() {
+        return connectionProvider(LLM_STREAM);
+    }
+
+    /**
+     * 기존 전문가 스트림(llm.server.expert-stream-url)용 커넥션 풀
+     */
+    @Bean(name = "expertStreamConnectionProvider", destroyMethod = "dispose")
+    public ConnectionProvider expertStreamConnectionProvider() {
+        return connectionProvider(EXPERT_STREAM);
+    }
+
+    @Bean(name = "llmStreamWebClient")
+    public WebClient llmStreamWebClient(WebClient.Builder webClientBuilder,
+                                        @Qualifier("llmStreamConnectionProvider") ConnectionProvider connectionProvider) {
+        return pooledWebClient(webClientBuilder, connectionProvider, LLM_STREAM);
+    }
+
+    @Bean(name = "expertStreamWebClient")
+    public WebClient expertStreamWebClient(WebClient.Builder webClientBuilder,
+                                           @Qualifier("expertStreamConnectionProvider") ConnectionProvider connectionProvider) {
+        return pooledWebClient(webClientBuilder, connectionProvider, EXPERT_STREAM);
+    }
+
+    private ConnectionProvider connectionProvider(String upstream) {
+        int maxConnections = property(upstream, "max-connections", 100);
+        int pendingAcquireMaxCount = property(upstream, "pending-acquire-max-count", 200);
+
+        log.info("WebClient 커넥션 풀 초기화: upstream={}, maxConnections={}, pendingAcquireMaxCount={}",
+                upstream, maxConnections, pendingAcquireMaxCount);
+
+        return ConnectionProvider.builder(upstream)
+                .maxConnections(maxConnections)
+                // 풀이 가득 찼을 때 커넥션을 기다리는 요청 수/시간 한도 (초과 시 즉시 실패)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(property(upstream, "pending-acquire-timeout-ms", 5000)))
+                // 유휴/오래된 커넥션 정리 (LB·서버 측 keep-alive 종료 전에 먼저 닫음)
+                .maxIdleTime(Duration.ofMillis(property(upstream, "max-idle-time-ms", 30000)))
+                .maxLifeTime(Duration.ofMillis(property(upstream, "max-life-time-ms", 300000)))
+                .evictInBackground(Duration.ofMillis(property(upstream, "evict-interval-ms", 30000)))
+                .metrics(true)
+                .build();
+    }
+
+    private WebClient pooledWebClient(WebClient.Builder webClientBuilder, ConnectionProvider connectionProvider,
+                                      String upstream) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, property(upstream, "connect-timeout-ms", 5000))
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                // 응답 수신 중 읽기 간격 제한 (첫 토큰 대기 포함, 스트림 전체 시간은 제한하지 않음)
+                .responseTimeout(Duration.ofMillis(property(upstream, "response-timeout-ms", 60000)))
+                .metrics(true, Function.identity());
+
+        if (Boolean.TRUE.equals(environment.getProperty(prefix(upstream) + "http2-enabled", Boolean.class, true))) {
+            // TLS(ALPN)로 h2를 협상하고, 지원하지 않는 서버는 HTTP/1.1 사용
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+
+        // 기본 빌더 설정(코덱, ObjectMapper)을 유지하기 위해 복제해서 사용
+        return webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    private int property(String upstream, String name, int defaultValue) {
+        return environment.getProperty(prefix(upstream) + name, Integer.class, defaultValue);
+    }
+
+    private static String prefix(String upstream) {
+        return "http.client." + upstream + ".";
+    }
+}
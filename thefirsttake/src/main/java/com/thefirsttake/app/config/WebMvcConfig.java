@@ -0,0 +1,29 @@
+package com.thefirsttake.app.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Spring MVC 비동기 처리 설정
+ * - StreamingResponseBody(이미지 프록시 스트리밍)를 blocking I/O 실행기에서 실행
+ *   (기본값인 SimpleAsyncTaskExecutor는 스트림마다 플랫폼 스레드를 새로 생성)
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ExecutorService blockingIoExecutor;
+
+    public WebMvcConfig(@Qualifier("blockingIoExecutor") ExecutorService blockingIoExecutor) {
+        this.blockingIoExecutor = blockingIoExecutor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(blockingIoExecutor));
+    }
+}
@@ -2,9 +2,14 @@ package com.thefirsttake.app.fitting.client;
 
 import com.thefirsttake.app.fitting.dto.response.FitRoomTaskResponse;
 import com.thefirsttake.app.fitting.dto.response.FitRoomTaskStatus;
+import com.thefirsttake.app.fitting.service.GarmentImageStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.util.LinkedMultiValueMap;
@@ -12,19 +17,50 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 @Component
 @Slf4j
 public class FitRoomApiClient {
     
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36";
+    
     private final RestTemplate restTemplate;
     private final String apiKey;
     private final String baseUrl = "https://platform.fitroom.app";
+    private final GarmentImageStore garmentImageStore;
+    private final ExecutorService blockingIoExecutor;
+    private final MeterRegistry meterRegistry;
+    private final long imageAcquireTimeoutMs;
     
-    public FitRoomApiClient(RestTemplate restTemplate, @Value("${fitroom.api.key}") String apiKey) {
+    public FitRoomApiClient(@Qualifier("fitRoomRestTemplate") RestTemplate restTemplate, @Value("${fitroom.api.key}") String apiKey,
+                            GarmentImageStore garmentImageStore,
+                            @Qualifier("blockingIoExecutor") ExecutorService blockingIoExecutor,
+                            MeterRegistry meterRegistry,
+                            @Value("${fitting.image-acquire.timeout-ms:15000}") long imageAcquireTimeoutMs) {
         this.restTemplate = restTemplate;
         this.apiKey = apiKey;
+        this.garmentImageStore = garmentImageStore;
+        this.blockingIoExecutor = blockingIoExecutor;
+        this.meterRegistry = meterRegistry;
+        this.imageAcquireTimeoutMs = imageAcquireTimeoutMs;
     }
     
     /**
@@ -36,19 +72,9 @@ public class FitRoomApiClient {
             // Multipart 데이터 구성
             MultiValueMap<String, Object> formData = new LinkedMultiValueMap<>();
             
-            // 파일을 ByteArrayResource로 변환
-            formData.add("model_image", new ByteArrayResource(modelImage.getBytes()) {
-                @Override
-                public String getFilename() {
-                    return modelImage.getOriginalFilename();
-                }
-            });
-            formData.add("cloth_image", new ByteArrayResource(clothImage.getBytes()) {
-                @Override
-                public String getFilename() {
-                    return clothImage.getOriginalFilename();
-                }
-            });
+            // 업로드 파일을 byte[]로 복사하지 않고 서블릿이 디스크에 저장한 파일을 전송 시점에 스트리밍
+            formData.add("model_image", modelImage.getResource());
+            formData.add("cloth_image", clothImage.getResource());
             formData.add("cloth_type", clothType);
             
             if (hdMode) {
@@ -72,9 +98,6 @@ public class FitRoomApiClient {
             
             return response.getBody().getTaskId();
             
-        } catch (IOException e) {
-            log.error("파일 읽기 실패", e);
-            throw new RuntimeException("파일 읽기 실패: " + e.getMessage(), e);
         } catch (Exception e) {
             log.error("FitRoom 작업 생성 실패", e);
             throw new RuntimeException("FitRoom 작업 생성 실패: " + e.getMessage(), e);
@@ -90,25 +113,10 @@ public class FitRoomApiClient {
             // Multipart 데이터 구성
             MultiValueMap<String, Object> formData = new LinkedMultiValueMap<>();
             
-            // 파일을 ByteArrayResource로 변환
-            formData.add("model_image", new ByteArrayResource(modelImage.getBytes()) {
-                @Override
-                public String getFilename() {
-                    return modelImage.getOriginalFilename();
-                }
-            });
-            formData.add("cloth_image", new ByteArrayResource(clothImage.getBytes()) {
-                @Override
-                public String getFilename() {
-                    return clothImage.getOriginalFilename();
-                }
-            });
-            formData.add("lower_cloth_image", new ByteArrayResource(lowerClothImage.getBytes()) {
-                @Override
-                public String getFilename() {
-                    return lowerClothImage.getOriginalFilename();
-                }
-            });
+            // 업로드 파일을 byte[]로 복사하지 않고 서블릿이 디스크에 저장한 파일을 전송 시점에 스트리밍
+            formData.add("model_image", modelImage.getResource());
+            formData.add("cloth_image", clothImage.getResource());
+            formData.add("lower_cloth_image", lowerClothImage.getResource());
             formData.add("cloth_type", "combo");
             
             if (hdMode) {
@@ -132,9 +140,6 @@ public class FitRoomApiClient {
             
             return response.getBody().getTaskId();
             
-        } catch (IOException e) {
-            log.error("파일 읽기 실패", e);
-            throw new RuntimeException("파일 읽기 실패: " + e.getMessage(), e);
         } catch (Exception e) {
             log.error("FitRoom 콤보 작업 생성 실패", e);
             throw new RuntimeException("FitRoom 콤보 작업 생성 실패: " + e.getMessage(), e);
@@ -142,41 +147,38 @@ public class FitRoomApiClient {
     }
     
     /**
-     * URL에서 이미지 다운로드 (presigned URL 직접 사용)
+     * URL에서 이미지를 임시 파일로 스트리밍 다운로드 (presigned URL 직접 사용, 메모리에 모으지 않음)
      */
-    private byte[] downloadImageFromUrl(String imageUrl) {
+    private Path downloadImageToTempFile(String imageUrl, TempFiles tempFiles) {
         try {
             log.info("=== 이미지 다운로드 시작 ===");
             log.info("받은 URL: {}", imageUrl);
             log.info("URL 길이: {} characters", imageUrl.length());
             log.info("URL에 X-Amz 포함 여부: {}", imageUrl.contains("X-Amz"));
-            
-            // presigned URL을 그대로 사용 (추가 디코딩 없이)
-            String finalUrl = imageUrl;
-            log.info("최종 다운로드 URL: {}", finalUrl);
-            
-        // GET 요청 헤더 설정
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36");
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-        
-        // GET 요청으로 다운로드 시도 (이미 인코딩된 presigned URL을 그대로 사용)
-        log.info("RestTemplate GET 요청 시작: {}", finalUrl);
-        java.net.URI uri = org.springframework.web.util.UriComponentsBuilder
-            .fromUriString(finalUrl)
-            .build(true) // encoded=true: 이미 인코딩된 URL 그대로 사용
-            .toUri();
-        ResponseEntity<byte[]> response = restTemplate.exchange(uri, HttpMethod.GET, entity, byte[].class);
-        log.info("RestTemplate 응답 받음: status={}, contentLength={}",
-            response.getStatusCode(), response.getBody() != null ? response.getBody().length : 0);
-            
-            if (response.getBody() == null || response.getBody().length == 0) {
+
+            Path file = tempFiles.create();
+            // presigned URL은 이미 인코딩되어 있으므로 그대로 사용
+            java.net.URI uri = org.springframework.web.util.UriComponentsBuilder
+                .fromUriString(imageUrl)
+                .build(true) // encoded=true: 이미 인코딩된 URL 그대로 사용
+                .toUri();
+            Long size = restTemplate.execute(uri, HttpMethod.GET,
+                    request -> request.getHeaders().set("User-Agent", USER_AGENT),
+                    response -> {
+                        // 요청이 이미 끝나 임시 파일이 삭제됐으면 다시 만들지 않음 (CREATE 옵션 없음)
+                        try (InputStream body = response.getBody();
+                             OutputStream out = Files.newOutputStream(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                            return body.transferTo(out);
+                        }
+                    });
+
+            if (size == null || size == 0) {
                 throw new RuntimeException("다운로드된 이미지가 비어있습니다: " + imageUrl);
             }
-            
-            log.info("이미지 다운로드 완료: {} ({} bytes)", finalUrl, response.getBody().length);
-            return response.getBody();
-            
+
+            log.info("이미지 다운로드 완료: {} ({} bytes)", imageUrl, size);
+            return file;
+
         } catch (Exception e) {
             log.error("=== 이미지 다운로드 실패 상세 정보 ===");
             log.error("실패한 URL: {}", imageUrl);
@@ -212,7 +214,18 @@ public class FitRoomApiClient {
      */
     public String createComboTaskWithUrls(MultipartFile modelImage, String modelImageUrl, 
                                         String clothImageUrl, String lowerClothImageUrl, boolean hdMode) {
-        try {
+        return createComboTaskWithUrls(modelImage, modelImageUrl, null, clothImageUrl, null, lowerClothImageUrl, hdMode);
+    }
+    
+    /**
+     * FitRoom에 콤보 가상피팅 작업 생성 (URL 방식, 상품 ID 지정)
+     * 상품 ID가 있으면 로컬 상품 이미지 저장소의 파일을 그대로 스트리밍해 전송 (같은 상품은 재다운로드 없음)
+     */
+    public String createComboTaskWithUrls(MultipartFile modelImage, String modelImageUrl,
+                                        String upperProductId, String clothImageUrl,
+                                        String lowerProductId, String lowerClothImageUrl, boolean hdMode) {
+        // URL에서 받은 이미지는 임시 파일로 전송하고 작업 생성이 끝나면 삭제
+        try (TempFiles tempFiles = new TempFiles()) {
             log.info("=== createComboTaskWithUrls 호출 ===");
             log.info("modelImageUrl: {}", modelImageUrl);
             log.info("clothImageUrl: {}", clothImageUrl);
@@ -223,62 +236,49 @@ public class FitRoomApiClient {
             if (clothImageUrl != null) clothImageUrl = clothImageUrl.trim();
             if (lowerClothImageUrl != null) lowerClothImageUrl = lowerClothImageUrl.trim();
             
-            // Multipart 데이터 구성
-            MultiValueMap<String, Object> formData = new LinkedMultiValueMap<>();
+            String finalModelImageUrl = modelImageUrl;
+            String finalClothImageUrl = clothImageUrl;
+            String finalLowerClothImageUrl = lowerClothImageUrl;
             
-            // 모델 이미지 처리 (파일 또는 URL)
+            // 모델/상의/하의 이미지를 동시에 준비 (소스별 타임아웃, 하나라도 실패하면 나머지를 기다리지 않고 실패)
+            Map<String, CompletableFuture<Resource>> images = new LinkedHashMap<>();
             if (modelImage != null) {
                 // 파일로 처리
-                formData.add("model_image", new ByteArrayResource(modelImage.getBytes()) {
-                    @Override
-                    public String getFilename() {
-                        return modelImage.getOriginalFilename();
-                    }
-                });
+                images.put("model_image", acquireImage("model", "모델", modelImage::getResource));
             } else if (modelImageUrl != null) {
                 // URL에서 다운로드해서 파일로 처리
-                byte[] imageBytes = downloadImageFromUrl(modelImageUrl);
-                formData.add("model_image", new ByteArrayResource(imageBytes) {
-                    @Override
-                    public String getFilename() {
-                        return "model.jpg";
-                    }
-                });
+                images.put("model_image", acquireImage("model", "모델", () ->
+                        namedFileResource(downloadImageToTempFile(finalModelImageUrl, tempFiles), "model.jpg")));
             }
             
-            // 상의 이미지 처리 (URL에서 다운로드)
+            // 상의 이미지 처리 (저장소 또는 URL에서 다운로드)
             if (clothImageUrl != null) {
-                byte[] imageBytes;
-                try {
-                    imageBytes = downloadImageFromUrl(clothImageUrl);
-                } catch (Exception ex) {
-                    String diag = buildUrlDiagnostics("upper", clothImageUrl);
-                    throw new RuntimeException("상의 이미지 다운로드 실패: " + ex.getMessage() + " | " + diag, ex);
-                }
-                formData.add("cloth_image", new ByteArrayResource(imageBytes) {
-                    @Override
-                    public String getFilename() {
-                        return "cloth.jpg";
+                images.put("cloth_image", acquireImage("upper", "상의", () -> {
+                    try {
+                        return garmentImageResource(upperProductId, finalClothImageUrl, "cloth.jpg", tempFiles);
+                    } catch (Exception ex) {
+                        String diag = buildUrlDiagnostics("upper", finalClothImageUrl);
+                        throw new RuntimeException(ex.getMessage() + " | " + diag, ex);
                     }
-                });
+                }));
             }
             
-            // 하의 이미지 처리 (URL에서 다운로드)
+            // 하의 이미지 처리 (저장소 또는 URL에서 다운로드)
             if (lowerClothImageUrl != null) {
-                byte[] imageBytes;
-                try {
-                    imageBytes = downloadImageFromUrl(lowerClothImageUrl);
-                } catch (Exception ex) {
-                    String diag = buildUrlDiagnostics("lower", lowerClothImageUrl);
-                    throw new RuntimeException("하의 이미지 다운로드 실패: " + ex.getMessage() + " | " + diag, ex);
-                }
-                formData.add("lower_cloth_image", new ByteArrayResource(imageBytes) {
-                    @Override
-                    public String getFilename() {
-                        return "lower_cloth.jpg";
+                images.put("lower_cloth_image", acquireImage("lower", "하의", () -> {
+                    try {
+                        return garmentImageResource(lowerProductId, finalLowerClothImageUrl, "lower_cloth.jpg", tempFiles);
+                    } catch (Exception ex) {
+                        String diag = buildUrlDiagnostics("lower", finalLowerClothImageUrl);
+                        throw new RuntimeException(ex.getMessage() + " | " + diag, ex);
                     }
-                });
+                }));
             }
+            awaitImages(images.values());
+            
+            // Multipart 데이터 구성
+            MultiValueMap<String, Object> formData = new LinkedMultiValueMap<>();
+            images.forEach((part, image) -> formData.add(part, image.join()));
             
             formData.add("cloth_type", "combo");
             
@@ -303,17 +303,137 @@ public class FitRoomApiClient {
             
             return response.getBody().getTaskId();
             
-        } catch (IOException e) {
-            log.error("모델 이미지 파일 읽기 실패", e);
-            throw new RuntimeException("모델 이미지 파일 읽기 실패: " + e.getMessage(), e);
         } catch (Exception e) {
             log.error("FitRoom 콤보 작업 생성 실패 (URL 방식)", e);
             throw new RuntimeException("FitRoom 콤보 작업 생성 실패 (URL 방식): " + e.getMessage(), e);
         }
     }
     
+    /**
+     * 이미지 소스 하나를 blocking I/O 실행기에서 준비 - 소스별 타임아웃 적용, 소요 시간은 fitting_image_acquire_duration{source,result}로 기록
+     */
+    private CompletableFuture<Resource> acquireImage(String source, String label, Supplier<Resource> loader) {
+        long startNanos = System.nanoTime();
+        return CompletableFuture.supplyAsync(loader, blockingIoExecutor)
+                .orTimeout(imageAcquireTimeoutMs, TimeUnit.MILLISECONDS)
+                .handle((image, error) -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    String result = cause == null ? "success" : cause instanceof TimeoutException ? "timeout" : "failure";
+                    long elapsedNanos = System.nanoTime() - startNanos;
+                    Timer.builder("fitting_image_acquire_duration")
+                            .description("Latency of preparing one try-on image source")
+                            .tag("source", source)
+                            .tag("result", result)
+                            .register(meterRegistry)
+                            .record(elapsedNanos, TimeUnit.NANOSECONDS);
+                    if (cause == null) {
+                        log.info("{} 이미지 준비 완료: {}ms", label, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+                        return image;
+                    }
+                    if (cause instanceof TimeoutException) {
+                        throw new CompletionException(new RuntimeException(
+                                label + " 이미지 다운로드 시간 초과 (" + imageAcquireTimeoutMs + "ms)", cause));
+                    }
+                    throw new CompletionException(new RuntimeException(
+                            label + " 이미지 다운로드 실패: " + cause.getMessage(), cause));
+                });
+    }
+    
+    /**
+     * 모든 이미지 준비 대기 - 하나라도 실패하면 나머지를 기다리지 않고 즉시 실패
+     */
+    private void awaitImages(Collection<CompletableFuture<Resource>> images) {
+        CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+        for (CompletableFuture<Resource> image : images) {
+            image.whenComplete((resource, error) -> {
+                if (error != null) {
+                    firstFailure.completeExceptionally(error);
+                }
+            });
+        }
+        try {
+            CompletableFuture.anyOf(CompletableFuture.allOf(images.toArray(new CompletableFuture[0])), firstFailure).join();
+        } catch (CompletionException e) {
+            images.forEach(image -> image.cancel(false));
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new RuntimeException(cause.getMessage(), cause);
+        }
+    }
+    
+    /**
+     * 상품 이미지 multipart 파트 - 상품 ID가 있으면 저장소 파일을, 없으면 임시 파일로 받은 뒤 스트리밍
+     * 저장소 파일은 열린 상태로 받으므로 전송 전에 LRU 삭제/교체되어도 안전 (요청 종료 시 닫힘)
+     */
+    private Resource garmentImageResource(String productId, String imageUrl, String filename, TempFiles tempFiles) {
+        if (productId != null && !productId.isBlank() && garmentImageStore.isEnabled()) {
+            return tempFiles.track(garmentImageStore.open(productId, imageUrl, filename));
+        }
+        return namedFileResource(downloadImageToTempFile(imageUrl, tempFiles), filename);
+    }
+
+    private static Resource namedFileResource(Path file, String filename) {
+        return new FileSystemResource(file) {
+            @Override
+            public String getFilename() {
+                return filename;
+            }
+        };
+    }
+
+    /**
+     * 작업 생성 요청 하나에서 만든 임시 파일과 연 저장소 파일 - 종료 시 모두 삭제/닫고 이후 생성 요청은 거부
+     * (타임아웃으로 버려진 다운로드가 요청 종료 후 파일이나 파일 핸들을 남기지 않도록)
+     */
+    private static final class TempFiles implements AutoCloseable {
+        private final List<Path> files = new ArrayList<>();
+        private final List<Closeable> opened = new ArrayList<>();
+        private boolean closed;
+
+        synchronized <T extends Closeable> T track(T resource) {
+            if (closed) {
+                closeQuietly(resource);
+                throw new IllegalStateException("이미 종료된 작업 생성 요청입니다.");
+            }
+            opened.add(resource);
+            return resource;
+        }
+
+        synchronized Path create() throws IOException {
+            if (closed) {
+                throw new IllegalStateException("이미 종료된 작업 생성 요청입니다.");
+            }
+            Path file = Files.createTempFile("fitroom-upload-", ".img");
+            files.add(file);
+            return file;
+        }
+
+        @Override
+        public synchronized void close() {
+            closed = true;
+            for (Path file : files) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("임시 이미지 파일 삭제 실패: path={}, error={}", file, e.getMessage());
+                }
+            }
+            files.clear();
+            opened.forEach(TempFiles::closeQuietly);
+            opened.clear();
+        }
+
+        private static void closeQuietly(Closeable resource) {
+            try {
+                resource.close();
+            } catch (IOException e) {
+                log.warn("상품 이미지 파일 닫기 실패: error={}", e.getMessage());
+            }
+        }
+    }
+    
     /**
      * 작업 완료까지 대기 (폴링)
+     * - 호출 스레드를 최대 5분간 점유하므로 요청 처리 경로에서는 FittingJobService를 사용
      */
     public String waitForCompletion(String taskId) {
         int maxAttempts = 60; // 최대 5분 대기 (5초 간격)
@@ -361,7 +481,7 @@ public class FitRoomApiClient {
     /**
      * 작업 상태 조회
      */
-    private FitRoomTaskStatus getTaskStatus(String taskId) {
+    public FitRoomTaskStatus getTaskStatus(String taskId) {
         try {
             // 헤더 설정
             HttpHeaders headers = new HttpHeaders();
@@ -1,8 +1,11 @@
 package com.thefirsttake.app.fitting.controller;
 
+import com.thefirsttake.app.chat.service.ProductNearCacheService;
 import com.thefirsttake.app.common.response.CommonResponse;
 import com.thefirsttake.app.fitting.client.FitRoomApiClient;
 import com.thefirsttake.app.fitting.dto.response.FittingResponse;
+import com.thefirsttake.app.fitting.service.FittingJobService;
+import com.thefirsttake.app.fitting.service.ImageProxyService;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.redis.core.RedisTemplate;
 import io.swagger.v3.oas.annotations.Operation;
@@ -18,9 +21,15 @@ import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.servlet.http.HttpServletResponse;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
 @RestController
 @RequestMapping("/api/fitting")
 @Tag(name = "가상피팅", description = "가상피팅 관련 API")
@@ -31,15 +40,27 @@ public class SimpleFittingController {
     private final RestTemplate restTemplate;
     @Qualifier("redisTemplate")
     private final RedisTemplate<String, String> redisTemplate;
+    private final ExecutorService blockingIoExecutor;
+    private final ProductNearCacheService productNearCacheService;
+    private final FittingJobService fittingJobService;
+    private final ImageProxyService imageProxyService;
     
-    public SimpleFittingController(FitRoomApiClient fitRoomClient, RestTemplate restTemplate, @Qualifier("redisTemplate") RedisTemplate<String, String> redisTemplate) {
+    public SimpleFittingController(FitRoomApiClient fitRoomClient, @Qualifier("imageProxyRestTemplate") RestTemplate restTemplate, @Qualifier("redisTemplate") RedisTemplate<String, String> redisTemplate,
+                                   @Qualifier("blockingIoExecutor") ExecutorService blockingIoExecutor,
+                                   ProductNearCacheService productNearCacheService,
+                                   FittingJobService fittingJobService,
+                                   ImageProxyService imageProxyService) {
         this.fitRoomClient = fitRoomClient;
         this.restTemplate = restTemplate;
         this.redisTemplate = redisTemplate;
+        this.blockingIoExecutor = blockingIoExecutor;
+        this.productNearCacheService = productNearCacheService;
+        this.fittingJobService = fittingJobService;
+        this.imageProxyService = imageProxyService;
     }
     
     /**
-     * 가상피팅 실행 - 완료될 때까지 대기 후 다운로드 링크 반환
+     * 가상피팅 실행 - 완료 후 다운로드 링크 반환 (wait_for_result=false면 작업 생성 후 taskId 즉시 반환)
      */
     @PostMapping("/try-on")
     @Operation(
@@ -48,14 +69,15 @@ public class SimpleFittingController {
                      "**처리 과정**:\n" +
                      "1. Redis에서 상품 ID로 이미지 URL 조회\n" +
                      "2. FitRoom API로 가상피팅 작업 생성\n" +
-                     "3. 작업 완료까지 폴링 대기\n" +
-                     "4. 결과 이미지 다운로드 URL 반환\n\n" +
+                     "3. 작업 완료까지 기다려 다운로드 URL 반환\n" +
+                     "   (wait_for_result=false면 taskId와 PENDING 상태를 즉시 반환(202)하고, 결과는 GET /api/fitting/status/{taskId} 또는 GET /api/fitting/events/{taskId} (SSE)로 확인)\n\n" +
                      "**Content-Type**: multipart/form-data\n\n" +
                      "**파라미터**:\n" +
                      "- model_image: 모델 사진 파일 (필수)\n" +
                      "- upper_product_id: 상의 상품 ID (선택)\n" +
                      "- lower_product_id: 하의 상품 ID (선택)\n" +
-                     "- hd_mode: HD 모드 여부 (기본값: false)\n\n" +
+                     "- hd_mode: HD 모드 여부 (기본값: false)\n" +
+                     "- wait_for_result: false면 완료를 기다리지 않고 taskId를 즉시 반환 (기본값: true)\n\n" +
                      "**파일 업로드 요구사항**:\n" +
                      "• **Content-Type**: multipart/form-data\n" +
                      "• **파라미터명**: model_image (필수)\n" +
@@ -87,6 +109,11 @@ public class SimpleFittingController {
                      "**주의사항**: 상의 또는 하의 중 최소 하나는 필수입니다."
     )
     @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "202",
+            description = "가상피팅 작업 등록 (wait_for_result=false, taskId, status=PENDING)",
+            content = @Content(schema = @Schema(implementation = CommonResponse.class))
+        ),
         @ApiResponse(
             responseCode = "200",
             description = "가상피팅 성공",
@@ -119,7 +146,7 @@ public class SimpleFittingController {
             content = @Content(schema = @Schema(implementation = CommonResponse.class))
         )
     })
-    public ResponseEntity<CommonResponse> tryOn(
+    public CompletableFuture<ResponseEntity<CommonResponse>> tryOn(
             @Parameter(name = "model_image", description = "모델 사진 파일 (MultipartFile)\n\n" +
                      "**파일 업로드 요구사항**:\n" +
                      "• Content-Type: multipart/form-data\n" +
@@ -138,8 +165,18 @@ public class SimpleFittingController {
             @Parameter(name = "lower_product_id", description = "하의 상품 ID (Redis에서 URL 조회)", required = false, example = "67890")
             @RequestParam(value = "lower_product_id", required = false) String lowerProductId,
             @Parameter(name = "hd_mode", description = "HD 모드 여부", required = false, example = "false")
-            @RequestParam(value = "hd_mode", defaultValue = "false") boolean hdMode) {
-        
+            @RequestParam(value = "hd_mode", defaultValue = "false") boolean hdMode,
+            @Parameter(name = "wait_for_result", description = "완료까지 대기 후 결과 반환 여부 (false면 taskId 즉시 반환)", required = false, example = "true")
+            @RequestParam(value = "wait_for_result", defaultValue = "true") boolean waitForResult) {
+        // 작업 생성(이미지 업로드)은 blocking I/O 실행기에서, 완료 대기는 FittingJobService 폴러가 처리
+        return CompletableFuture.supplyAsync(
+                () -> processTryOn(modelImage, upperProductId, lowerProductId, hdMode, waitForResult), blockingIoExecutor)
+                .thenCompose(Function.identity());
+    }
+    
+    private CompletableFuture<ResponseEntity<CommonResponse>> processTryOn(MultipartFile modelImage, String upperProductId,
+                                                                           String lowerProductId, boolean hdMode,
+                                                                           boolean waitForResult) {
         try {
             log.info("=== tryOn 메서드 시작 ===");
             log.info("가상피팅 시작: upperProductId={}, lowerProductId={}, hdMode={}", upperProductId, lowerProductId, hdMode);
@@ -148,8 +185,8 @@ public class SimpleFittingController {
             if ((upperProductId == null || upperProductId.trim().isEmpty()) && 
                 (lowerProductId == null || lowerProductId.trim().isEmpty())) {
                 log.warn("상의 또는 하의 product_id가 제공되지 않았습니다.");
-                return ResponseEntity.badRequest()
-                    .body(CommonResponse.fail("상의 또는 하의 product_id가 필요합니다."));
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(CommonResponse.fail("상의 또는 하의 product_id가 필요합니다.")));
             }
             
             // Redis에서 product_id로 URL 조회
@@ -159,7 +196,7 @@ public class SimpleFittingController {
             if (upperProductId != null && !upperProductId.trim().isEmpty()) {
                 try {
                     String redisKey = "product_url_" + upperProductId.trim();
-                    String encodedUrl = redisTemplate.opsForValue().get(redisKey);
+                    String encodedUrl = productNearCacheService.get(redisKey);
                     if (encodedUrl != null) {
                         log.info("Redis에서 상의 encoded URL 조회: productId={}, encodedUrl={}", upperProductId, encodedUrl);
                         try {
@@ -182,7 +219,7 @@ public class SimpleFittingController {
             if (lowerProductId != null && !lowerProductId.trim().isEmpty()) {
                 try {
                     String redisKey = "product_url_" + lowerProductId.trim();
-                    String encodedUrl = redisTemplate.opsForValue().get(redisKey);
+                    String encodedUrl = productNearCacheService.get(redisKey);
                     if (encodedUrl != null) {
                         log.info("Redis에서 하의 encoded URL 조회: productId={}, encodedUrl={}", lowerProductId, encodedUrl);
                         try {
@@ -206,28 +243,19 @@ public class SimpleFittingController {
             if ((upperProductId != null && upperClothImageUrl == null) || 
                 (lowerProductId != null && lowerClothImageUrl == null)) {
                 log.warn("일부 상품 URL을 Redis에서 찾을 수 없습니다.");
-                return ResponseEntity.badRequest()
-                    .body(CommonResponse.fail("일부 상품 URL을 찾을 수 없습니다. product_id를 확인해주세요."));
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(CommonResponse.fail("일부 상품 URL을 찾을 수 없습니다. product_id를 확인해주세요.")));
             }
             
             // 1. FitRoom API로 콤보 작업 생성 (상의와 하의 모두 URL 방식)
             log.info("FitRoom API 호출 전 URL 확인: upperClothImageUrl={}, lowerClothImageUrl={}", upperClothImageUrl, lowerClothImageUrl);
-            String taskId = fitRoomClient.createComboTaskWithUrls(modelImage, null, upperClothImageUrl, lowerClothImageUrl, hdMode);
+            String taskId = fitRoomClient.createComboTaskWithUrls(modelImage, null,
+                upperProductId != null ? upperProductId.trim() : null, upperClothImageUrl,
+                lowerProductId != null ? lowerProductId.trim() : null, lowerClothImageUrl, hdMode);
             log.info("FitRoom 콤보 작업 생성 완료: taskId={}", taskId);
             
-            // 2. 작업 완료까지 대기 (폴링)
-            String downloadUrl = fitRoomClient.waitForCompletion(taskId);
-            log.info("가상피팅 완료: taskId={}, downloadUrl={}", taskId, downloadUrl);
-            
-            // 3. 결과 반환
-            FittingResponse response = FittingResponse.builder()
-                .success(true)
-                .message("콤보 가상피팅이 완료되었습니다.")
-                .downloadUrl(downloadUrl)
-                .taskId(taskId)
-                .build();
-                
-            return ResponseEntity.ok(CommonResponse.success(response));
+            // 2. 완료 대기는 폴러에 등록하고 바로 반환
+            return respondToSubmittedJob(taskId, waitForResult);
                 
         } catch (Exception e) {
             log.error("콤보 가상피팅 실패", e);
@@ -235,8 +263,8 @@ public class SimpleFittingController {
                 .success(false)
                 .message("콤보 가상피팅 처리 중 오류가 발생했습니다: " + e.getMessage())
                 .build();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(CommonResponse.fail(errorResponse.getMessage()));
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(CommonResponse.fail(errorResponse.getMessage())));
         }
     }
     
@@ -250,8 +278,8 @@ public class SimpleFittingController {
                      "**처리 과정**:\n" +
                      "1. Redis에서 상의/하의 상품 ID로 이미지 URL 조회\n" +
                      "2. FitRoom API로 콤보 가상피팅 작업 생성\n" +
-                     "3. 작업 완료까지 폴링 대기\n" +
-                     "4. 결과 이미지 다운로드 URL 반환\n\n" +
+                     "3. 작업 완료까지 기다려 다운로드 URL 반환\n" +
+                     "   (wait_for_result=false면 taskId와 PENDING 상태를 즉시 반환(202)하고, 결과는 GET /api/fitting/status/{taskId} 또는 GET /api/fitting/events/{taskId} (SSE)로 확인)\n\n" +
                      "**Content-Type**: multipart/form-data\n\n" +
                      "**필수 파라미터**:\n" +
                      "- model_image: 모델 사진 파일\n" +
@@ -267,6 +295,11 @@ public class SimpleFittingController {
                      "• **권장 해상도**: 768x768 픽셀\n\n"
     )
     @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "202",
+            description = "콤보 가상피팅 작업 등록 (wait_for_result=false, taskId, status=PENDING)",
+            content = @Content(schema = @Schema(implementation = CommonResponse.class))
+        ),
         @ApiResponse(
             responseCode = "200",
             description = "콤보 가상피팅 성공",
@@ -299,7 +332,7 @@ public class SimpleFittingController {
             content = @Content(schema = @Schema(implementation = CommonResponse.class))
         )
     })
-    public ResponseEntity<CommonResponse> tryOnCombo(
+    public CompletableFuture<ResponseEntity<CommonResponse>> tryOnCombo(
             @Parameter(name = "model_image", description = "모델 사진 파일 (MultipartFile)\n\n" +
                      "**파일 업로드 요구사항**:\n" +
                      "• Content-Type: multipart/form-data\n" +
@@ -316,7 +349,17 @@ public class SimpleFittingController {
             @Parameter(name = "upper_product_id", description = "상의 상품 ID (Redis에서 URL 조회)", required = true, example = "12345")
             @RequestParam(value = "upper_product_id", required = true) String upperProductId,
             @Parameter(name = "lower_product_id", description = "하의 상품 ID (Redis에서 URL 조회)", required = true, example = "67890")
-            @RequestParam(value = "lower_product_id", required = true) String lowerProductId) {
+            @RequestParam(value = "lower_product_id", required = true) String lowerProductId,
+            @Parameter(name = "wait_for_result", description = "완료까지 대기 후 결과 반환 여부 (false면 taskId 즉시 반환)", required = false, example = "true")
+            @RequestParam(value = "wait_for_result", defaultValue = "true") boolean waitForResult) {
+        // 작업 생성(이미지 업로드)은 blocking I/O 실행기에서, 완료 대기는 FittingJobService 폴러가 처리
+        return CompletableFuture.supplyAsync(
+                () -> processTryOnCombo(modelImage, upperProductId, lowerProductId, waitForResult), blockingIoExecutor)
+                .thenCompose(Function.identity());
+    }
+    
+    private CompletableFuture<ResponseEntity<CommonResponse>> processTryOnCombo(MultipartFile modelImage, String upperProductId,
+                                                                                String lowerProductId, boolean waitForResult) {
         System.out.println(upperProductId);
         System.out.println(lowerProductId);
         try {
@@ -335,7 +378,7 @@ public class SimpleFittingController {
             if (upperProductId != null && !upperProductId.trim().isEmpty()) {
                 try {
                     String redisKey = "product_url_" + upperProductId.trim();
-                    String encodedUrl = redisTemplate.opsForValue().get(redisKey);
+                    String encodedUrl = productNearCacheService.get(redisKey);
                     if (encodedUrl != null) {
                         // 인코딩 없이 원본 값을 그대로 사용 + 앞뒤 공백 제거
                         redisClothImageUrl = encodedUrl.trim();
@@ -350,7 +393,7 @@ public class SimpleFittingController {
             if (lowerProductId != null && !lowerProductId.trim().isEmpty()) {
                 try {
                     String redisKey = "product_url_" + lowerProductId.trim();
-                    String encodedUrl = redisTemplate.opsForValue().get(redisKey);
+                    String encodedUrl = productNearCacheService.get(redisKey);
                     if (encodedUrl != null) {
                         // 인코딩 없이 원본 값을 그대로 사용 + 앞뒤 공백 제거
                         redisLowerClothImageUrl = encodedUrl.trim();
@@ -365,44 +408,34 @@ public class SimpleFittingController {
             // 파라미터 유효성 검사
             if (modelImage == null || modelImage.isEmpty()) {
                 log.warn("모델 이미지가 제공되지 않았습니다.");
-                return ResponseEntity.badRequest()
-                    .body(CommonResponse.fail("모델 이미지 파일이 필요합니다."));
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(CommonResponse.fail("모델 이미지 파일이 필요합니다.")));
             }
 
             if (upperProductId == null || upperProductId.trim().isEmpty() ||
                 lowerProductId == null || lowerProductId.trim().isEmpty()) {
                 log.warn("상품 ID가 제공되지 않았습니다. upperProductId={}, lowerProductId={}", upperProductId, lowerProductId);
-                return ResponseEntity.badRequest()
-                    .body(CommonResponse.fail("상의/하의 product_id가 필요합니다."));
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(CommonResponse.fail("상의/하의 product_id가 필요합니다.")));
             }
 
             if (redisClothImageUrl == null || redisLowerClothImageUrl == null) {
                 log.warn("Redis에서 상품 URL을 찾을 수 없습니다. upperUrl={}, lowerUrl={}", redisClothImageUrl, redisLowerClothImageUrl);
                 String diag = buildUrlDiagnostics("upper", redisClothImageUrl) + "\n" + buildUrlDiagnostics("lower", redisLowerClothImageUrl);
-                return ResponseEntity.badRequest()
-                    .body(CommonResponse.fail("일부 상품 URL을 찾을 수 없습니다. product_id를 확인해주세요.\n" + diag));
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(CommonResponse.fail("일부 상품 URL을 찾을 수 없습니다. product_id를 확인해주세요.\n" + diag)));
             }
 
             // 1. FitRoom API로 콤보 작업 생성 (항상 URL 방식 사용)
             String taskId;
             log.info("FitRoom API 호출 전 URL 방식: modelImage={}, upperUrl={}, lowerUrl={}", 
                 modelImage != null ? "EXISTS" : "null", redisClothImageUrl, redisLowerClothImageUrl);
-            taskId = fitRoomClient.createComboTaskWithUrls(modelImage, null, redisClothImageUrl, redisLowerClothImageUrl, false);
+            taskId = fitRoomClient.createComboTaskWithUrls(modelImage, null, upperProductId, redisClothImageUrl,
+                lowerProductId, redisLowerClothImageUrl, false);
             log.info("FitRoom 콤보 작업 생성 완료 (URL 방식): taskId={}", taskId);
             
-            // 2. 작업 완료까지 대기 (폴링)
-            String downloadUrl = fitRoomClient.waitForCompletion(taskId);
-            log.info("콤보 가상피팅 완료: taskId={}, downloadUrl={}", taskId, downloadUrl);
-            
-            // 3. 결과 반환
-            FittingResponse response = FittingResponse.builder()
-                .success(true)
-                .message("콤보 가상피팅이 완료되었습니다.")
-                .downloadUrl(downloadUrl)
-                .taskId(taskId)
-                .build();
-                
-            return ResponseEntity.ok(CommonResponse.success(response));
+            // 2. 완료 대기는 폴러에 등록하고 바로 반환
+            return respondToSubmittedJob(taskId, waitForResult);
                 
         } catch (Exception e) {
             log.error("콤보 가상피팅 실패", e);
@@ -410,9 +443,30 @@ public class SimpleFittingController {
                 .success(false)
                 .message("콤보 가상피팅 처리 중 오류가 발생했습니다: " + e.getMessage())
                 .build();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(CommonResponse.fail(errorResponse.getMessage()));
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(CommonResponse.fail(errorResponse.getMessage())));
+        }
+    }
+    
+    /**
+     * 생성된 작업을 폴러에 등록 - 기본은 완료 시 결과 반환, wait_for_result=false면 202 + taskId 즉시 반환
+     * (대기 중에도 스레드를 점유하지 않고 폴러가 future를 완료시킴)
+     */
+    private CompletableFuture<ResponseEntity<CommonResponse>> respondToSubmittedJob(String taskId, boolean waitForResult) {
+        FittingResponse submitted = fittingJobService.submit(taskId);
+        if (!waitForResult) {
+            return CompletableFuture.completedFuture(
+                ResponseEntity.status(HttpStatus.ACCEPTED).body(CommonResponse.success(submitted)));
         }
+        return fittingJobService.completion(taskId).thenApply(result -> {
+            if (result != null && result.isSuccess()) {
+                result.setMessage("콤보 가상피팅이 완료되었습니다.");
+                return ResponseEntity.ok(CommonResponse.success(result));
+            }
+            String error = result != null ? result.getMessage() : "가상피팅 작업을 찾을 수 없습니다.";
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(CommonResponse.fail("콤보 가상피팅 처리 중 오류가 발생했습니다: " + error));
+        });
     }
     
     /**
@@ -428,13 +482,15 @@ public class SimpleFittingController {
                      "- 캐시 제어를 통한 성능 최적화\n\n" +
                      "**처리 과정**:\n" +
                      "1. URL 디코딩 및 유효성 검사\n" +
-                     "2. 외부 이미지 다운로드\n" +
-                     "3. CORS 헤더 설정\n" +
-                     "4. 이미지 바이너리 반환\n\n" +
+                     "2. CORS 헤더 설정\n" +
+                     "3. 외부 이미지를 메모리에 모으지 않고 스트리밍으로 전달\n\n" +
+                     "**조건부/범위 요청**: If-None-Match, If-Modified-Since, Range, If-Range 헤더를 원본에 전달하고 304/206 응답을 그대로 반환합니다.\n\n" +
                      "**응답 헤더**:\n" +
                      "- Access-Control-Allow-Origin: *\n" +
                      "- Cache-Control: public, max-age=3600\n" +
-                     "- Content-Type: image/jpeg (또는 원본 타입)"
+                     "- Content-Type: image/jpeg (또는 원본 타입)\n" +
+                     "- ETag, Last-Modified, Content-Range, Accept-Ranges (원본이 제공한 경우)\n\n" +
+                     "동시 프록시 스트림 수가 한도를 넘으면 503 (Retry-After: 1)을 반환합니다."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -468,93 +524,59 @@ public class SimpleFittingController {
         @ApiResponse(
             responseCode = "500",
             description = "서버 오류 (이미지 다운로드 실패, 네트워크 오류 등)",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = CommonResponse.class)
+            )
+                ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "동시 프록시 스트림 한도 초과 (Retry-After 후 재시도)",
             content = @Content(
                 mediaType = "application/json",
                 schema = @Schema(implementation = CommonResponse.class)
             )
         )
     })
-    public ResponseEntity<?> proxyImage(
+    public ResponseEntity<StreamingResponseBody> proxyImage(
             @Parameter(description = "프록시할 이미지 URL", required = true, example = "https://example.com/image.jpg")
             @RequestParam("imageUrl") String imageUrl,
+            @Parameter(hidden = true) @RequestHeader HttpHeaders requestHeaders,
             HttpServletResponse response) {
         
         try {
             // URL 유효성 검사
             if (imageUrl == null || imageUrl.trim().isEmpty()) {
                 log.warn("이미지 URL이 비어있습니다.");
-                return ResponseEntity.badRequest()
-                    .body(CommonResponse.fail("이미지 URL이 필요합니다."));
+                return imageProxyService.errorResponse(HttpStatus.BAD_REQUEST, "이미지 URL이 필요합니다.");
             }
             
             // URL 디코딩 (프론트엔드에서 인코딩된 URL 처리)
             String decodedUrl = java.net.URLDecoder.decode(imageUrl, "UTF-8");
-            log.info("이미지 프록시 시작: originalUrl={}, decodedUrl={}", imageUrl, decodedUrl);
+            log.info("이미지 프록시 시작: url={}", maskUrlForLog(decodedUrl));
             
             // URL 형식 검증
             if (!decodedUrl.startsWith("http://") && !decodedUrl.startsWith("https://")) {
                 log.warn("잘못된 URL 형식: {}", decodedUrl);
-                return ResponseEntity.badRequest()
-                    .body(CommonResponse.fail("잘못된 URL 형식입니다."));
-            }
-            
-            // 외부 이미지 다운로드 (타임아웃 설정)
-            log.info("외부 이미지 다운로드 시도: {}", decodedUrl);
-            ResponseEntity<byte[]> externalResponse;
-            
-            try {
-                externalResponse = restTemplate.getForEntity(decodedUrl, byte[].class);
-                log.info("외부 이미지 다운로드 성공: status={}, contentLength={}", 
-                    externalResponse.getStatusCode(), 
-                    externalResponse.getBody() != null ? externalResponse.getBody().length : 0);
-            } catch (org.springframework.web.client.HttpClientErrorException e) {
-                log.error("HTTP 클라이언트 에러: status={}, message={}", e.getStatusCode(), e.getMessage());
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(CommonResponse.fail("이미지 URL에 접근할 수 없습니다: " + e.getStatusCode()));
-            } catch (org.springframework.web.client.HttpServerErrorException e) {
-                log.error("HTTP 서버 에러: status={}, message={}", e.getStatusCode(), e.getMessage());
-                return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
-                    .body(CommonResponse.fail("외부 서버 오류: " + e.getStatusCode()));
-            } catch (org.springframework.web.client.ResourceAccessException e) {
-                log.error("네트워크 접근 에러: {}", e.getMessage());
-                return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
-                    .body(CommonResponse.fail("네트워크 연결 실패: " + e.getMessage()));
-            }
-            
-            if (externalResponse.getBody() == null || externalResponse.getBody().length == 0) {
-                log.warn("다운로드된 이미지가 비어있습니다: imageUrl={}", decodedUrl);
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(CommonResponse.fail("이미지를 다운로드할 수 없습니다."));
+                return imageProxyService.errorResponse(HttpStatus.BAD_REQUEST, "잘못된 URL 형식입니다.");
             }
             
             // CORS 헤더 설정
             response.setHeader("Access-Control-Allow-Origin", "*");
             response.setHeader("Access-Control-Allow-Methods", "GET, OPTIONS");
             response.setHeader("Access-Control-Allow-Headers", "*");
+            response.setHeader("Access-Control-Expose-Headers", "ETag, Last-Modified, Content-Range, Accept-Ranges");
             response.setHeader("Access-Control-Max-Age", "3600");
             
-            // Content-Type 설정 (이미지 타입 감지)
-            String contentType = externalResponse.getHeaders().getContentType() != null 
-                ? externalResponse.getHeaders().getContentType().toString()
-                : "image/jpeg";
-            response.setContentType(contentType);
-            
-            // Cache-Control 설정 (선택사항)
-            response.setHeader("Cache-Control", "public, max-age=3600");
-            
-            log.info("이미지 프록시 완료: imageUrl={}, size={} bytes, contentType={}", 
-                decodedUrl, externalResponse.getBody().length, contentType);
+            // 외부 이미지를 메모리에 모으지 않고 스트리밍 (조건부/범위 요청 헤더 전달)
+            return imageProxyService.proxy(decodedUrl, requestHeaders);
             
-            return ResponseEntity.ok(externalResponse.getBody());
-            
-        } catch (java.io.UnsupportedEncodingException e) {
+        } catch (java.io.UnsupportedEncodingException | IllegalArgumentException e) {
             log.error("URL 디코딩 실패: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                .body(CommonResponse.fail("URL 디코딩 실패: " + e.getMessage()));
+            return imageProxyService.errorResponse(HttpStatus.BAD_REQUEST, "URL 디코딩 실패: " + e.getMessage());
         } catch (Exception e) {
             log.error("이미지 프록시 실패: imageUrl={}, error={}", imageUrl, e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(CommonResponse.fail("이미지 다운로드에 실패했습니다: " + e.getMessage()));
+            return imageProxyService.errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "이미지 다운로드에 실패했습니다: " + e.getMessage());
         }
     }
     
@@ -639,39 +661,75 @@ public class SimpleFittingController {
     }
     
     /**
-     * 가상피팅 상태 확인 API (선택사항 - 나중에 비동기 처리 시 사용)
+     * 가상피팅 상태 확인 API - 작업 진행률/완료 여부/다운로드 URL 조회
      */
     @GetMapping("/status/{taskId}")
     @Operation(
         summary = "가상피팅 상태 확인",
         description = "가상피팅 작업의 현재 상태를 확인합니다.\n\n" +
-                     "**현재 상태**: 향후 비동기 처리 시 사용 예정\n" +
-                     "**예정 기능**:\n" +
-                     "- 작업 진행률 조회\n" +
-                     "- 완료/실패 상태 확인\n" +
-                     "- 예상 완료 시간 제공\n" +
-                     "- 에러 메시지 조회\n\n" +
-                     "**현재 응답**: 개발 중 메시지 반환"
+                     "**상태 값**: PENDING, PROCESSING, COMPLETED, FAILED\n" +
+                     "- COMPLETED: downloadUrl에 결과 이미지 URL 포함\n" +
+                     "- FAILED: message에 실패 사유 포함\n\n" +
+                     "상태 변경을 실시간으로 받으려면 GET /api/fitting/events/{taskId} (SSE)를 사용하세요."
     )
     @ApiResponses(value = {
         @ApiResponse(
             responseCode = "200",
-            description = "상태 확인 응답 (현재는 개발 중 메시지)",
+            description = "작업 상태",
             content = @Content(
-                mediaType = "text/plain",
-                schema = @Schema(type = "string"),
+                mediaType = "application/json",
+                schema = @Schema(implementation = CommonResponse.class),
                 examples = @ExampleObject(
-                    name = "개발 중 응답",
-                    value = "Status check endpoint - to be implemented for async processing"
+                    name = "진행 중 응답",
+                    value = "{\n" +
+                           "  \"status\": \"success\",\n" +
+                           "  \"message\": \"요청 성공\",\n" +
+                           "  \"data\": {\n" +
+                           "    \"success\": true,\n" +
+                           "    \"message\": \"가상피팅 진행 중입니다.\",\n" +
+                           "    \"downloadUrl\": null,\n" +
+                           "    \"taskId\": \"task_12345\",\n" +
+                           "    \"status\": \"PROCESSING\",\n" +
+                           "    \"progress\": 40\n" +
+                           "  }\n" +
+                           "}"
                 )
             )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "작업을 찾을 수 없음 (존재하지 않거나 만료됨)",
+            content = @Content(schema = @Schema(implementation = CommonResponse.class))
         )
     })
-    public ResponseEntity<String> getStatus(
+    public ResponseEntity<CommonResponse> getStatus(
+            @Parameter(description = "작업 ID", required = true, example = "task_12345")
+            @PathVariable String taskId) {
+        FittingResponse job = fittingJobService.getJob(taskId);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(CommonResponse.fail("가상피팅 작업을 찾을 수 없습니다."));
+        }
+        return ResponseEntity.ok(CommonResponse.success(job));
+    }
+    
+    /**
+     * 가상피팅 상태 SSE 구독 - 상태 변경마다 이벤트 전송, 완료/실패 시 스트림 종료
+     */
+    @GetMapping(value = "/events/{taskId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "가상피팅 상태 SSE 구독",
+        description = "가상피팅 작업의 상태 변경을 Server-Sent Events로 전달합니다.\n\n" +
+                     "**이벤트 타입**:\n" +
+                     "- status: 진행 상태 (status, progress)\n" +
+                     "- complete: 완료 (downloadUrl 포함), 이후 스트림 종료\n" +
+                     "- error: 실패 또는 작업 없음, 이후 스트림 종료\n\n" +
+                     "이벤트 data는 FittingResponse JSON입니다."
+    )
+    public SseEmitter subscribeStatus(
             @Parameter(description = "작업 ID", required = true, example = "task_12345")
             @PathVariable String taskId) {
-        // 나중에 비동기 처리가 필요할 때 구현할 수 있음
-        return ResponseEntity.ok("Status check endpoint - to be implemented for async processing");
+        return fittingJobService.subscribe(taskId);
     }
     
     /**
@@ -23,4 +23,10 @@ public class FittingResponse {
     
     @Schema(description = "FitRoom 작업 ID", example = "task_12345")
     private String taskId;
+
+    @Schema(description = "작업 상태 (PENDING, PROCESSING, COMPLETED, FAILED)", example = "PROCESSING")
+    private String status;
+
+    @Schema(description = "작업 진행률 (0~100)", example = "40")
+    private Integer progress;
 }
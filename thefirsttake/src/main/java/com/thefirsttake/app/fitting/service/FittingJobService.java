@@ -0,0 +1,538 @@
+package com.thefirsttake.app.fitting.service;
+
+import com.thefirsttake.app.fitting.client.FitRoomApiClient;
+import com.thefirsttake.app.fitting.dto.response.FitRoomTaskStatus;
+import com.thefirsttake.app.fitting.dto.response.FittingResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 가상피팅 비동기 작업 서비스
+ * - /try-on 요청은 FitRoom 작업 생성 후 바로 taskId를 반환하고, 완료 대기는 이 서비스가 담당
+ * - 단일 스케줄러 스레드가 대기 중인 모든 작업을 훑어 폴링 시점이 된 작업만 모아 blocking I/O 실행기에서 상태 조회
+ * - 폴링 간격은 FitRoom이 보고한 progress 증가 속도로 남은 시간을 추정해 조정 (min~max 범위)
+ * - 작업 상태는 fitting_job:{taskId} 해시에 저장해 어느 노드에서든 /status 조회 가능
+ * - 상태 변경은 fitting_job:updated 채널로 발행해 SSE 구독자가 있는 노드에 전달
+ * - 폴링 중인 노드는 fitting_job_node:{nodeId} 키를 주기적으로 갱신하고, 담당 노드가 사라진(재시작 등)
+ *   미완료 작업은 다른 노드가 recover-interval-ms마다 찾아 이어서 폴링 (등록 시각 기준 timeout-ms 적용)
+ */
+@Service
+@Slf4j
+public class FittingJobService implements MessageListener {
+
+    public static final String JOB_KEY_PREFIX = "fitting_job:";
+    public static final String UPDATED_CHANNEL = "fitting_job:updated";
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private static final String FIELD_STATUS = "status";
+    private static final String FIELD_PROGRESS = "progress";
+    private static final String FIELD_DOWNLOAD_URL = "downloadUrl";
+    private static final String FIELD_ERROR = "error";
+    private static final String FIELD_NODE = "node";
+    private static final String FIELD_SUBMITTED_AT = "submittedAt";
+    private static final String NODE_KEY_PREFIX = "fitting_job_node:";
+    private static final String ADOPT_KEY_PREFIX = "fitting_job_adopt:";
+
+    private final FitRoomApiClient fitRoomClient;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ExecutorService blockingIoExecutor;
+
+    private final long initialDelayMs;
+    private final long minPollIntervalMs;
+    private final long maxPollIntervalMs;
+    private final long jobTimeoutMs;
+    private final int maxStatusErrors;
+    private final long jobTtlMinutes;
+    private final long sseTimeoutMs;
+    private final long recoverIntervalMs;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // 이 노드가 폴링 중인 작업
+    private final Map<String, PendingJob> pendingJobs = new ConcurrentHashMap<>();
+    // 이 노드에 연결된 SSE 구독자
+    private final Map<String, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    // 동시에 진행 중인 상태 조회 수 제한 (한 번의 tick에서 꺼내는 배치 크기)
+    private final Semaphore pollPermits;
+    private final ScheduledExecutorService poller;
+
+    private final Counter statusPollCounter;
+    private final Timer completedTimer;
+    private final Timer failedTimer;
+    private final Timer timeoutTimer;
+    private final Counter recoveredCounter;
+
+    public FittingJobService(FitRoomApiClient fitRoomClient,
+                             @Qualifier("redisTemplate") RedisTemplate<String, String> redisTemplate,
+                             @Qualifier("blockingIoExecutor") ExecutorService blockingIoExecutor,
+                             RedisMessageListenerContainer redisMessageListenerContainer,
+                             MeterRegistry meterRegistry,
+                             @Value("${fitting.job.tick-ms:250}") long tickMs,
+                             @Value("${fitting.job.poll-batch-size:32}") int pollBatchSize,
+                             @Value("${fitting.job.initial-delay-ms:3000}") long initialDelayMs,
+                             @Value("${fitting.job.min-poll-interval-ms:1000}") long minPollIntervalMs,
+                             @Value("${fitting.job.max-poll-interval-ms:5000}") long maxPollIntervalMs,
+                             @Value("${fitting.job.timeout-ms:300000}") long jobTimeoutMs,
+                             @Value("${fitting.job.max-status-errors:5}") int maxStatusErrors,
+                             @Value("${fitting.job.ttl-minutes:60}") long jobTtlMinutes,
+                             @Value("${fitting.job.sse-timeout-ms:330000}") long sseTimeoutMs,
+                             @Value("${fitting.job.recover-interval-ms:30000}") long recoverIntervalMs) {
+        this.fitRoomClient = fitRoomClient;
+        this.redisTemplate = redisTemplate;
+        this.blockingIoExecutor = blockingIoExecutor;
+        this.initialDelayMs = initialDelayMs;
+        this.minPollIntervalMs = minPollIntervalMs;
+        this.maxPollIntervalMs = maxPollIntervalMs;
+        this.jobTimeoutMs = jobTimeoutMs;
+        this.maxStatusErrors = maxStatusErrors;
+        this.jobTtlMinutes = jobTtlMinutes;
+        this.sseTimeoutMs = sseTimeoutMs;
+        this.recoverIntervalMs = recoverIntervalMs;
+        this.pollPermits = new Semaphore(pollBatchSize);
+
+        Gauge.builder("fitting_job_pending", pendingJobs, Map::size)
+                .description("FitRoom try-on tasks waiting for completion on this node")
+                .register(meterRegistry);
+        this.statusPollCounter = Counter.builder("fitting_job_status_polls_total")
+                .description("FitRoom task status requests issued by the job poller")
+                .register(meterRegistry);
+        this.completedTimer = jobTimer(meterRegistry, "completed");
+        this.failedTimer = jobTimer(meterRegistry, "failed");
+        this.timeoutTimer = jobTimer(meterRegistry, "timeout");
+        this.recoveredCounter = Counter.builder("fitting_job_recovered_total")
+                .description("Unfinished FitRoom tasks taken over from nodes that stopped polling them")
+                .register(meterRegistry);
+
+        this.poller = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("fitting-job-poller").daemon(true).factory());
+        poller.scheduleWithFixedDelay(this::pollDueJobs, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        poller.scheduleWithFixedDelay(this::recoverOrphanedJobs, 0, recoverIntervalMs, TimeUnit.MILLISECONDS);
+
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(UPDATED_CHANNEL));
+        log.info("가상피팅 작업 폴러 초기화: node={}, tickMs={}, pollBatchSize={}, pollIntervalMs={}~{}, timeoutMs={}",
+                nodeId, tickMs, pollBatchSize, minPollIntervalMs, maxPollIntervalMs, jobTimeoutMs);
+    }
+
+    private static Timer jobTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("fitting_job_duration")
+                .description("Time from FitRoom task submission to a terminal state")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 생성된 FitRoom 작업을 폴링 대상으로 등록
+     * @return 현재 작업 상태 (PENDING)
+     */
+    public FittingResponse submit(String taskId) {
+        PendingJob job = new PendingJob(taskId, System.currentTimeMillis());
+        job.nextPollAt = job.submittedAt + initialDelayMs;
+        pendingJobs.put(taskId, job);
+
+        Map<String, String> fields = new HashMap<>();
+        fields.put(FIELD_STATUS, STATUS_PENDING);
+        fields.put(FIELD_PROGRESS, "0");
+        fields.put(FIELD_NODE, nodeId);
+        fields.put(FIELD_SUBMITTED_AT, String.valueOf(job.submittedAt));
+        saveJob(taskId, fields);
+
+        log.info("가상피팅 작업 등록: taskId={}, pending={}", taskId, pendingJobs.size());
+        return FittingResponse.builder()
+                .success(true)
+                .message("가상피팅 작업이 등록되었습니다.")
+                .taskId(taskId)
+                .status(STATUS_PENDING)
+                .progress(0)
+                .build();
+    }
+
+    /**
+     * 작업이 끝나면(성공/실패/시간 초과) 완료되는 future - 요청 스레드를 점유하지 않고 결과를 기다릴 때 사용
+     */
+    public CompletableFuture<FittingResponse> completion(String taskId) {
+        PendingJob job = pendingJobs.get(taskId);
+        if (job != null) {
+            return job.completion;
+        }
+        FittingResponse current = getJob(taskId);
+        return CompletableFuture.completedFuture(current);
+    }
+
+    /**
+     * 작업 상태 조회 (Redis)
+     * @return 작업이 없거나 만료되었으면 null
+     */
+    public FittingResponse getJob(String taskId) {
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(JOB_KEY_PREFIX + taskId);
+        if (fields == null || fields.isEmpty()) {
+            return null;
+        }
+        String status = (String) fields.get(FIELD_STATUS);
+        String progress = (String) fields.get(FIELD_PROGRESS);
+        String error = (String) fields.get(FIELD_ERROR);
+        return FittingResponse.builder()
+                .success(!STATUS_FAILED.equals(status))
+                .message(messageFor(status, error))
+                .downloadUrl((String) fields.get(FIELD_DOWNLOAD_URL))
+                .taskId(taskId)
+                .status(status)
+                .progress(progress != null ? Integer.valueOf(progress) : null)
+                .build();
+    }
+
+    /**
+     * SSE 구독 - 현재 상태를 먼저 보내고 이후 상태 변경마다 "status" 이벤트 전송, 완료/실패 시 종료
+     */
+    public SseEmitter subscribe(String taskId) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        Set<SseEmitter> emitters = subscribers.computeIfAbsent(taskId, id -> ConcurrentHashMap.newKeySet());
+        emitters.add(emitter);
+        emitter.onCompletion(() -> removeSubscriber(taskId, emitter));
+        emitter.onTimeout(() -> removeSubscriber(taskId, emitter));
+        emitter.onError(e -> removeSubscriber(taskId, emitter));
+
+        // 등록 후 현재 상태를 보내야 그 사이에 발행된 변경을 놓치지 않음
+        FittingResponse current = getJob(taskId);
+        if (current == null) {
+            sendAndComplete(emitter, FittingResponse.builder()
+                    .success(false)
+                    .message("가상피팅 작업을 찾을 수 없습니다.")
+                    .taskId(taskId)
+                    .build());
+            return emitter;
+        }
+        send(taskId, emitter, current);
+        return emitter;
+    }
+
+    /**
+     * 상태 변경 알림 수신 - 이 노드에 SSE 구독자가 있을 때만 상태를 조회해 전송
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            String taskId = new String(message.getBody(), StandardCharsets.UTF_8);
+            Set<SseEmitter> emitters = subscribers.get(taskId);
+            if (emitters == null || emitters.isEmpty()) {
+                return;
+            }
+            FittingResponse current = getJob(taskId);
+            if (current == null) {
+                return;
+            }
+            for (SseEmitter emitter : emitters) {
+                send(taskId, emitter, current);
+            }
+        } catch (Exception e) {
+            log.warn("가상피팅 상태 변경 알림 처리 실패: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 스케줄러 tick - 폴링 시점이 된 작업을 배치 크기만큼 실행기에 넘김
+     */
+    private void pollDueJobs() {
+        try {
+            long now = System.currentTimeMillis();
+            for (PendingJob job : pendingJobs.values()) {
+                if (job.nextPollAt > now || job.inFlight.get()) {
+                    continue;
+                }
+                if (now - job.submittedAt > jobTimeoutMs) {
+                    finish(job, STATUS_FAILED, null, "작업 완료 대기 시간 초과", timeoutTimer);
+                    continue;
+                }
+                if (!pollPermits.tryAcquire()) {
+                    // 이번 tick의 배치가 가득 참 - 남은 작업은 다음 tick에서 처리
+                    return;
+                }
+                job.inFlight.set(true);
+                try {
+                    blockingIoExecutor.execute(() -> pollJob(job));
+                } catch (Exception e) {
+                    job.inFlight.set(false);
+                    pollPermits.release();
+                    log.warn("가상피팅 상태 조회 실행 실패: taskId={}, error={}", job.taskId, e.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            log.error("가상피팅 작업 폴링 실패", e);
+        }
+    }
+
+    /**
+     * 담당 노드가 사라진 미완료 작업을 이어서 폴링 (시작 시 1회 + recover-interval-ms마다)
+     * - 먼저 이 노드의 생존 키를 갱신하고, fitting_job:* 해시 중 담당 노드의 생존 키가 없는 작업을 가져옴
+     * - 여러 노드가 동시에 가져가지 않도록 fitting_job_adopt:{taskId} 키로 한 노드만 선택
+     */
+    private void recoverOrphanedJobs() {
+        try {
+            redisTemplate.opsForValue().set(NODE_KEY_PREFIX + nodeId, "1", Duration.ofMillis(recoverIntervalMs * 3));
+
+            ScanOptions options = ScanOptions.scanOptions().match(JOB_KEY_PREFIX + "*").count(100).build();
+            try (Cursor<String> keys = redisTemplate.scan(options)) {
+                while (keys.hasNext()) {
+                    String key = keys.next();
+                    String taskId = key.substring(JOB_KEY_PREFIX.length());
+                    if (!pendingJobs.containsKey(taskId)) {
+                        recoverJob(taskId, redisTemplate.opsForHash().entries(key));
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.warn("미완료 가상피팅 작업 복구 실패: error={}", e.getMessage());
+        }
+    }
+
+    private void recoverJob(String taskId, Map<Object, Object> fields) {
+        String status = (String) fields.get(FIELD_STATUS);
+        if (status == null || isTerminal(status)) {
+            return;
+        }
+        String owner = (String) fields.get(FIELD_NODE);
+        if (owner != null && Boolean.TRUE.equals(redisTemplate.hasKey(NODE_KEY_PREFIX + owner))) {
+            return;
+        }
+        Boolean adopted = redisTemplate.opsForValue().setIfAbsent(
+                ADOPT_KEY_PREFIX + taskId, nodeId, Duration.ofMillis(recoverIntervalMs * 3));
+        if (!Boolean.TRUE.equals(adopted)) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        String submittedAt = (String) fields.get(FIELD_SUBMITTED_AT);
+        String progress = (String) fields.get(FIELD_PROGRESS);
+        PendingJob job = new PendingJob(taskId, submittedAt != null ? Long.parseLong(submittedAt) : now);
+        job.lastProgress = progress != null ? Integer.parseInt(progress) : 0;
+        job.lastStatus = status;
+        job.nextPollAt = now;
+        if (pendingJobs.putIfAbsent(taskId, job) != null) {
+            return;
+        }
+        redisTemplate.opsForHash().put(JOB_KEY_PREFIX + taskId, FIELD_NODE, nodeId);
+        recoveredCounter.increment();
+        log.warn("담당 노드가 없는 가상피팅 작업을 이어서 폴링: taskId={}, previousNode={}, status={}", taskId, owner, status);
+    }
+
+    private void pollJob(PendingJob job) {
+        try {
+            statusPollCounter.increment();
+            FitRoomTaskStatus status = fitRoomClient.getTaskStatus(job.taskId);
+            job.statusErrors = 0;
+            long now = System.currentTimeMillis();
+            log.debug("가상피팅 작업 상태: taskId={}, status={}, progress={}",
+                    job.taskId, status.getStatus(), status.getProgress());
+
+            if (STATUS_COMPLETED.equals(status.getStatus())) {
+                if (status.getDownloadSignedUrl() == null) {
+                    finish(job, STATUS_FAILED, null, "완료되었지만 다운로드 URL이 없습니다.", failedTimer);
+                } else {
+                    finish(job, STATUS_COMPLETED, status.getDownloadSignedUrl(), null, completedTimer);
+                }
+                return;
+            }
+            if (STATUS_FAILED.equals(status.getStatus())) {
+                finish(job, STATUS_FAILED, null,
+                        status.getError() != null ? status.getError() : "(no message)", failedTimer);
+                return;
+            }
+
+            int progress = status.getProgress() != null ? status.getProgress() : job.lastProgress;
+            job.nextPollAt = now + nextPollDelayMs(job, progress, now);
+            if (progress != job.lastProgress || !status.getStatus().equals(job.lastStatus)) {
+                job.lastProgress = progress;
+                job.lastProgressAt = now;
+                job.lastStatus = status.getStatus();
+                Map<String, String> fields = new HashMap<>();
+                fields.put(FIELD_STATUS, status.getStatus());
+                fields.put(FIELD_PROGRESS, String.valueOf(progress));
+                saveJob(job.taskId, fields);
+            }
+        } catch (Exception e) {
+            job.statusErrors++;
+            log.warn("가상피팅 상태 조회 실패 (재시도): taskId={}, errors={}, error={}",
+                    job.taskId, job.statusErrors, e.getMessage());
+            if (job.statusErrors >= maxStatusErrors) {
+                finish(job, STATUS_FAILED, null, "작업 상태 확인 최대 재시도 초과: " + e.getMessage(), failedTimer);
+            } else {
+                job.lastDelayMs = maxPollIntervalMs;
+                job.nextPollAt = System.currentTimeMillis() + maxPollIntervalMs;
+            }
+        } finally {
+            job.inFlight.set(false);
+            pollPermits.release();
+        }
+    }
+
+    /**
+     * 다음 폴링까지의 간격 - progress 증가 속도로 남은 시간을 추정해 그 절반 뒤에 다시 확인
+     * 진행이 없으면 직전 간격을 1.5배로 늘림 (min~max 범위로 제한)
+     */
+    private long nextPollDelayMs(PendingJob job, int progress, long now) {
+        long delay;
+        if (progress > job.lastProgress && job.lastProgressAt > 0 && now > job.lastProgressAt) {
+            double progressPerMs = (progress - job.lastProgress) / (double) (now - job.lastProgressAt);
+            delay = (long) ((100 - progress) / progressPerMs / 2);
+        } else {
+            delay = (long) (job.lastDelayMs * 1.5);
+        }
+        delay = Math.max(minPollIntervalMs, Math.min(maxPollIntervalMs, delay));
+        job.lastDelayMs = delay;
+        return delay;
+    }
+
+    private void finish(PendingJob job, String status, String downloadUrl, String error, Timer timer) {
+        if (pendingJobs.remove(job.taskId) == null) {
+            return;
+        }
+        timer.record(System.currentTimeMillis() - job.submittedAt, TimeUnit.MILLISECONDS);
+
+        Map<String, String> fields = new HashMap<>();
+        fields.put(FIELD_STATUS, status);
+        if (STATUS_COMPLETED.equals(status)) {
+            fields.put(FIELD_PROGRESS, "100");
+            fields.put(FIELD_DOWNLOAD_URL, downloadUrl);
+            log.info("가상피팅 완료: taskId={}", job.taskId);
+        } else {
+            fields.put(FIELD_ERROR, error);
+            log.warn("가상피팅 실패: taskId={}, error={}", job.taskId, error);
+        }
+        try {
+            saveJob(job.taskId, fields);
+        } finally {
+            job.completion.complete(FittingResponse.builder()
+                    .success(STATUS_COMPLETED.equals(status))
+                    .message(messageFor(status, error))
+                    .downloadUrl(downloadUrl)
+                    .taskId(job.taskId)
+                    .status(status)
+                    .progress(STATUS_COMPLETED.equals(status) ? 100 : job.lastProgress)
+                    .build());
+        }
+    }
+
+    /**
+     * 작업 상태 저장 후 상태 변경 알림 발행
+     */
+    private void saveJob(String taskId, Map<String, String> fields) {
+        String key = JOB_KEY_PREFIX + taskId;
+        try {
+            redisTemplate.opsForHash().putAll(key, fields);
+            redisTemplate.expire(key, jobTtlMinutes, TimeUnit.MINUTES);
+            redisTemplate.convertAndSend(UPDATED_CHANNEL, taskId);
+        } catch (Exception e) {
+            log.warn("가상피팅 작업 상태 저장 실패: taskId={}, error={}", taskId, e.getMessage());
+        }
+    }
+
+    private void send(String taskId, SseEmitter emitter, FittingResponse current) {
+        if (isTerminal(current.getStatus())) {
+            sendAndComplete(emitter, current);
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name("status").data(current));
+        } catch (Exception e) {
+            log.debug("가상피팅 SSE 전송 실패: taskId={}, error={}", taskId, e.getMessage());
+            removeSubscriber(taskId, emitter);
+        }
+    }
+
+    private void sendAndComplete(SseEmitter emitter, FittingResponse current) {
+        try {
+            emitter.send(SseEmitter.event().name(current.isSuccess() ? "complete" : "error").data(current));
+            emitter.complete();
+        } catch (Exception e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void removeSubscriber(String taskId, SseEmitter emitter) {
+        subscribers.computeIfPresent(taskId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private static boolean isTerminal(String status) {
+        return STATUS_COMPLETED.equals(status) || STATUS_FAILED.equals(status);
+    }
+
+    private static String messageFor(String status, String error) {
+        if (STATUS_COMPLETED.equals(status)) {
+            return "가상피팅이 완료되었습니다.";
+        }
+        if (STATUS_FAILED.equals(status)) {
+            return "가상피팅 처리 중 오류가 발생했습니다: " + error;
+        }
+        return "가상피팅 진행 중입니다.";
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+        try {
+            // 남은 작업을 다른 노드가 바로 이어받도록 생존 키 삭제
+            redisTemplate.delete(NODE_KEY_PREFIX + nodeId);
+        } catch (Exception e) {
+            log.debug("가상피팅 노드 키 삭제 실패: error={}", e.getMessage());
+        }
+        if (!pendingJobs.isEmpty()) {
+            log.warn("종료 시 완료되지 않은 가상피팅 작업: count={}", pendingJobs.size());
+        }
+    }
+
+    /**
+     * 이 노드가 폴링 중인 작업 상태 (poller 스레드와 실행기 스레드가 함께 접근)
+     */
+    private static final class PendingJob {
+        private final String taskId;
+        private final long submittedAt;
+        private final AtomicBoolean inFlight = new AtomicBoolean();
+        private final CompletableFuture<FittingResponse> completion = new CompletableFuture<>();
+        private volatile long nextPollAt;
+        private volatile long lastDelayMs;
+        private volatile int lastProgress;
+        private volatile long lastProgressAt;
+        private volatile String lastStatus;
+        private volatile int statusErrors;
+
+        private PendingJob(String taskId, long submittedAt) {
+            this.taskId = taskId;
+            this.submittedAt = submittedAt;
+            this.lastProgressAt = submittedAt;
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.thefirsttake.app.fitting.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 가상피팅용 상품(의류) 이미지 로컬 디스크 저장소
+ * - 파일명 {상품 ID 해시}_{원본 경로 해시}_{내용 SHA-256}.img 로 저장해 재시작 후에도 색인 복구
+ *   (상품 ID는 원문 그대로 해시하므로 문자 치환으로 다른 상품 ID가 같은 파일/다운로드를 공유하지 않음)
+ * - presigned URL은 요청마다 쿼리(서명)가 바뀌므로 쿼리를 제외한 경로가 같으면 같은 원본으로 보고 재사용
+ * - 경로가 바뀌면(상품 이미지 교체) 다시 받아 기존 파일을 대체
+ * - 전체 크기가 max-size-mb를 넘으면 가장 오래 사용하지 않은 파일부터 삭제 (LRU)
+ * - 같은 상품을 동시에 요청하면 다운로드는 한 번만 수행 (single-flight)
+ * - 파일은 색인 잠금 안에서 열어 반환하므로 이후 LRU 삭제/교체가 일어나도 전송 중인 요청은 끝까지 읽을 수 있음
+ */
+@Service
+@Slf4j
+public class GarmentImageStore {
+
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36";
+    private static final Pattern FILE_NAME = Pattern.compile("^([0-9a-f]{32})_([0-9a-f]{16})_([0-9a-f]{64})\\.img$");
+
+    private final RestTemplate restTemplate;
+    private final Path directory;
+    private final long maxBytes;
+    private final boolean enabled;
+
+    // 상품 ID 해시 -> 저장된 이미지 (access-order LRU, index 잠금으로 보호)
+    private final LinkedHashMap<String, StoredImage> index = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final Map<String, CompletableFuture<StoredImage>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter refreshCounter;
+    private final Counter evictionCounter;
+
+    public GarmentImageStore(@Qualifier("imageProxyRestTemplate") RestTemplate restTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${fitting.garment-store.enabled:true}") boolean enabled,
+                             @Value("${fitting.garment-store.directory:${java.io.tmpdir}/thefirsttake/garment-images}") String directory,
+                             @Value("${fitting.garment-store.max-size-mb:1024}") long maxSizeMb) {
+        this.restTemplate = restTemplate;
+        this.directory = Paths.get(directory);
+        this.maxBytes = maxSizeMb * 1024 * 1024;
+
+        Gauge.builder("garment_image_store_bytes", totalBytes, AtomicLong::get)
+                .description("Bytes of garment images stored on local disk")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("garment_image_store_entries", index, this::entryCount)
+                .description("Garment images stored on local disk")
+                .register(meterRegistry);
+        this.hitCounter = requestCounter(meterRegistry, "hit");
+        this.missCounter = requestCounter(meterRegistry, "miss");
+        this.refreshCounter = requestCounter(meterRegistry, "refresh");
+        this.evictionCounter = Counter.builder("garment_image_store_evictions_total")
+                .description("Garment images evicted to stay under the store size limit")
+                .register(meterRegistry);
+        this.enabled = enabled && initDirectory();
+
+        log.info("상품 이미지 저장소 초기화: enabled={}, directory={}, maxSizeMb={}, entries={}, bytes={}",
+                this.enabled, this.directory, maxSizeMb, entryCount(index), totalBytes.get());
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("garment_image_store_requests_total")
+                .description("Garment image lookups by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 상품 이미지 열기 - 같은 원본이면 저장된 파일을, 아니면 다운로드 후 저장한 파일을 연 상태로 반환
+     * 반환된 리소스는 한 번만 읽을 수 있고, 읽은 쪽(multipart 전송) 또는 호출 측이 닫아야 함
+     */
+    public StoredImageResource open(String productId, String imageUrl, String filename) {
+        String id = productKey(productId);
+        String sourceHash = sha256Hex(sourceKey(imageUrl)).substring(0, 16);
+
+        for (int attempt = 0; ; attempt++) {
+            StoredImage stored;
+            synchronized (index) {
+                stored = index.get(id);
+                if (stored != null && stored.sourceHash.equals(sourceHash)) {
+                    StoredImageResource opened = openQuietly(stored, filename);
+                    if (opened != null) {
+                        hitCounter.increment();
+                        return opened;
+                    }
+                }
+            }
+
+            StoredImage resolved = load(productId, id, sourceHash, imageUrl, stored != null);
+            synchronized (index) {
+                StoredImageResource opened = openQuietly(resolved, filename);
+                if (opened != null) {
+                    return opened;
+                }
+            }
+            // 다른 요청의 갱신/LRU로 방금 받은 파일이 이미 삭제됨 - 한 번만 다시 시도
+            if (attempt > 0) {
+                throw new RuntimeException("상품 이미지 파일을 열 수 없습니다: productId=" + productId);
+            }
+        }
+    }
+
+    /**
+     * 원본 다운로드 후 저장 (같은 상품을 이미 받고 있으면 그 결과를 공유)
+     */
+    private StoredImage load(String productId, String id, String sourceHash, String imageUrl, boolean refresh) {
+        CompletableFuture<StoredImage> download = new CompletableFuture<>();
+        CompletableFuture<StoredImage> existing = inFlight.putIfAbsent(id, download);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw new RuntimeException("상품 이미지 다운로드 실패: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+
+        try {
+            (refresh ? refreshCounter : missCounter).increment();
+            StoredImage downloaded = download(id, sourceHash, imageUrl);
+            put(id, downloaded);
+            download.complete(downloaded);
+            log.info("상품 이미지 저장: productId={}, bytes={}, refreshed={}", productId, downloaded.size, refresh);
+            return downloaded;
+        } catch (RuntimeException e) {
+            download.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, download);
+        }
+    }
+
+    // index 잠금 안에서 호출 - 열린 뒤에는 삭제되어도 끝까지 읽을 수 있음
+    private static StoredImageResource openQuietly(StoredImage image, String filename) {
+        try {
+            return new StoredImageResource(Files.newInputStream(image.path), image.size, filename);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 원본 이미지를 임시 파일로 스트리밍하면서 내용 해시 계산 후 최종 파일명으로 이동
+     */
+    private StoredImage download(String id, String sourceHash, String imageUrl) {
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, "download-", ".tmp");
+            Path tempFile = temp;
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            // presigned URL은 이미 인코딩되어 있으므로 그대로 사용
+            URI uri = UriComponentsBuilder.fromUriString(imageUrl).build(true).toUri();
+
+            Long size = restTemplate.execute(uri, HttpMethod.GET,
+                    request -> request.getHeaders().set("User-Agent", USER_AGENT),
+                    response -> {
+                        try (InputStream body = new DigestInputStream(response.getBody(), digest)) {
+                            return Files.copy(body, tempFile, StandardCopyOption.REPLACE_EXISTING);
+                        }
+                    });
+            if (size == null || size == 0) {
+                throw new RuntimeException("다운로드된 이미지가 비어있습니다.");
+            }
+
+            String contentHash = HexFormat.of().formatHex(digest.digest());
+            Path target = directory.resolve(id + "_" + sourceHash + "_" + contentHash + ".img");
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return new StoredImage(sourceHash, target, size);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("상품 이미지 저장 실패: " + e.getMessage(), e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * 색인 갱신 후 크기 제한을 넘으면 LRU 순으로 삭제
+     */
+    private void put(String id, StoredImage image) {
+        synchronized (index) {
+            StoredImage previous = index.put(id, image);
+            if (previous != null) {
+                totalBytes.addAndGet(-previous.size);
+                if (!previous.path.equals(image.path)) {
+                    deleteQuietly(previous.path);
+                }
+            }
+            totalBytes.addAndGet(image.size);
+            evictOverLimit();
+        }
+    }
+
+    private void evictOverLimit() {
+        Iterator<Map.Entry<String, StoredImage>> eldest = index.entrySet().iterator();
+        // 방금 저장한 항목(가장 최근)은 남겨 둠
+        while (totalBytes.get() > maxBytes && index.size() > 1 && eldest.hasNext()) {
+            StoredImage evicted = eldest.next().getValue();
+            eldest.remove();
+            totalBytes.addAndGet(-evicted.size);
+            deleteQuietly(evicted.path);
+            evictionCounter.increment();
+        }
+    }
+
+    /**
+     * 디렉터리 생성 및 기존 파일로 색인 복구 (수정 시각 순으로 LRU 순서 복원)
+     */
+    private boolean initDirectory() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> files = new ArrayList<>();
+            try (Stream<Path> listing = Files.list(directory)) {
+                listing.forEach(files::add);
+            }
+            files.sort(Comparator.comparingLong(this::lastModified));
+
+            synchronized (index) {
+                for (Path file : files) {
+                    Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+                    if (!matcher.matches()) {
+                        // 이전 실행에서 남은 임시 파일 등
+                        deleteQuietly(file);
+                        continue;
+                    }
+                    put(matcher.group(1), new StoredImage(matcher.group(2), file, Files.size(file)));
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            log.warn("상품 이미지 저장소 디렉터리 초기화 실패, 비활성화: directory={}, error={}", directory, e.getMessage());
+            return false;
+        }
+    }
+
+    private long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private int entryCount(Map<String, StoredImage> images) {
+        synchronized (index) {
+            return images.size();
+        }
+    }
+
+    /**
+     * presigned 서명 쿼리를 제외한 원본 식별자 (scheme://host/path)
+     */
+    private static String sourceKey(String imageUrl) {
+        int end = imageUrl.length();
+        int query = imageUrl.indexOf('?');
+        if (query >= 0) {
+            end = query;
+        }
+        int fragment = imageUrl.indexOf('#');
+        if (fragment >= 0 && fragment < end) {
+            end = fragment;
+        }
+        return imageUrl.substring(0, end);
+    }
+
+    private static String productKey(String productId) {
+        return sha256Hex(productId.trim()).substring(0, 32);
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("상품 이미지 파일 삭제 실패: path={}, error={}", path, e.getMessage());
+        }
+    }
+
+    private record StoredImage(String sourceHash, Path path, long size) {
+    }
+
+    /**
+     * 열린 상품 이미지 파일 - multipart 파트로 그대로 사용 (Content-Length, 파일명 제공)
+     */
+    public static final class StoredImageResource extends InputStreamResource implements Closeable {
+        private final InputStream inputStream;
+        private final long size;
+        private final String filename;
+
+        private StoredImageResource(InputStream inputStream, long size, String filename) {
+            super(inputStream, "garment image " + filename);
+            this.inputStream = inputStream;
+            this.size = size;
+            this.filename = filename;
+        }
+
+        @Override
+        public long contentLength() {
+            return size;
+        }
+
+        @Override
+        public String getFilename() {
+            return filename;
+        }
+
+        @Override
+        public void close() throws IOException {
+            inputStream.close();
+        }
+    }
+}
@@ -0,0 +1,430 @@
+package com.thefirsttake.app.fitting.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 이미지 프록시 로컬 디스크 캐시
+ * - 키: 정규화한 URL (scheme/host 소문자, 쿼리 정렬)
+ *   서명 쿼리는 public-hosts에 등록된 공개 호스트에서만 제거 (서명만 다른 URL도 같은 항목 사용)
+ *   그 외 presigned URL은 서명까지 키에 포함하고 URL 만료 시각(X-Amz-Expires 등)이 지나면 항목도 만료
+ *   → 만료되었거나 서명이 없는 URL로 비공개 객체(피팅 결과 등)를 받아갈 수 없음
+ * - 본문은 디스크 파일, 색인(Content-Type/ETag/Last-Modified/크기)은 메모리에 두고 max-size-mb를 넘으면 LRU 삭제
+ * - 같은 키의 동시 miss는 원본 요청 한 번만 수행 (single-flight)
+ * - 200 + image/* 응답만 저장하고, 그 외(에러, 너무 큰 이미지)는 받은 원본 응답을 호출 측에 넘겨 그대로 스트리밍
+ *   (같은 URL을 원본에 다시 요청하지 않음)
+ * - 색인이 메모리에만 있으므로 시작 시 디렉터리를 비움
+ */
+@Service
+@Slf4j
+public class ImageProxyCache {
+
+    // presigned URL 서명/만료 파라미터 (AWS S3, GCS, CloudFront) - 공개 호스트에서만 키에서 제외
+    private static final List<String> SIGNATURE_PARAM_PREFIXES = List.of("x-amz-", "x-goog-");
+    private static final List<String> SIGNATURE_PARAMS = List.of("expires", "signature", "key-pair-id", "policy");
+    private static final DateTimeFormatter SIGNATURE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private final RestTemplate restTemplate;
+    private final Path directory;
+    private final long maxBytes;
+    private final long maxObjectBytes;
+    private final long ttlMs;
+    private final int bufferSize;
+    private final boolean enabled;
+    private final Set<String> publicHosts;
+
+    // 정규화 URL -> 캐시 항목 (access-order LRU, index 잠금으로 보호)
+    private final LinkedHashMap<String, CachedImage> index = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final Map<String, CompletableFuture<Optional<CachedImage>>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter coalescedCounter;
+    private final Counter uncacheableCounter;
+    private final Counter evictionCounter;
+
+    public ImageProxyCache(@Qualifier("imageProxyRestTemplate") RestTemplate restTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${fitting.proxy.cache.enabled:true}") boolean enabled,
+                           @Value("${fitting.proxy.cache.directory:${java.io.tmpdir}/thefirsttake/proxy-cache}") String directory,
+                           @Value("${fitting.proxy.cache.max-size-mb:512}") long maxSizeMb,
+                           @Value("${fitting.proxy.cache.max-object-size-mb:10}") long maxObjectSizeMb,
+                           @Value("${fitting.proxy.cache.ttl-minutes:1440}") long ttlMinutes,
+                           @Value("${fitting.proxy.cache.public-hosts:}") List<String> publicHosts,
+                           @Value("${fitting.proxy.buffer-size:8192}") int bufferSize) {
+        this.restTemplate = restTemplate;
+        this.directory = Paths.get(directory);
+        this.maxBytes = maxSizeMb * 1024 * 1024;
+        this.maxObjectBytes = maxObjectSizeMb * 1024 * 1024;
+        this.ttlMs = TimeUnit.MINUTES.toMillis(ttlMinutes);
+        this.bufferSize = bufferSize;
+        this.publicHosts = new HashSet<>();
+        for (String host : publicHosts) {
+            if (!host.isBlank()) {
+                this.publicHosts.add(host.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+
+        Gauge.builder("image_proxy_cache_bytes", totalBytes, AtomicLong::get)
+                .description("Bytes of proxied images cached on local disk")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.hitCounter = requestCounter(meterRegistry, "hit");
+        this.missCounter = requestCounter(meterRegistry, "miss");
+        this.coalescedCounter = requestCounter(meterRegistry, "coalesced");
+        this.uncacheableCounter = requestCounter(meterRegistry, "uncacheable");
+        this.evictionCounter = Counter.builder("image_proxy_cache_evictions_total")
+                .description("Proxied images evicted to stay under the cache size limit")
+                .register(meterRegistry);
+        this.enabled = enabled && initDirectory();
+
+        log.info("이미지 프록시 캐시 초기화: enabled={}, directory={}, maxSizeMb={}, maxObjectSizeMb={}, publicHosts={}",
+                this.enabled, this.directory, maxSizeMb, maxObjectSizeMb, this.publicHosts);
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("image_proxy_cache_requests_total")
+                .description("Image proxy cache lookups by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 캐시 조회 - 없으면 원본에서 받아 저장 (동시 miss는 한 번만 요청)
+     * @return 캐시 항목, 저장할 수 없는 원본 응답(에러, image/* 아님, 크기 초과 - 호출 측이 스트리밍 후 닫음),
+     *         또는 둘 다 없음(만료 시각을 알 수 없는 서명 URL, 다른 요청이 받은 응답을 저장하지 못함 - 호출 측이 원본에 직접 요청)
+     * @throws IOException 원본 요청 실패
+     */
+    public Lookup getOrLoad(String imageUrl) throws IOException {
+        UriComponents uri = UriComponentsBuilder.fromUriString(imageUrl).build();
+        boolean publicHost = uri.getHost() != null && publicHosts.contains(uri.getHost().toLowerCase(Locale.ROOT));
+        // 비공개 호스트의 서명 URL은 URL 자체의 만료 시각을 넘겨 캐시하지 않음
+        long signatureExpiresAt = publicHost ? Long.MAX_VALUE : signatureExpiresAt(uri);
+        if (signatureExpiresAt <= System.currentTimeMillis()) {
+            uncacheableCounter.increment();
+            return Lookup.NONE;
+        }
+        String key = normalize(uri, publicHost);
+
+        CachedImage cached;
+        synchronized (index) {
+            cached = index.get(key);
+        }
+        if (cached != null && System.currentTimeMillis() < cached.expiresAt() && Files.exists(cached.path())) {
+            hitCounter.increment();
+            return new Lookup(cached, null);
+        }
+
+        CompletableFuture<Optional<CachedImage>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<CachedImage>> existing = inFlight.putIfAbsent(key, load);
+        if (existing != null) {
+            coalescedCounter.increment();
+            try {
+                return new Lookup(existing.join().orElse(null), null);
+            } catch (CompletionException e) {
+                return Lookup.NONE;
+            }
+        }
+
+        try {
+            missCounter.increment();
+            Lookup loaded = fetch(key, imageUrl, signatureExpiresAt);
+            if (loaded.image() != null) {
+                put(key, loaded.image());
+            } else {
+                uncacheableCounter.increment();
+            }
+            load.complete(Optional.ofNullable(loaded.image()));
+            return loaded;
+        } catch (IOException | RuntimeException e) {
+            load.complete(Optional.empty());
+            throw e;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    /**
+     * 원본 본문을 임시 파일로 스트리밍 저장
+     * - 저장할 수 없는 응답은 열린 그대로 Passthrough로 반환
+     * - max-object-size-mb를 넘으면 지금까지 받은 부분(임시 파일)과 남은 본문을 이어 Passthrough로 반환
+     */
+    private Lookup fetch(String key, String imageUrl, long signatureExpiresAt) throws IOException {
+        URI uri = restTemplate.getUriTemplateHandler().expand(imageUrl);
+        ClientHttpRequest request = restTemplate.getRequestFactory().createRequest(uri, HttpMethod.GET);
+        ClientHttpResponse response = request.execute();
+        boolean handedOff = false;
+        Path temp = null;
+        try {
+            MediaType contentType = response.getHeaders().getContentType();
+            long contentLength = response.getHeaders().getContentLength();
+            if (response.getStatusCode().value() != HttpStatus.OK.value()
+                    || contentType == null || !"image".equals(contentType.getType())
+                    || contentLength > maxObjectBytes) {
+                handedOff = true;
+                return passthrough(response, response.getBody(), response);
+            }
+
+            try {
+                temp = Files.createTempFile(directory, "fetch-", ".tmp");
+            } catch (IOException e) {
+                log.warn("이미지 프록시 캐시 임시 파일 생성 실패, 원본 응답을 그대로 프록시: error={}", e.getMessage());
+                handedOff = true;
+                return passthrough(response, response.getBody(), response);
+            }
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            InputStream body = response.getBody();
+            long size = 0;
+            boolean tooLarge = false;
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                byte[] buffer = new byte[bufferSize];
+                int read;
+                while (!tooLarge && (read = body.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                    size += read;
+                    tooLarge = size > maxObjectBytes;
+                }
+            }
+            if (tooLarge || size == 0) {
+                // 먼저 열어 두면 finally에서 임시 파일을 삭제해도 끝까지 읽을 수 있음
+                InputStream received = Files.newInputStream(temp);
+                handedOff = true;
+                return passthrough(response, new SequenceInputStream(received, body), () -> {
+                    try (response) {
+                        received.close();
+                    }
+                });
+            }
+
+            String contentHash = HexFormat.of().formatHex(digest.digest());
+            String etag = response.getHeaders().getETag() != null
+                    ? response.getHeaders().getETag() : "\"" + contentHash + "\"";
+            Path target = directory.resolve(sha256Hex(key) + ".img");
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return new Lookup(new CachedImage(target, size, contentType.toString(), etag,
+                    response.getHeaders().getLastModified(),
+                    Math.min(System.currentTimeMillis() + ttlMs, signatureExpiresAt)), null);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            deleteQuietly(temp);
+            if (!handedOff) {
+                response.close();
+            }
+        }
+    }
+
+    private static Lookup passthrough(ClientHttpResponse response, InputStream body, Closeable resource) throws IOException {
+        return new Lookup(null, new Passthrough(response.getStatusCode(), response.getHeaders(), body, resource));
+    }
+
+    private void put(String key, CachedImage image) {
+        synchronized (index) {
+            CachedImage previous = index.put(key, image);
+            if (previous != null) {
+                // 같은 키는 같은 파일명으로 덮어쓰므로 크기만 정리
+                totalBytes.addAndGet(-previous.size());
+            }
+            totalBytes.addAndGet(image.size());
+
+            Iterator<Map.Entry<String, CachedImage>> eldest = index.entrySet().iterator();
+            // 방금 저장한 항목(가장 최근)은 남겨 둠
+            while (totalBytes.get() > maxBytes && index.size() > 1 && eldest.hasNext()) {
+                CachedImage evicted = eldest.next().getValue();
+                eldest.remove();
+                totalBytes.addAndGet(-evicted.size());
+                deleteQuietly(evicted.path());
+                evictionCounter.increment();
+            }
+        }
+    }
+
+    /**
+     * 캐시 키 정규화 - scheme/host 소문자, 쿼리 파라미터 정렬, fragment 제거 (stripSignature면 서명 파라미터 제거)
+     */
+    static String normalize(UriComponents uri, boolean stripSignature) {
+        TreeMap<String, List<String>> params = new TreeMap<>();
+        uri.getQueryParams().forEach((name, values) -> {
+            if (!stripSignature || !isSignatureParam(name)) {
+                params.put(name, values);
+            }
+        });
+
+        StringBuilder key = new StringBuilder()
+                .append(uri.getScheme() != null ? uri.getScheme().toLowerCase(Locale.ROOT) : "")
+                .append("://")
+                .append(uri.getHost() != null ? uri.getHost().toLowerCase(Locale.ROOT) : "");
+        if (uri.getPort() != -1) {
+            key.append(':').append(uri.getPort());
+        }
+        key.append(uri.getPath() != null ? uri.getPath() : "");
+        char separator = '?';
+        for (Map.Entry<String, List<String>> param : params.entrySet()) {
+            for (String value : param.getValue()) {
+                key.append(separator).append(param.getKey());
+                if (value != null) {
+                    key.append('=').append(value);
+                }
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * presigned URL 만료 시각 (epoch ms)
+     * - S3 SigV4: X-Amz-Date + X-Amz-Expires, GCS V4: X-Goog-Date + X-Goog-Expires
+     * - S3 SigV2/CloudFront canned policy: Expires (epoch 초)
+     * @return 서명 파라미터가 없으면 Long.MAX_VALUE, 서명은 있는데 만료 시각을 알 수 없으면 0 (캐시하지 않음)
+     */
+    static long signatureExpiresAt(UriComponents uri) {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        uri.getQueryParams().forEach((name, values) -> params.put(name.toLowerCase(Locale.ROOT), values));
+        if (params.keySet().stream().noneMatch(ImageProxyCache::isSignatureParam)) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            for (String prefix : SIGNATURE_PARAM_PREFIXES) {
+                String date = params.getFirst(prefix + "date");
+                String expires = params.getFirst(prefix + "expires");
+                if (date != null && expires != null) {
+                    return LocalDateTime.parse(date, SIGNATURE_DATE).toInstant(ZoneOffset.UTC)
+                            .plusSeconds(Long.parseLong(expires)).toEpochMilli();
+                }
+            }
+            String expires = params.getFirst("expires");
+            if (expires != null) {
+                return TimeUnit.SECONDS.toMillis(Long.parseLong(expires));
+            }
+        } catch (DateTimeParseException | NumberFormatException e) {
+            log.debug("presigned URL 만료 시각 파싱 실패: error={}", e.getMessage());
+        }
+        return 0L;
+    }
+
+    private static boolean isSignatureParam(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        return SIGNATURE_PARAMS.contains(lower) || SIGNATURE_PARAM_PREFIXES.stream().anyMatch(lower::startsWith);
+    }
+
+    private boolean initDirectory() {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> listing = Files.list(directory)) {
+                listing.forEach(ImageProxyCache::deleteQuietly);
+            }
+            return true;
+        } catch (IOException e) {
+            log.warn("이미지 프록시 캐시 디렉터리 초기화 실패, 비활성화: directory={}, error={}", directory, e.getMessage());
+            return false;
+        }
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("이미지 프록시 캐시 파일 삭제 실패: path={}, error={}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * 캐시 조회 결과 - image(캐시 항목) 또는 passthrough(저장하지 못한 원본 응답), 둘 다 null이면 원본에 직접 요청
+     */
+    public record Lookup(CachedImage image, Passthrough passthrough) {
+        static final Lookup NONE = new Lookup(null, null);
+    }
+
+    /**
+     * 캐시하지 못한 원본 응답 - 호출 측이 body를 스트리밍한 뒤 resource를 닫음
+     */
+    public record Passthrough(HttpStatusCode status, HttpHeaders headers, InputStream body, Closeable resource) {
+    }
+
+    /**
+     * 캐시된 이미지 (본문 파일 + 응답 헤더에 필요한 메타데이터)
+     * @param lastModified 원본 Last-Modified (없으면 -1)
+     * @param expiresAt 항목 만료 시각 (ttl-minutes와 presigned URL 만료 시각 중 이른 쪽)
+     */
+    public record CachedImage(Path path, long size, String contentType, String etag, long lastModified, long expiresAt) {
+
+        public HttpHeaders headers() {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.parseMediaType(contentType));
+            headers.setETag(etag);
+            if (lastModified > 0) {
+                headers.setLastModified(lastModified);
+            }
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.thefirsttake.app.fitting.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thefirsttake.app.common.response.CommonResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 이미지 프록시 스트리밍 서비스
+ * - 원본 응답을 byte[]로 모으지 않고 고정 크기 버퍼로 서블릿 출력에 바로 흘려보냄
+ * - If-None-Match/If-Modified-Since/Range/If-Range 요청 헤더를 원본에 전달하고 304/206 응답을 그대로 반환
+ * - 동시에 열린 프록시 스트림 수를 max-concurrent-streams로 제한 (초과 시 503 + Retry-After)
+ * - 범위 요청이 아니면 ImageProxyCache(디스크)를 먼저 확인해 원본 요청을 줄임
+ */
+@Service
+@Slf4j
+public class ImageProxyService {
+
+    private static final List<String> FORWARDED_REQUEST_HEADERS = List.of(
+            HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE, HttpHeaders.RANGE, HttpHeaders.IF_RANGE);
+    private static final List<String> FORWARDED_RESPONSE_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH, HttpHeaders.CONTENT_RANGE, HttpHeaders.ACCEPT_RANGES,
+            HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED);
+
+    private static final String CACHE_CONTROL = "public, max-age=3600";
+
+    private final RestTemplate restTemplate;
+    private final ImageProxyCache imageProxyCache;
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final long acquireTimeoutMs;
+    private final Semaphore streamPermits;
+    private final int maxConcurrentStreams;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter bytesCounter;
+
+    public ImageProxyService(@Qualifier("imageProxyRestTemplate") RestTemplate restTemplate,
+                             ImageProxyCache imageProxyCache,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${fitting.proxy.max-concurrent-streams:64}") int maxConcurrentStreams,
+                             @Value("${fitting.proxy.acquire-timeout-ms:1000}") long acquireTimeoutMs,
+                             @Value("${fitting.proxy.buffer-size:8192}") int bufferSize,
+                             @Value("${http.client.image-proxy.max-per-route:20}") int upstreamMaxPerRoute) {
+        this.restTemplate = restTemplate;
+        this.imageProxyCache = imageProxyCache;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.maxConcurrentStreams = maxConcurrentStreams;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.bufferSize = bufferSize;
+        this.streamPermits = new Semaphore(maxConcurrentStreams);
+
+        Gauge.builder("image_proxy_active_streams", streamPermits, permits -> maxConcurrentStreams - permits.availablePermits())
+                .description("Image proxy responses currently streaming on this node")
+                .register(meterRegistry);
+        this.bytesCounter = Counter.builder("image_proxy_bytes_total")
+                .description("Bytes streamed to clients by the image proxy")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        log.info("이미지 프록시 초기화: maxConcurrentStreams={}, bufferSize={}", maxConcurrentStreams, bufferSize);
+        // 스트림마다 원본 커넥션을 끝까지 점유하므로 같은 호스트(S3) 커넥션 한도가 더 작으면 나머지는 커넥션 대기 후 504
+        if (upstreamMaxPerRoute < maxConcurrentStreams) {
+            log.warn("이미지 프록시 원본 커넥션 한도가 동시 스트림 한도보다 작습니다: maxPerRoute={}, maxConcurrentStreams={}",
+                    upstreamMaxPerRoute, maxConcurrentStreams);
+        }
+    }
+
+    /**
+     * 원본 이미지를 스트리밍으로 프록시
+     * @param imageUrl 디코딩/검증이 끝난 원본 URL
+     * @param requestHeaders 클라이언트 요청 헤더 (조건부/범위 헤더만 전달)
+     */
+    public ResponseEntity<StreamingResponseBody> proxy(String imageUrl, HttpHeaders requestHeaders) {
+        if (!acquirePermit()) {
+            countRequest("rejected");
+            log.warn("이미지 프록시 동시 스트림 한도 초과: max={}", maxConcurrentStreams);
+            return errorResponse(HttpStatus.SERVICE_UNAVAILABLE, "이미지 프록시 요청이 많습니다. 잠시 후 다시 시도해주세요.",
+                    headers -> headers.set(HttpHeaders.RETRY_AFTER, "1"));
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                streamPermits.release();
+            }
+        };
+
+        ClientHttpResponse upstream = null;
+        boolean streaming = false;
+        try {
+            // 범위 요청은 캐시를 거치지 않고 원본에 그대로 전달
+            if (imageProxyCache.isEnabled() && requestHeaders.getFirst(HttpHeaders.RANGE) == null) {
+                ImageProxyCache.Lookup lookup = imageProxyCache.getOrLoad(imageUrl);
+                if (lookup.passthrough() != null) {
+                    // 캐시하지 못한 원본 응답을 그대로 사용 (원본에 다시 요청하지 않음)
+                    ImageProxyCache.Passthrough passthrough = lookup.passthrough();
+                    streaming = true; // 이후 정리는 respond가 담당
+                    return respond(imageUrl, passthrough.status(), passthrough.headers(),
+                            passthrough.body(), passthrough.resource(), release);
+                }
+                if (lookup.image() != null) {
+                    ResponseEntity<StreamingResponseBody> cachedResponse = serveCached(imageUrl, lookup.image(), requestHeaders, release);
+                    if (cachedResponse != null) {
+                        streaming = cachedResponse.getBody() != null;
+                        return cachedResponse;
+                    }
+                }
+            }
+            
+            // 기존 getForEntity(String)와 같은 방식으로 URI 생성 (허용되지 않는 문자만 인코딩)
+            URI uri = restTemplate.getUriTemplateHandler().expand(imageUrl);
+            ClientHttpRequest request = restTemplate.getRequestFactory().createRequest(uri, HttpMethod.GET);
+            for (String name : FORWARDED_REQUEST_HEADERS) {
+                String value = requestHeaders.getFirst(name);
+                if (value != null) {
+                    request.getHeaders().set(name, value);
+                }
+            }
+            upstream = request.execute();
+            HttpStatusCode status = upstream.getStatusCode();
+            InputStream body = upstream.getBody();
+            streaming = true; // 이후 정리는 respond가 담당
+            return respond(imageUrl, status, upstream.getHeaders(), body, upstream, release);
+        } catch (IOException e) {
+            log.error("네트워크 접근 에러: {}", e.getMessage());
+            countRequest("upstream_error");
+            return errorResponse(HttpStatus.GATEWAY_TIMEOUT, "네트워크 연결 실패: " + e.getMessage());
+        } finally {
+            if (!streaming) {
+                if (upstream != null) {
+                    upstream.close();
+                }
+                release.run();
+            }
+        }
+    }
+
+    /**
+     * 원본 응답을 클라이언트 응답으로 변환 - 본문을 스트리밍하지 않는 경우(에러, 304)에는 바로 resource를 닫고 permit 반환
+     */
+    private ResponseEntity<StreamingResponseBody> respond(String imageUrl, HttpStatusCode status, HttpHeaders upstreamHeaders,
+                                                          InputStream body, Closeable resource, Runnable release) throws IOException {
+        boolean streaming = false;
+        try {
+            if (status.is4xxClientError() && status.value() != HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value()) {
+                log.error("HTTP 클라이언트 에러: status={}", status);
+                countRequest("upstream_error");
+                return errorResponse(HttpStatus.BAD_REQUEST, "이미지 URL에 접근할 수 없습니다: " + status);
+            }
+            if (status.is5xxServerError()) {
+                log.error("HTTP 서버 에러: status={}", status);
+                countRequest("upstream_error");
+                return errorResponse(HttpStatus.BAD_GATEWAY, "외부 서버 오류: " + status);
+            }
+
+            HttpHeaders responseHeaders = new HttpHeaders();
+            for (String name : FORWARDED_RESPONSE_HEADERS) {
+                List<String> values = upstreamHeaders.get(name);
+                if (values != null) {
+                    responseHeaders.put(name, values);
+                }
+            }
+            if (responseHeaders.getContentType() == null && status.value() != HttpStatus.NOT_MODIFIED.value()) {
+                responseHeaders.setContentType(MediaType.IMAGE_JPEG);
+            }
+            responseHeaders.setCacheControl(CACHE_CONTROL);
+
+            if (status.value() == HttpStatus.NOT_MODIFIED.value()) {
+                countRequest("not_modified");
+                return ResponseEntity.status(status).headers(responseHeaders).build();
+            }
+
+            countRequest(status.value() == HttpStatus.PARTIAL_CONTENT.value() ? "partial" : "ok");
+            streaming = true; // 원본 연결과 permit은 본문 스트리밍이 끝난 뒤 정리
+            return ResponseEntity.status(status).headers(responseHeaders)
+                    .body(outputStream -> stream(imageUrl, body, resource, outputStream, release));
+        } finally {
+            if (!streaming) {
+                try {
+                    resource.close();
+                } finally {
+                    release.run();
+                }
+            }
+        }
+    }
+
+    /**
+     * 디스크 캐시 응답 - If-None-Match/If-Modified-Since가 맞으면 304, 아니면 파일을 스트리밍
+     * @return 그 사이 파일이 삭제(LRU)되어 열 수 없으면 null (원본 프록시로 처리)
+     */
+    private ResponseEntity<StreamingResponseBody> serveCached(String imageUrl, ImageProxyCache.CachedImage image,
+                                                              HttpHeaders requestHeaders, Runnable release) {
+        HttpHeaders responseHeaders = image.headers();
+        responseHeaders.setCacheControl(CACHE_CONTROL);
+        if (notModified(image, requestHeaders)) {
+            countRequest("not_modified");
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(responseHeaders).build();
+        }
+
+        InputStream body;
+        try {
+            // 먼저 열어 두면 스트리밍 중 LRU로 파일이 삭제되어도 끝까지 읽을 수 있음
+            body = Files.newInputStream(image.path());
+        } catch (IOException e) {
+            return null;
+        }
+        responseHeaders.setContentLength(image.size());
+        countRequest("ok");
+        return ResponseEntity.ok().headers(responseHeaders)
+                .body(outputStream -> stream(imageUrl, body, body, outputStream, release));
+    }
+
+    private static boolean notModified(ImageProxyCache.CachedImage image, HttpHeaders requestHeaders) {
+        List<String> ifNoneMatch = requestHeaders.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            return ifNoneMatch.contains("*") || ifNoneMatch.contains(image.etag());
+        }
+        long ifModifiedSince = requestHeaders.getIfModifiedSince();
+        return ifModifiedSince > 0 && image.lastModified() > 0 && image.lastModified() / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /**
+     * 고정 크기 버퍼로 본문을 클라이언트에 복사 (클라이언트가 끊으면 원본 연결/파일도 닫음)
+     */
+    private void stream(String imageUrl, InputStream source, Closeable resource, OutputStream outputStream,
+                        Runnable release) throws IOException {
+        long copied = 0;
+        try (resource; InputStream body = source) {
+            byte[] buffer = new byte[bufferSize];
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+                copied += read;
+            }
+            outputStream.flush();
+        } finally {
+            bytesCounter.increment(copied);
+            release.run();
+            log.debug("이미지 프록시 스트리밍 종료: url={}, bytes={}", maskUrl(imageUrl), copied);
+        }
+    }
+
+    private boolean acquirePermit() {
+        try {
+            return streamPermits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 프록시 실패 응답 (CommonResponse JSON)
+     */
+    public ResponseEntity<StreamingResponseBody> errorResponse(HttpStatus status, String message) {
+        return errorResponse(status, message, null);
+    }
+
+    private ResponseEntity<StreamingResponseBody> errorResponse(HttpStatus status, String message,
+                                                                Consumer<HttpHeaders> extraHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (extraHeaders != null) {
+            extraHeaders.accept(headers);
+        }
+        CommonResponse body = CommonResponse.fail(message);
+        return ResponseEntity.status(status).headers(headers)
+                .body(outputStream -> objectMapper.writeValue(outputStream, body));
+    }
+
+    private void countRequest(String result) {
+        Counter.builder("image_proxy_requests_total")
+                .description("Image proxy requests by result")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // presigned URL의 서명 쿼리는 로그에 남기지 않음
+    private static String maskUrl(String url) {
+        int query = url.indexOf('?');
+        return query < 0 ? url : url.substring(0, query) + "?[masked]";
+    }
+}
@@ -0,0 +1,173 @@
+package com.thefirsttake.app.chat.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LlmStreamChunkParserTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("token 청크는 content 문자열만 읽는다")
+    void parse_token() throws Exception {
+        LlmStreamChunkParser.LlmStreamChunk chunk =
+                LlmStreamChunkParser.parse("{\"type\":\"token\",\"content\":\"안녕\\n\\\"하세요\\\"\"}");
+
+        assertThat(chunk.type()).isEqualTo("token");
+        assertThat(chunk.text()).isEqualTo("안녕\n\"하세요\"");
+        assertThat(chunk.content()).isNull();
+    }
+
+    @Test
+    @DisplayName("message 청크는 중첩된 content 객체를 Map으로 읽는다")
+    void parse_message() throws Exception {
+        String json = "{\"type\":\"message\",\"content\":{\"type\":\"ai\",\"content\":\"추천드려요\","
+                + "\"additional_kwargs\":{\"type\":\"refer\",\"product_ids\":[\"4227290\",\"3813702\"]}}}";
+
+        LlmStreamChunkParser.LlmStreamChunk chunk = LlmStreamChunkParser.parse(json);
+
+        assertThat(chunk.type()).isEqualTo("message");
+        assertThat(chunk.text()).isNull();
+        assertThat(chunk.content()).containsEntry("type", "ai").containsEntry("content", "추천드려요");
+        assertThat(chunk.content().get("additional_kwargs"))
+                .isEqualTo(Map.of("type", "refer", "product_ids", List.of("4227290", "3813702")));
+    }
+
+    @Test
+    @DisplayName("status 청크는 type과 content 문자열을 읽는다")
+    void parse_status() throws Exception {
+        LlmStreamChunkParser.LlmStreamChunk chunk =
+                LlmStreamChunkParser.parse("{\"type\":\"status\",\"content\":\"style_analyst 응답 생성 중\"}");
+
+        assertThat(chunk.type()).isEqualTo("status");
+        assertThat(chunk.text()).isEqualTo("style_analyst 응답 생성 중");
+        assertThat(chunk.content()).isNull();
+    }
+
+    @Test
+    @DisplayName("content가 null이면 text와 content 모두 null이다")
+    void parse_nullContent() throws Exception {
+        LlmStreamChunkParser.LlmStreamChunk chunk = LlmStreamChunkParser.parse("{\"type\":\"token\",\"content\":null}");
+
+        assertThat(chunk.type()).isEqualTo("token");
+        assertThat(chunk.text()).isNull();
+        assertThat(chunk.content()).isNull();
+    }
+
+    @Test
+    @DisplayName("type이나 content가 없는 청크도 파싱된다")
+    void parse_missingFields() throws Exception {
+        assertThat(LlmStreamChunkParser.parse("{}"))
+                .isEqualTo(new LlmStreamChunkParser.LlmStreamChunk(null, null, null));
+        assertThat(LlmStreamChunkParser.parse("{\"content\":\"x\"}").type()).isNull();
+        assertThat(LlmStreamChunkParser.parse("{\"type\":null,\"content\":\"x\"}").type()).isNull();
+    }
+
+    @Test
+    @DisplayName("message가 아닌 청크의 중첩 객체 content는 건너뛴다")
+    void parse_nestedObjectForNonMessage_isSkipped() throws Exception {
+        LlmStreamChunkParser.LlmStreamChunk chunk =
+                LlmStreamChunkParser.parse("{\"type\":\"status\",\"content\":{\"step\":\"search\",\"detail\":{\"n\":1}}}");
+
+        assertThat(chunk.type()).isEqualTo("status");
+        assertThat(chunk.text()).isNull();
+        assertThat(chunk.content()).isNull();
+    }
+
+    @Test
+    @DisplayName("배열 content는 건너뛰고 이후 필드는 정상적으로 읽는다")
+    void parse_arrayContent_isSkipped() throws Exception {
+        LlmStreamChunkParser.LlmStreamChunk chunk =
+                LlmStreamChunkParser.parse("{\"content\":[1,[2,3],{\"a\":4}],\"type\":\"token\"}");
+
+        assertThat(chunk.type()).isEqualTo("token");
+        assertThat(chunk.text()).isNull();
+        assertThat(chunk.content()).isNull();
+    }
+
+    @Test
+    @DisplayName("content가 type보다 먼저 와도 같은 결과를 낸다")
+    void parse_contentBeforeType() throws Exception {
+        LlmStreamChunkParser.LlmStreamChunk token =
+                LlmStreamChunkParser.parse("{\"content\":\"셔츠\",\"type\":\"token\"}");
+        LlmStreamChunkParser.LlmStreamChunk message =
+                LlmStreamChunkParser.parse("{\"content\":{\"type\":\"ai\",\"content\":\"완료\"},\"type\":\"message\"}");
+
+        assertThat(token.type()).isEqualTo("token");
+        assertThat(token.text()).isEqualTo("셔츠");
+        assertThat(message.type()).isEqualTo("message");
+        assertThat(message.content()).isEqualTo(Map.of("type", "ai", "content", "완료"));
+    }
+
+    @Test
+    @DisplayName("관련 없는 필드(중첩 포함)는 건너뛴다")
+    void parse_unrelatedFields_areSkipped() throws Exception {
+        LlmStreamChunkParser.LlmStreamChunk chunk = LlmStreamChunkParser.parse(
+                "{\"run_id\":\"r1\",\"metadata\":{\"type\":\"x\",\"content\":\"y\"},\"type\":\"token\",\"content\":\"핏\"}");
+
+        assertThat(chunk.type()).isEqualTo("token");
+        assertThat(chunk.text()).isEqualTo("핏");
+    }
+
+    @Test
+    @DisplayName("JSON 객체가 아닌 청크는 IOException을 던진다")
+    void parse_nonObject_throws() {
+        assertThatThrownBy(() -> LlmStreamChunkParser.parse("[\"token\"]")).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> LlmStreamChunkParser.parse("\"token\"")).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> LlmStreamChunkParser.parse("{\"type\":\"token\",")).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    @DisplayName("녹화된 스트림의 모든 청크에서 기존 Map 파싱과 같은 type/content를 얻는다")
+    void parse_recordedStream_matchesMapParsing() throws Exception {
+        List<String> chunks = loadFixtureChunks();
+        assertThat(chunks).isNotEmpty();
+
+        for (String json : chunks) {
+            Map<String, Object> expected = objectMapper.readValue(json, new TypeReference<>() {});
+            LlmStreamChunkParser.LlmStreamChunk actual = LlmStreamChunkParser.parse(json);
+
+            assertThat(actual.type()).as(json).isEqualTo(expected.get("type"));
+            Object content = expected.get("content");
+            if (content instanceof Map) {
+                assertThat(actual.content()).as(json).isEqualTo(content);
+                assertThat(actual.text()).as(json).isNull();
+            } else {
+                assertThat(actual.text()).as(json).isEqualTo(content);
+                assertThat(actual.content()).as(json).isNull();
+            }
+        }
+    }
+
+    private List<String> loadFixtureChunks() throws IOException {
+        InputStream in = getClass().getResourceAsStream("/llm-stream/expert-stream.txt");
+        assertThat(in).isNotNull();
+        List<String> result = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("data: ")) {
+                    line = line.substring(6);
+                }
+                if (!line.isBlank() && !"[DONE]".equals(line.trim())) {
+                    result.add(line);
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,91 @@
+package com.thefirsttake.app.chat.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thefirsttake.app.common.response.CommonResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SseTokenEventEncoderTests {
+
+    private static final long TIMESTAMP = 1_700_000_000_123L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * 기존 content 이벤트 직렬화 경로 (HashMap + CommonResponse + ObjectMapper)
+     */
+    private String legacyEncode(String agentId, String agentName, String token) throws Exception {
+        Map<String, Object> contentPayload = new HashMap<>();
+        contentPayload.put("message", token);
+        contentPayload.put("agent_id", agentId);
+        contentPayload.put("agent_name", agentName);
+        contentPayload.put("type", "content");
+        contentPayload.put("timestamp", TIMESTAMP);
+        return objectMapper.writeValueAsString(CommonResponse.success(contentPayload));
+    }
+
+    private void assertSameAsLegacy(String agentId, String agentName, String token) throws Exception {
+        SseTokenEventEncoder encoder = new SseTokenEventEncoder(agentId, agentName);
+
+        JsonNode actual = objectMapper.readTree(encoder.encode(token, TIMESTAMP));
+        JsonNode expected = objectMapper.readTree(legacyEncode(agentId, agentName, token));
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            " the",
+            "네이비 셔츠에는",
+            "👕 코디",
+            "",
+            "\"슬림핏\" 추천",
+            "C:\\closet\\shirts",
+            "첫 줄\n둘째 줄\t탭\r",
+            "제어문자\u0001\u001f끝",
+            "</script><b>&amp;</b>",
+            "\u2028줄 구분자\u2029"
+    })
+    @DisplayName("토큰 인코딩 결과가 기존 ObjectMapper 직렬화와 같은 JSON이다")
+    void encode_matchesLegacySerialization(String token) throws Exception {
+        assertSameAsLegacy("style_analyst", "스타일 분석가", token);
+    }
+
+    @Test
+    @DisplayName("null 토큰은 기존 직렬화와 같이 \"message\":null로 인코딩된다")
+    void encode_nullToken_writesJsonNull() throws Exception {
+        SseTokenEventEncoder encoder = new SseTokenEventEncoder("style_analyst", "스타일 분석가");
+
+        JsonNode actual = objectMapper.readTree(encoder.encode(null, TIMESTAMP));
+
+        assertThat(actual.get("data").get("message").isNull()).isTrue();
+        assertSameAsLegacy("style_analyst", "스타일 분석가", null);
+    }
+
+    @Test
+    @DisplayName("전문가 이름에 이스케이프가 필요한 문자가 있어도 같은 JSON이다")
+    void encode_agentNameWithQuotes_matchesLegacySerialization() throws Exception {
+        assertSameAsLegacy("color\\expert", "\"컬러\" 전문가\n", "톤온톤");
+    }
+
+    @Test
+    @DisplayName("재사용 버퍼에 이전 토큰이 남지 않는다")
+    void encode_reusedBuffer_doesNotLeakPreviousToken() throws Exception {
+        SseTokenEventEncoder encoder = new SseTokenEventEncoder("style_analyst", "스타일 분석가");
+
+        encoder.encode("아주 긴 첫 번째 토큰입니다", TIMESTAMP);
+        String second = encoder.encode("짧음", TIMESTAMP + 1);
+
+        JsonNode data = objectMapper.readTree(second).get("data");
+        assertThat(data.get("message").asText()).isEqualTo("짧음");
+        assertThat(data.get("timestamp").asLong()).isEqualTo(TIMESTAMP + 1);
+    }
+}